@@ -39,18 +39,19 @@ public class MainActivity extends AppCompatActivity {
         gauge.setValue(-15, 0, -40);
 
 
-        // Event
+        // Get the text control
+        final TextView counter = (TextView) this.findViewById(R.id.counter);
+        assert counter != null;
+
+        // Event.
+        // Update the counter at most ten times per second and only when it change of one degree.
         gauge.setOnEventListener(new ScGauge.OnEventListener() {
             @Override
             public void onValueChange(float degrees) {
-                // Get the text control
-                TextView counter = (TextView) MainActivity.this.findViewById(R.id.counter);
-                assert counter != null;
-
                 // Set the value
-                counter.setText("" + (int) gauge.getValue(0, -40));
+                counter.setText(String.valueOf((int) gauge.getValue(0, -40)));
             }
-        });
+        }, 100, 1.0f);
 
     }
 
@@ -0,0 +1,201 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.RelativeLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Allocation budget of the drawing, measuring and touch paths.
+ * Each component is warmed up and then measured, laid out and drawn for a number of frames
+ * counting the allocations of the UI thread. The budget is zero.
+ * The layout is forced on each frame, else the view skip the measure with the same specs.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScAllocationTest {
+
+    /**
+     * Constants
+     */
+
+    private static final int SIZE = 300;
+    private static final int WARM_UP_FRAMES = 10;
+    private static final int FRAMES = 100;
+    private static final int BUDGET = 0;
+
+
+    /**
+     * Private variables
+     */
+
+    private Context mContext;
+    private Bitmap mBitmap;
+    private Canvas mCanvas;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Measure, layout and draw the view once
+    private void frame(View view, int index) {
+        int spec = View.MeasureSpec
+                .makeMeasureSpec(ScAllocationTest.SIZE, View.MeasureSpec.EXACTLY);
+        view.forceLayout();
+        view.measure(spec, spec);
+        view.layout(0, 0, ScAllocationTest.SIZE, ScAllocationTest.SIZE);
+        // Change the value to force a new path on each frame
+        if (view instanceof ScArc) {
+            ((ScArc) view).setAngleDraw(index % 360);
+        }
+        if (view instanceof ScGauge) {
+            ((ScGauge) view).setValue(index % 360);
+        }
+        view.draw(this.mCanvas);
+    }
+
+    // Run the frames on the UI thread and return the allocations count.
+    // If not draw only the events are dispatched on each frame.
+    private int countAllocations(final View view, final boolean draw, final MotionEvent... events) {
+        final int[] count = new int[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                // Warm up the caches
+                for (int index = 0; index < ScAllocationTest.WARM_UP_FRAMES; index++) {
+                    if (draw) ScAllocationTest.this.frame(view, index);
+                    for (MotionEvent event : events) view.dispatchTouchEvent(event);
+                }
+
+                // Count
+                Debug.startAllocCounting();
+                Debug.resetThreadAllocCount();
+                for (int index = 0; index < ScAllocationTest.FRAMES; index++) {
+                    if (draw) ScAllocationTest.this.frame(view, index);
+                    for (MotionEvent event : events) view.dispatchTouchEvent(event);
+                }
+                count[0] = Debug.getThreadAllocCount();
+                Debug.stopAllocCounting();
+            }
+        });
+        return count[0];
+    }
+
+
+    /**
+     * Setup
+     */
+
+    @Before
+    public void setUp() {
+        this.mContext = InstrumentationRegistry.getTargetContext();
+        this.mBitmap = Bitmap.createBitmap(
+                ScAllocationTest.SIZE, ScAllocationTest.SIZE, Bitmap.Config.ARGB_8888);
+        this.mCanvas = new Canvas(this.mBitmap);
+        // Drive the frames by hand
+        ScFrameScheduler.getInstance().setAutoSchedule(false);
+    }
+
+    @After
+    public void tearDown() {
+        ScFrameScheduler.getInstance().setAutoSchedule(true);
+        this.mBitmap.recycle();
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void arcDrawing() {
+        ScArc arc = new ScArc(this.mContext);
+        assertEquals(ScAllocationTest.BUDGET, this.countAllocations(arc, true));
+    }
+
+    @Test
+    public void notchsDrawing() {
+        ScNotchs notchs = new ScNotchs(this.mContext);
+        notchs.setNotchs(20);
+        assertEquals(ScAllocationTest.BUDGET, this.countAllocations(notchs, true));
+    }
+
+    @Test
+    public void gaugeDrawing() {
+        ScGauge gauge = new ScGauge(this.mContext);
+        gauge.setNotchs(10);
+        assertEquals(ScAllocationTest.BUDGET, this.countAllocations(gauge, true));
+    }
+
+    @Test
+    public void seekBarTouch() {
+        ScSeekBar seekBar = new ScSeekBar(this.mContext);
+        // The events are obtained before the counting
+        float middle = ScAllocationTest.SIZE / 2.0f;
+        float edge = ScAllocationTest.SIZE;
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, edge, middle, 0);
+        MotionEvent move = MotionEvent.obtain(0, 10, MotionEvent.ACTION_MOVE, middle, edge, 0);
+        MotionEvent up = MotionEvent.obtain(0, 20, MotionEvent.ACTION_UP, middle, edge, 0);
+
+        try {
+            int count = this.countAllocations(seekBar, true, down, move, up);
+            assertEquals(ScAllocationTest.BUDGET, count);
+
+        } finally {
+            down.recycle();
+            move.recycle();
+            up.recycle();
+        }
+    }
+
+    @Test
+    public void slidingPanelDrag() {
+        // Aligned to the parent left the handle is on the right side
+        final ScSlidingPanel panel = new ScSlidingPanel(this.mContext);
+        RelativeLayout.LayoutParams params =
+                new RelativeLayout.LayoutParams(ScAllocationTest.SIZE, ScAllocationTest.SIZE);
+        params.addRule(RelativeLayout.ALIGN_PARENT_LEFT);
+        panel.setLayoutParams(params);
+        panel.setHandleSize(ScAllocationTest.SIZE / 10);
+        panel.setToggleOnTouch(false);
+
+        // The panel is laid out once, the drag not change its size
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScAllocationTest.this.frame(panel, 0);
+            }
+        });
+
+        // Press on the handle and drag back and forth.
+        // The release is not dispatched because it start the settle animation.
+        float handle = ScAllocationTest.SIZE - 5;
+        float middle = ScAllocationTest.SIZE / 2.0f;
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, handle, middle, 0);
+        MotionEvent away = MotionEvent.obtain(0, 10, MotionEvent.ACTION_MOVE, middle, middle, 0);
+        MotionEvent back = MotionEvent.obtain(0, 20, MotionEvent.ACTION_MOVE, handle, middle, 0);
+
+        try {
+            int count = this.countAllocations(panel, false, down, away, back);
+            assertEquals(ScAllocationTest.BUDGET, count);
+
+        } finally {
+            down.recycle();
+            away.recycle();
+            back.recycle();
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.sccomponents.widgets;
+
+import android.app.Instrumentation;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concurrency stress test of the gauge async value.
+ * Many writers post values while the frames are run by hand. Each value seen by the gauge
+ * must be one of the written values and, when the writers stop, the latest written value
+ * must win.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScGaugeAsyncTest {
+
+    /**
+     * Constants
+     */
+
+    private static final int WRITERS = 4;
+    private static final int WRITES = 20000;
+    private static final long FRAME_NANOS = 16000000L;
+    // The written values are integers within this range
+    private static final int VALUE_MIN = 1;
+    private static final int VALUE_MAX = 359;
+    private static final float FINAL_VALUE = 123.0f;
+
+
+    /**
+     * Private variables
+     */
+
+    private Instrumentation mInstrumentation;
+    private ScFrameScheduler mScheduler;
+    private ScGauge mGauge;
+    private long mTime;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Run a frame on the UI thread and return the gauge value
+    private float frame() {
+        final float[] value = new float[1];
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeAsyncTest.this.mTime += ScGaugeAsyncTest.FRAME_NANOS;
+                ScGaugeAsyncTest.this.mScheduler.doFrame();
+                value[0] = ScGaugeAsyncTest.this.mGauge.getValue();
+            }
+        });
+        return value[0];
+    }
+
+    // Check if the value is one of the written values.
+    // The half of the writers use the fraction of a range so a little rounding is admitted.
+    // A torn value, with the type of a writer and the bits of another, fall out of the range.
+    private static boolean isWritten(float value) {
+        float rounded = Math.round(value);
+        return Math.abs(value - rounded) < 0.001f &&
+                rounded >= ScGaugeAsyncTest.VALUE_MIN && rounded <= ScGaugeAsyncTest.VALUE_MAX;
+    }
+
+
+    /**
+     * Setup
+     */
+
+    @Before
+    public void setUp() {
+        this.mInstrumentation = InstrumentationRegistry.getInstrumentation();
+        this.mScheduler = ScFrameScheduler.getInstance();
+
+        // Drive the frames and the time by hand
+        this.mScheduler.setAutoSchedule(false);
+        this.mScheduler.setClock(new ScFrameScheduler.Clock() {
+            @Override
+            public long nanoTime() {
+                return ScGaugeAsyncTest.this.mTime;
+            }
+        });
+
+        // The gauge must be created on the UI thread.
+        // Not attached it is suspended so the values are stored without animation.
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeAsyncTest.this.mGauge =
+                        new ScGauge(ScGaugeAsyncTest.this.mInstrumentation.getTargetContext());
+                ScGaugeAsyncTest.this.mGauge.setValue(ScGaugeAsyncTest.VALUE_MIN);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        this.mScheduler.setClock(null);
+        this.mScheduler.setAutoSchedule(true);
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void manyWriters() throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(ScGaugeAsyncTest.WRITERS);
+        final AtomicBoolean running = new AtomicBoolean(true);
+
+        // Create the writers
+        for (int index = 0; index < ScGaugeAsyncTest.WRITERS; index++) {
+            final boolean fraction = index % 2 == 1;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        int range = ScGaugeAsyncTest.VALUE_MAX - ScGaugeAsyncTest.VALUE_MIN + 1;
+                        for (int write = 0; write < ScGaugeAsyncTest.WRITES; write++) {
+                            float value = ScGaugeAsyncTest.VALUE_MIN + write % range;
+                            if (fraction) {
+                                // A range equal to the default sweep angle
+                                ScGaugeAsyncTest.this.mGauge.setValueAsync(value, 0.0f, 360.0f);
+                            } else {
+                                ScGaugeAsyncTest.this.mGauge.setValueAsync(value);
+                            }
+                        }
+
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        // Run the frames while the writers are working
+        start.countDown();
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.set(false);
+            }
+        }).start();
+
+        int frames = 0;
+        while (running.get()) {
+            float value = this.frame();
+            assertTrue("torn value " + value, ScGaugeAsyncTest.isWritten(value));
+            frames++;
+        }
+        assertTrue(frames > 0);
+
+        // The latest value wins
+        this.mGauge.setValueAsync(ScGaugeAsyncTest.FINAL_VALUE);
+        this.mInstrumentation.waitForIdleSync();
+        assertEquals(ScGaugeAsyncTest.FINAL_VALUE, this.frame(), 0.0f);
+
+        // Nothing else is pending
+        this.mInstrumentation.waitForIdleSync();
+        assertEquals(ScGaugeAsyncTest.FINAL_VALUE, this.frame(), 0.0f);
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.sccomponents.widgets;
+
+import android.app.Instrumentation;
+import android.graphics.Rect;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Cells bounds, hit testing and per cell animation of the gauge board.
+ * The board is a grid of 3 columns and 2 rows laid out on 300x200 pixels so, without padding,
+ * each cell is 100x100 pixels.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScGaugeBoardTest {
+
+    /**
+     * Constants
+     */
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+    private static final long DURATION = 100;
+    private static final long FRAME_NANOS = 16000000L;
+    private static final float DELTA = 1e-3f;
+
+
+    /**
+     * Private variables
+     */
+
+    private Instrumentation mInstrumentation;
+    private ScGaugeBoard mBoard;
+    private long mTime;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Measure and layout the board always at the same size
+    private void layout() {
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(
+                ScGaugeBoardTest.WIDTH, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(
+                ScGaugeBoardTest.HEIGHT, View.MeasureSpec.EXACTLY);
+        this.mBoard.measure(widthSpec, heightSpec);
+        this.mBoard.layout(0, 0, ScGaugeBoardTest.WIDTH, ScGaugeBoardTest.HEIGHT);
+    }
+
+    // Check the bounds of a cell
+    private void assertCell(int index, int left, int top, int right, int bottom) {
+        Rect bounds = this.mBoard.getCellBounds(index, new Rect());
+        assertEquals("left", left, bounds.left);
+        assertEquals("top", top, bounds.top);
+        assertEquals("right", right, bounds.right);
+        assertEquals("bottom", bottom, bounds.bottom);
+    }
+
+    // Advance the clock and run a frame
+    private void frame() {
+        this.mTime += ScGaugeBoardTest.FRAME_NANOS;
+        ScFrameScheduler.getInstance().doFrame();
+    }
+
+
+    /**
+     * Setup
+     */
+
+    @Before
+    public void setUp() {
+        this.mInstrumentation = InstrumentationRegistry.getInstrumentation();
+
+        // Drive the frames and the time by hand
+        ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+        scheduler.setAutoSchedule(false);
+        scheduler.setClock(new ScFrameScheduler.Clock() {
+            @Override
+            public long nanoTime() {
+                return ScGaugeBoardTest.this.mTime;
+            }
+        });
+
+        // Create the board on the UI thread
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeBoardTest test = ScGaugeBoardTest.this;
+                test.mBoard = new ScGaugeBoard(test.mInstrumentation.getTargetContext());
+                test.mBoard.setCount(6);
+                test.mBoard.setColumns(3);
+                test.mBoard.setAnimationDuration(ScGaugeBoardTest.DURATION);
+                test.layout();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+        scheduler.setClock(null);
+        scheduler.setAutoSchedule(true);
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void cellBounds() {
+        this.assertCell(0, 0, 0, 100, 100);
+        this.assertCell(2, 200, 0, 300, 100);
+        this.assertCell(4, 100, 100, 200, 200);
+    }
+
+    @Test
+    public void hitTesting() {
+        assertEquals(0, this.mBoard.getCellFromPoint(0.0f, 0.0f));
+        assertEquals(4, this.mBoard.getCellFromPoint(150.0f, 150.0f));
+        assertEquals(5, this.mBoard.getCellFromPoint(299.0f, 199.0f));
+
+        // Outside the grid
+        assertEquals(-1, this.mBoard.getCellFromPoint(-1.0f, 0.0f));
+        assertEquals(-1, this.mBoard.getCellFromPoint(300.0f, 0.0f));
+        assertEquals(-1, this.mBoard.getCellFromPoint(0.0f, 200.0f));
+    }
+
+    @Test
+    public void hitTestingTheIncompleteRow() {
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeBoardTest.this.mBoard.setCount(5);
+                ScGaugeBoardTest.this.layout();
+            }
+        });
+
+        // The last cell of the second row not exist
+        assertEquals(4, this.mBoard.getCellFromPoint(150.0f, 150.0f));
+        assertEquals(-1, this.mBoard.getCellFromPoint(250.0f, 150.0f));
+    }
+
+    @Test
+    public void paddingChangeWithoutSizeChange() {
+        // The size not change so only the padding can update the cells
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeBoardTest.this.mBoard.setPadding(30, 0, 0, 20);
+                ScGaugeBoardTest.this.layout();
+            }
+        });
+
+        // The content area is 270x180 so the cells are 90x90
+        this.assertCell(0, 30, 0, 120, 90);
+        this.assertCell(4, 120, 90, 210, 180);
+        assertEquals(-1, this.mBoard.getCellFromPoint(25.0f, 10.0f));
+        assertEquals(0, this.mBoard.getCellFromPoint(35.0f, 10.0f));
+        assertEquals(4, this.mBoard.getCellFromPoint(125.0f, 95.0f));
+    }
+
+    @Test
+    public void perCellAnimation() {
+        // The system can disable the animations
+        assumeTrue(ScFrameScheduler.getInstance()
+                .getDurationScale(this.mInstrumentation.getTargetContext()) > 0);
+
+        this.mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ScGaugeBoardTest test = ScGaugeBoardTest.this;
+                ScGaugeBoard board = test.mBoard;
+
+                // The first cell start now, the third after two frames
+                board.setValue(0, 180.0f);
+                test.frame();
+                test.frame();
+                board.setValue(2, 90.0f);
+
+                // The values are the targets from the start
+                assertEquals(180.0f, board.getValue(0), ScGaugeBoardTest.DELTA);
+                assertEquals(90.0f, board.getValue(2), ScGaugeBoardTest.DELTA);
+
+                // Both moving, the others stay still
+                test.frame();
+                float first = board.peekCurrentValue(0);
+                float third = board.peekCurrentValue(2);
+                assertTrue("first " + first, first > 0.0f && first < 180.0f);
+                assertTrue("third " + third, third > 0.0f && third < 90.0f);
+                assertEquals(0.0f, board.peekCurrentValue(1), 0.0f);
+
+                // Run until the end of the last animation.
+                // The duration is scaled by the system setting so the frames count is unknown.
+                ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+                for (int index = 0; index < 1000 && !scheduler.isIdle(); index++) test.frame();
+                assertEquals(180.0f, board.peekCurrentValue(0), 0.0f);
+                assertEquals(90.0f, board.peekCurrentValue(2), 0.0f);
+                assertTrue(scheduler.isIdle());
+            }
+        });
+    }
+
+}
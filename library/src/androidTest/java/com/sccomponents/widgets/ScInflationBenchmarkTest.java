@@ -0,0 +1,155 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Inflation benchmark of a layout of many gauges.
+ * The test layouts hold the same gauges sharing a style, that can reuse the cached style spec,
+ * and with inline attributes, that are parsed for each gauge.
+ * The styled layout is inflated with the style spec cache cold, cleared before each inflation,
+ * and warm. The times are written in the log.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScInflationBenchmarkTest {
+
+    /**
+     * Constants
+     */
+
+    private static final String TAG = "ScInflationBenchmark";
+    private static final String STYLED_LAYOUT = "sc_benchmark_styled";
+    private static final String INLINE_LAYOUT = "sc_benchmark_inline";
+    private static final int GAUGES = 40;
+    private static final int ROUNDS = 5;
+
+
+    /**
+     * Private variables
+     */
+
+    private Context mContext;
+    private LayoutInflater mInflater;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Find the layout id inside the test package resources
+    private int getLayoutId(String name) {
+        int id = this.mContext.getResources()
+                .getIdentifier(name, "layout", this.mContext.getPackageName());
+        assertTrue("Missing layout " + name, id != 0);
+        return id;
+    }
+
+    // Inflate the layout on the UI thread and return the elapsed time in nanoseconds
+    private long inflate(final int layoutId, final boolean cold) {
+        final long[] elapsed = new long[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                // Clear the cache out of the measure
+                if (cold) ScStyleSpec.clear();
+
+                long start = System.nanoTime();
+                View root = ScInflationBenchmarkTest.this.mInflater.inflate(layoutId, null);
+                elapsed[0] = System.nanoTime() - start;
+
+                // Check the layout content
+                ViewGroup group = (ViewGroup) root;
+                assertEquals(ScInflationBenchmarkTest.GAUGES, group.getChildCount());
+                assertTrue(group.getChildAt(0) instanceof ScGauge);
+            }
+        });
+        return elapsed[0];
+    }
+
+    // Find the best time of the rounds
+    private long best(int layoutId, boolean cold) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ScInflationBenchmarkTest.ROUNDS; round++) {
+            best = Math.min(best, this.inflate(layoutId, cold));
+        }
+        return best;
+    }
+
+    // Write the time in the log
+    private void log(String name, long elapsed) {
+        Log.i(ScInflationBenchmarkTest.TAG, ScInflationBenchmarkTest.GAUGES + " gauges, " +
+                name + ": " + elapsed / 1000 + "us" +
+                ", per gauge: " + elapsed / ScInflationBenchmarkTest.GAUGES / 1000 + "us");
+    }
+
+
+    /**
+     * Setup
+     */
+
+    @Before
+    public void setUp() {
+        // The test layouts are inside the test package
+        this.mContext = InstrumentationRegistry.getContext();
+        this.mInflater = LayoutInflater.from(this.mContext);
+        ScStyleSpec.clear();
+    }
+
+    @After
+    public void tearDown() {
+        ScStyleSpec.clear();
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void specReuse() {
+        // The same style with the same theme share the spec
+        ScStyleSpec first = ScStyleSpec.obtain(this.mContext, null, 0);
+        assertSame(first, ScStyleSpec.obtain(this.mContext, null, 0));
+
+        // Cleared it is parsed again
+        ScStyleSpec.clear();
+        assertNotSame(first, ScStyleSpec.obtain(this.mContext, null, 0));
+    }
+
+    @Test
+    public void inflation() {
+        int styled = this.getLayoutId(ScInflationBenchmarkTest.STYLED_LAYOUT);
+        int inline = this.getLayoutId(ScInflationBenchmarkTest.INLINE_LAYOUT);
+
+        // Warm up the classes and the resources
+        this.inflate(styled, false);
+        this.inflate(inline, false);
+
+        long cold = this.best(styled, true);
+        long warm = this.best(styled, false);
+        long parsed = this.best(inline, false);
+
+        this.log("styled cold cache", cold);
+        this.log("styled warm cache", warm);
+        this.log("inline attributes", parsed);
+
+        // The times depend by the device so only a sanity check
+        assertTrue(cold > 0 && warm > 0 && parsed > 0);
+    }
+
+}
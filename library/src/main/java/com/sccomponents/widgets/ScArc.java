@@ -1,29 +1,24 @@
 package com.sccomponents.widgets;
 
-import android.animation.ArgbEvaluator;
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.Bitmap;
-import android.graphics.BitmapShader;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Point;
+import android.graphics.Rect;
 import android.graphics.RectF;
-import android.graphics.Shader;
-import android.graphics.SweepGradient;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
 
-import java.util.Arrays;
-
 /**
- * Draw an arc
- * v1.1.3
+ * Draw an arc.
+ * <p/>
+ * All the settings and the drawing logic live inside an ScArcRenderer, this view only read the
+ * xml attributes, measure and draw the renderer and refresh itself when a setting change.
+ * v1.2.0
  */
 public class ScArc extends ScWidget {
 
@@ -38,36 +33,37 @@ public class ScArc extends ScWidget {
     public static final float DEFAULT_STROKE_SIZE = 3.0f;
     public static final int DEFAULT_STROKE_COLOR = Color.BLACK;
 
+    public static final float DEFAULT_INVALIDATE_THRESHOLD = 0.5f;
+
+    private static final int TRIMMED_AREA_CACHE_SIZE = 64;
+
 
     /**
-     * Private attributes
+     * Private variables
      */
 
-    protected float mAngleStart;
-    protected float mAngleSweep;
-    protected float mAngleDraw;
-
-    protected float mStrokeSize;
-    protected int mStrokeColor;
-    protected StrokeTypes mStrokeType;
+    private final ScArcRenderer mRenderer;
+    private final boolean mOwnsRenderer;
 
-    protected int mMaxWidth;
-    protected int mMaxHeight;
+    private final RectF mDirtyBounds = new RectF();
+    private final Rect mDirtyRect = new Rect();
 
-    protected FillingArea mFillingArea;
-    protected FillingMode mFillingMode;
-    protected FillingColors mFillingColors;
+    private float mInvalidateThreshold = ScArc.DEFAULT_INVALIDATE_THRESHOLD;
+    private float mInvalidatedAngle = Float.NaN;
+    private float mSettleAngle = Float.NaN;
+    private final SettleFrame mSettleFrame = new SettleFrame();
 
 
     /**
-     * Private variables
+     * Static variables
      */
 
-    private int[] mStrokeColors;
-    private RectF mTrimmedArea;
-
-    private Paint mStrokePaint;
-    private Paint mPiePaint;
+    // Memoized trimmed areas.
+    // Direct mapped cache indexed by the hash of the start and sweep angles. Each slot hold the
+    // angles bits and the four bounds of the area.
+    private static final int[] sTrimmedAreaKeys = new int[ScArc.TRIMMED_AREA_CACHE_SIZE * 2];
+    private static final float[] sTrimmedAreaValues = new float[ScArc.TRIMMED_AREA_CACHE_SIZE * 4];
+    private static final boolean[] sTrimmedAreaValid = new boolean[ScArc.TRIMMED_AREA_CACHE_SIZE];
 
 
     /**
@@ -76,143 +72,91 @@ public class ScArc extends ScWidget {
 
     public ScArc(Context context) {
         super(context);
+        this.mRenderer = this.createRenderer(context);
+        this.mOwnsRenderer = true;
         this.init(context, null, 0);
     }
 
     public ScArc(Context context, AttributeSet attrs) {
         super(context, attrs);
+        this.mRenderer = this.createRenderer(context);
+        this.mOwnsRenderer = true;
         this.init(context, attrs, 0);
     }
 
     public ScArc(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        this.mRenderer = this.createRenderer(context);
+        this.mOwnsRenderer = true;
         this.init(context, attrs, defStyleAttr);
     }
 
+    // Wrap a renderer owned by a container.
+    // No attributes will be read and the layout of the renderer is left to the container.
+    ScArc(Context context, ScArcRenderer renderer) {
+        super(context);
+        this.mRenderer = renderer;
+        this.mOwnsRenderer = false;
 
-    /**
-     * Privates methods
-     */
-
-    // Limit an angle in degrees within a range.
-    // When press on the arc space the system return always an positive angle but the ScArc accept
-    // also negative value for the start and end angles.
-    // So in case of negative setting the normal range limit method not work proper and we must
-    // implement a specific method that consider to return all kind of angle value, positive and
-    // negative.
-    private float angleRangeLimit(float angle, float startAngle, float endAngle) {
-        // Find the opposite of the same angle
-        float positive = ScArc.normalizeAngle(angle + ScArc.DEFAULT_ANGLE_MAX);
-        float negative = positive - ScArc.DEFAULT_ANGLE_MAX;
-
-        // Try both case of angle is positive and is negative.
-        float firstCase = ScArc.valueRangeLimit(positive, startAngle, endAngle);
-        float secondCase = ScArc.valueRangeLimit(negative, startAngle, endAngle);
-
-        // If the first case is equal to the positive angle than the correct angle is the
-        // positive one
-        if (firstCase == positive) {
-            return positive;
-
-        } else {
-            // If the second case is equal to the negative angle than the correct angle is the
-            // negative one
-            if (secondCase == negative) {
-                return negative;
-
-            } else {
-                // The angle if over the limit.
-                // Try to find the nearest limit and return it.
-                if (Math.abs(firstCase - positive) < Math.abs(secondCase - negative))
-                    return firstCase;
-                else
-                    return secondCase;
-            }
-        }
+        // Align the visibility to the renderer one
+        if (!renderer.isVisible()) super.setVisibility(View.INVISIBLE);
     }
 
-    // Check all input values if over the limits
-    private void checkValues() {
-        // Size
-        if (this.mStrokeSize < 0.0f) this.mStrokeSize = 0.0f;
-
-        // Angle
-        if (Math.abs(this.mAngleSweep) > ScArc.DEFAULT_ANGLE_MAX)
-            this.mAngleSweep = ScArc.normalizeAngle(this.mAngleSweep);
-        if (Math.abs(this.mAngleDraw) > ScArc.DEFAULT_ANGLE_MAX)
-            this.mAngleDraw = ScArc.normalizeAngle(this.mAngleDraw);
 
-        // Dimension
-        if (this.mMaxWidth < 0) this.mMaxWidth = 0;
-        if (this.mMaxHeight < 0) this.mMaxHeight = 0;
-
-        // Check the draw angle limits
-        this.mAngleDraw = ScArc.valueRangeLimit(this.mAngleDraw, 0, this.mAngleSweep);
-    }
+    /**
+     * Privates methods
+     */
 
     // Init the component.
-    // Retrieve all attributes with the default values if needed.
-    // Check the values for internal use.
-    // Create the painter and enable the touch event response.
+    // Retrieve all attributes with the default values if needed and apply them to the renderer.
+    // Enable the touch event response.
     private void init(Context context, AttributeSet attrs, int defStyle) {
         //--------------------------------------------------
         // ATTRIBUTES
 
-        // Get the attributes list
-        final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.ScComponents, defStyle, 0);
+        // Get the resolved attributes.
+        // The spec is shared with the other widgets that use the same style.
+        final ScStyleSpec spec = ScStyleSpec.obtain(context, attrs, defStyle);
 
-        // Read all attributes from xml and assign the value to linked variables
-        this.mAngleStart = attrArray.getFloat(
+        // Read all attributes from xml and assign the value to linked renderer variables
+        ScArcRenderer renderer = this.mRenderer;
+        renderer.mAngleStart = spec.getFloat(
                 R.styleable.ScComponents_scc_angle_start, ScArc.DEFAULT_ANGLE_START);
-        this.mAngleSweep = attrArray.getFloat(
+        renderer.mAngleSweep = spec.getFloat(
                 R.styleable.ScComponents_scc_angle_sweep, ScArc.DEFAULT_ANGLE_SWEEP);
-        this.mAngleDraw = attrArray.getFloat(
-                R.styleable.ScComponents_scc_angle_draw, this.mAngleSweep);
+        renderer.mAngleDraw = spec.getFloat(
+                R.styleable.ScComponents_scc_angle_draw, renderer.mAngleSweep);
 
-        this.mStrokeSize = attrArray.getDimension(
+        renderer.mStrokeSize = spec.getDimension(
                 R.styleable.ScComponents_scc_stroke_size, this.dipToPixel(ScArc.DEFAULT_STROKE_SIZE));
-        this.mStrokeColor = attrArray.getColor(
+        renderer.mStrokeColor = spec.getColor(
                 R.styleable.ScComponents_scc_stroke_color, ScArc.DEFAULT_STROKE_COLOR);
         // StrokeTypes.LINE
-        this.mStrokeType =
-                StrokeTypes.values()[attrArray.getInt(R.styleable.ScComponents_scc_stroke_type, 0)];
+        renderer.mStrokeType =
+                StrokeTypes.values()[spec.getInt(R.styleable.ScComponents_scc_stroke_type, 0)];
 
-        this.mMaxWidth = attrArray.getDimensionPixelSize(
+        renderer.mMaxWidth = spec.getDimensionPixelSize(
                 R.styleable.ScComponents_scc_max_width, Integer.MAX_VALUE);
-        this.mMaxHeight = attrArray.getDimensionPixelSize(
+        renderer.mMaxHeight = spec.getDimensionPixelSize(
                 R.styleable.ScComponents_scc_max_height, Integer.MAX_VALUE);
 
         // FillingArea.BOTH
-        this.mFillingArea =
-                FillingArea.values()[attrArray.getInt(R.styleable.ScComponents_scc_fill_area, 1)];
+        renderer.mFillingArea =
+                FillingArea.values()[spec.getInt(R.styleable.ScComponents_scc_fill_area, 1)];
         // FillingMode.DRAW
-        this.mFillingMode =
-                FillingMode.values()[attrArray.getInt(R.styleable.ScComponents_scc_fill_mode, 1)];
+        renderer.mFillingMode =
+                FillingMode.values()[spec.getInt(R.styleable.ScComponents_scc_fill_mode, 1)];
         // FillingColors.GRADIENT
-        this.mFillingColors =
-                FillingColors.values()[attrArray.getInt(R.styleable.ScComponents_scc_fill_colors, 1)];
+        renderer.mFillingColors =
+                FillingColors.values()[spec.getInt(R.styleable.ScComponents_scc_fill_colors, 1)];
 
-        // Recycle
-        attrArray.recycle();
+        // Let the inherited class read its own attributes from the same spec
+        this.onReadAttributes(spec);
 
         //--------------------------------------------------
         // INTERNAL
 
-        this.checkValues();
-
-        //--------------------------------------------------
-        // PAINTS
-
-        this.mStrokePaint = new Paint();
-        this.mStrokePaint.setColor(this.mStrokeColor);
-        this.mStrokePaint.setAntiAlias(true);
-        this.mStrokePaint.setStrokeWidth(this.mStrokeSize);
-        this.mStrokePaint.setStyle(Paint.Style.STROKE);
-        this.mStrokePaint.setStrokeCap(Paint.Cap.BUTT);
-
-        this.mPiePaint = new Paint();
-        this.mPiePaint.setAntiAlias(true);
-        this.mPiePaint.setStyle(Paint.Style.FILL);
+        renderer.settingsChanged();
 
         //--------------------------------------------------
         // EVENTS
@@ -222,349 +166,137 @@ public class ScArc extends ScWidget {
         this.setFocusableInTouchMode(true);
     }
 
-    // Create a bitmap shader.
-    // If the colors filling mode is SOLID we cannot use a gradient but we must separate colors
-    // each other.
-    // For do it we will use a trick creating a bitmap and filling it with a colored pies. After
-    // that create a bitmap shader that will going to apply to the Painter.
-    private BitmapShader createBitmapShader(RectF area) {
-        // Create a temporary bitmap and get its canvas
-        Bitmap bitmap = Bitmap.createBitmap((int) area.width(), (int) area.height(), Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
-
-        // Get the delta angle from the colors count.
-        float deltaAngle = this.mAngleSweep / this.mStrokeColors.length;
-
-        // Fix a visual filling issue when use a stroke cap type different from BUTT
-        if (this.mAngleSweep < 360.0f) {
-            // Calc the starting half circle and get the colors
-            float startAngle = this.mAngleStart - (360.0f - this.mAngleSweep) / 2;
-            int firstColor = this.mStrokeColors[0];
-            int lastColor = this.mStrokeColors[this.mStrokeColors.length - 1];
-
-            // Set the painter with the first color and draw half circle
-            this.mPiePaint.setColor(deltaAngle < 0 ? lastColor : firstColor);
-            canvas.drawArc(area, startAngle, 180.0f, true, this.mPiePaint);
-
-            // Set the painter with the last color and draw the second half circle
-            this.mPiePaint.setColor(deltaAngle < 0 ? firstColor : lastColor);
-            canvas.drawArc(area, startAngle + 180.0f, 180.0f, true, this.mPiePaint);
-        }
+    // Apply the view layout to the renderer.
+    // Only if the renderer is owned by this view, else the layout is managed by the container.
+    private void applyLayout() {
+        // Check the owner
+        if (!this.mOwnsRenderer) return;
 
-        // Draw all pie sector on the circle
-        for (int index = 0; index < this.mStrokeColors.length; index++) {
-            // Calculate the start and the end angle
-            float currentAngle = index * deltaAngle + this.mAngleStart;
-            // Set the painter color and draw
-            this.mPiePaint.setColor(this.mStrokeColors[index]);
-            canvas.drawArc(area, currentAngle, deltaAngle, true, this.mPiePaint);
-        }
+        // Layout wrapping
+        ViewGroup.LayoutParams params = this.getLayoutParams();
+        this.mRenderer.setWrap(
+                params != null && params.width == ViewGroup.LayoutParams.WRAP_CONTENT,
+                params != null && params.height == ViewGroup.LayoutParams.WRAP_CONTENT
+        );
 
-        // Create the filter from the temporary bitmap
-        return new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        // Padding
+        this.mRenderer.setPadding(
+                this.getPaddingLeft(), this.getPaddingTop(),
+                this.getPaddingRight(), this.getPaddingBottom()
+        );
     }
 
-    // Create a sweep gradient shader.
-    // Since the sweep angle can be minor of 360° we must create an array storing the colors
-    // position respect to the arc (sectors).
-    private SweepGradient createSweepGradient(RectF area) {
-        // Create a copy of colors because not want lost the original values
-        int[] colors = Arrays.copyOf(this.mStrokeColors, this.mStrokeColors.length);
-        // Create a positions holder and get the delta angle from the colors count.
-        float[] positions = new float[colors.length];
-        float deltaAngle = Math.abs(this.mAngleSweep / (colors.length - 1));
-
-        // Fill the positions holder
-        for (int index = 0; index < colors.length; index++) {
-            positions[index] = index * (deltaAngle / 360.0f);
-        }
-
-        // Fix a visual filling issue when use a stroke cap type different from BUTT
-        float toClose = 1 - positions[positions.length - 1];
-        if (toClose > 0) {
-            // Hold the new length
-            int len = positions.length + 2;
-
-            // Resize the positions the array and insert the missed values
-            positions = Arrays.copyOf(positions, len);
-            positions[len - 2] = 1.0f - (toClose / 3) * 2;
-            positions[len - 1] = 1.0f - (toClose / 3) * 1;
-
-            // Resize then colors array and insert the last and first color
-            colors = Arrays.copyOf(colors, len);
-            colors[len - 2] = colors[len - 3];
-            colors[len - 1] = colors[0];
-
-            // If the delta angle is negative I must invert the last two colors
-            if (deltaAngle < 0) {
-                ScArc.swapArrayPosition(colors, len - 2, len - 1);
+    // Invalidate only the area of the sector between the passed angles.
+    // Used when only the draw angle change.
+    private void invalidateSector(float fromAngle, float toAngle) {
+        // Find the bounds and check if inside the component
+        this.mRenderer.getSectorBounds(fromAngle, toAngle, this.mDirtyBounds);
+        this.mDirtyBounds.roundOut(this.mDirtyRect);
+        if (this.mDirtyRect.isEmpty()) return;
+
+        // Refresh
+        this.invalidate(
+                this.mDirtyRect.left, this.mDirtyRect.top,
+                this.mDirtyRect.right, this.mDirtyRect.bottom);
+    }
+
+    // Refresh the sector changed by moving the draw angle.
+    // The refresh is skipped while the arc tip moved less than the threshold pixels from the
+    // last refreshed angle. In this case the scheduler check on the next frames if the angle is
+    // settled and refresh the final value.
+    private void invalidateAngleDraw(float previous) {
+        // Find the last refreshed angle
+        float current = this.mRenderer.getAngleDraw();
+        if (Float.isNaN(this.mInvalidatedAngle)) this.mInvalidatedAngle = previous;
+
+        // Check the threshold
+        if (this.mRenderer.getArcLength(this.mInvalidatedAngle, current) < this.mInvalidateThreshold) {
+            ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+            if (!scheduler.isRunning(this.mSettleFrame)) {
+                this.mSettleAngle = Float.NaN;
+                scheduler.add(this.mSettleFrame);
             }
+            return;
         }
 
-        // Create the matrix and rotate it
-        Matrix matrix = new Matrix();
-        matrix.preRotate(this.mAngleStart, area.centerX(), area.centerY());
-
-        // Create the gradient and apply the matrix
-        SweepGradient gradient = new SweepGradient(
-                area.centerX(), area.centerY(), colors, positions);
-        gradient.setLocalMatrix(matrix);
-
-        // Return the gradient
-        return gradient;
-    }
-
-    // Get the right paint shader by the case
-    private Shader getPaintShader(RectF area) {
-        // Check no values inside the array
-        if (this.mStrokeColors.length == 0)
-            return null;
-
-        // If have only one value set directly to the painter and return null
-        if (this.mStrokeColors.length == 1) {
-            this.mStrokePaint.setColor(this.mStrokeColors[0]);
-            return null;
-        }
-
-        // Select the draw colors method by the case
-        switch (this.mFillingColors) {
-            // Solid filling
-            case SOLID:
-                return this.createBitmapShader(area);
-
-            // Gradient filling
-            case GRADIENT:
-                return this.createSweepGradient(area);
-
-            // Else
-            default:
-                return null;
-        }
+        // Refresh
+        this.invalidateSector(this.mInvalidatedAngle, current);
+        this.mInvalidatedAngle = current;
     }
 
-
-    /**
-     * Area methods
-     */
-
-    // Calc the trimmed area.
-    // This is only an image of the arc dimensions inside the space, not contains the real arc
-    // dimensions but only a proportional representation.
-    // This method essentially hold the left/top padding and the arc width/height.
-    private RectF calcTrimmedArea() {
-        // Check for sweep angle.
-        // If 0 return and empty rectangle
-        if (this.mAngleSweep == 0.0f) return new RectF();
-
-        // Init the area rectangle with the inverted values that will be replaced with the real
-        // values.
-        RectF area = new RectF(1.0f, 1.0f, -1.0f, -1.0f);
-
-        // Calc the start and end angles in radians.
-        double startAngle = Math.toRadians(this.mAngleStart);
-        double endAngle = startAngle + Math.toRadians(this.mAngleSweep);
-
-        // Sort the angles to find the min and the max
-        double minAngle = startAngle < endAngle ? startAngle : endAngle;
-        double maxAngle = startAngle > endAngle ? startAngle : endAngle;
-
-        // Cycle all angles and compare the found sin and cos values for find the bounds of the
-        // area.
-        while (minAngle <= maxAngle) {
-            // Convert the current angle in radiant and find the sin and cos values
-            float sin = (float) Math.sin(minAngle);
-            float cos = (float) Math.cos(minAngle);
-
-            // Check the the precedents limits and update they if needed
-            if (cos < area.left) area.left = cos;
-            if (cos > area.right) area.right = cos;
-
-            if (sin < area.top) area.top = sin;
-            if (sin > area.bottom) area.bottom = sin;
-
-            // Increment the current angle
-            minAngle += 0.01;
-        }
-
-        // Return the area.
-        // Inside this could have an image of the trimmed area used to draw this arc.
-        return area;
+    // Read the attributes of the inherited class.
+    // Called by the constructor with the same spec used by this class so the attributes are
+    // resolved only once. Note that it is called before the class variables initialization.
+    protected void onReadAttributes(ScStyleSpec spec) {
+        // Do nothing
     }
 
-    // Calc starting area from width and height dimensions and apply padding.
-    private RectF calcCanvasArea(int width, int height) {
-        return new RectF(
-                this.getPaddingLeft(),
-                this.getPaddingTop(),
-                width - this.getPaddingRight(),
-                height - this.getPaddingBottom()
-        );
+    // Create the renderer.
+    // The inherited class that need a different renderer must override this method.
+    // Note that it is called by the constructor before the class variables initialization.
+    protected ScArcRenderer createRenderer(Context context) {
+        return new ScArcRenderer(context);
     }
 
-    // Calc complete circle drawing area.
-    // This methods calc the virtual drawing area not taking into consideration the many adjustments
-    // like the stroke size or the area padding.
-    private RectF calcDrawingArea(RectF startingArea) {
-        // Check for empty values
-        if (this.mTrimmedArea == null || this.mTrimmedArea.isEmpty()) return new RectF();
-
-        // Default working area calculated consider the padding and the stroke size
-        RectF newArea = new RectF(startingArea);
-
-        // Layout wrapping
-        boolean hWrap = this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT;
-        boolean vWrap = this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT;
-
-        // If fill the area expand the area to have the full filling working space with the arc.
-        // In the wrapping case the horizontal filling it is executed in anyway while the component
-        // dimension will be elaborated before inside the component measuring.
-        if (hWrap ||
-                this.mFillingArea == FillingArea.BOTH || this.mFillingArea == FillingArea.HORIZONTAL) {
-            // Find the multiplier based on the trimmed area and apply the proportion to the
-            // horizontal dimensions.
-            float hMultiplier = newArea.width() / this.mTrimmedArea.width();
-            float left = this.mTrimmedArea.left * hMultiplier;
-
-            // Apply the new values to the area and modify the horizontal offset
-            newArea.left = -hMultiplier;
-            newArea.right = hMultiplier;
-            newArea.offset(-left + this.getPaddingLeft(), 0);
-        }
-
-        // If fill the area expand the area to have the full filling working space with the arc
-        // In the wrapping case the vertical filling it is executed in anyway while the component
-        // dimension will be elaborated before inside the component measuring.
-        if (vWrap ||
-                this.mFillingArea == FillingArea.BOTH || this.mFillingArea == FillingArea.VERTICAL) {
-            // Find the multiplier based on the trimmed area and apply the proportion to the
-            // vertical dimensions.
-            float vMultiplier = newArea.height() / this.mTrimmedArea.height();
-            float top = this.mTrimmedArea.top * vMultiplier;
-
-            // Apply the new values to the area and modify the vertical offset
-            newArea.top = -vMultiplier;
-            newArea.bottom = vMultiplier;
-            newArea.offset(0, -top + this.getPaddingTop());
+    // On frame.
+    // Wait that the draw angle stay the same for a whole frame and refresh the settled value if
+    // was skipped.
+    private boolean doSettleFrame(long frameTimeNanos) {
+        // Check if still moving
+        float current = this.mRenderer.getAngleDraw();
+        if (this.mSettleAngle != current) {
+            this.mSettleAngle = current;
+            return true;
         }
 
-        // Return the calculated area
-        return newArea;
-    }
-
-    // Draw arc on the canvas using the passed area reference
-    // This is an important method can be override for future inherit class implementation.
-    protected void internalDraw(Canvas canvas, RectF area) {
-        // Check for null values
-        if (this.mStrokeSize > 0 || this.mStrokeType == StrokeTypes.FILLED_ARC) {
-            // Consider the stroke size and draw
-            canvas.drawArc(
-                    ScArc.inflateRect(area, this.mStrokeSize / 2),
-                    this.mAngleStart,
-                    this.mAngleDraw,
-                    this.mStrokeType != StrokeTypes.LINE,
-                    this.mStrokePaint);
+        // Refresh the settled value
+        if (this.mInvalidatedAngle != current) {
+            this.invalidateSector(this.mInvalidatedAngle, current);
+            this.mInvalidatedAngle = current;
         }
+        return false;
     }
 
+
     /**
      * Overrides
      */
 
-    // This method is used to calc the areas and filling it by call/set the right draw plan.
-    // Are to consider two type of draw:
-    //      DRAW ask to render simply on an area.
-    //      STRETCH before scale and transpose the canvas and after render on it using the default
-    //      render method.
+    // Draw the renderer on the canvas
     @Override
     protected void onDraw(Canvas canvas) {
-        // Find the canvas and drawing area
-        RectF canvasArea = this.calcCanvasArea(canvas.getWidth(), canvas.getHeight());
-        RectF drawingArea = this.calcDrawingArea(canvasArea);
-
-        // Check if need to create a gradient
-        if (this.mStrokeColors != null) {
-            // Create the shader and apply it to the painter
-            this.mStrokePaint.setShader(this.getPaintShader(drawingArea));
-        }
-
-        // Define the painter style by the current stroke type
-        this.mStrokePaint.setStyle(
-                this.mStrokeType == StrokeTypes.FILLED_ARC ? Paint.Style.FILL_AND_STROKE : Paint.Style.STROKE
-        );
+        // If the whole component is drawn the current angle is refreshed
+        if (canvas.getClipBounds(this.mDirtyRect) &&
+                this.mDirtyRect.contains(0, 0, this.getWidth(), this.getHeight()))
+            this.mInvalidatedAngle = this.mRenderer.getAngleDraw();
 
-        // Select the drawing mode by the case
-        switch (this.mFillingMode) {
-            // Draw
-            case DRAW:
-                // Draw the arc on the calculated drawing area
-                this.internalDraw(canvas, drawingArea);
-                break;
-
-            // Stretch
-            case STRETCH:
-                // Save the current canvas status
-                canvas.save();
-
-                // Translate and scale the canvas
-                canvas.translate(drawingArea.left, drawingArea.top);
-                canvas.scale(
-                        drawingArea.width() / canvasArea.width(),
-                        drawingArea.height() / canvasArea.height()
-                );
-
-                // Draw the arc on the reset canvas
-                canvasArea = ScArc.resetRectToOrigin(canvasArea);
-                this.internalDraw(canvas, canvasArea);
-
-                // Restore the last saved canvas status
-                canvas.restore();
-                break;
-        }
+        // Draw
+        this.applyLayout();
+        this.mRenderer.draw(canvas);
     }
 
     // On measure
     @Override
-    @SuppressWarnings("all")
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        // Calc the trimmed virtual area
-        this.mTrimmedArea = this.calcTrimmedArea();
-
-        // Get suggested dimensions
-        int width = View.getDefaultSize(this.getSuggestedMinimumWidth(), widthMeasureSpec);
-        int height = View.getDefaultSize(this.getSuggestedMinimumHeight(), heightMeasureSpec);
-
-        // Layout wrapping
-        boolean hWrap = this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT;
-        boolean vWrap = this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT;
-
-        // Find the horizontal and vertical global padding amount
-        float hGlobalPadding = this.getPaddingLeft() + this.getPaddingRight();
-        float vGlobalPadding = this.getPaddingTop() + this.getPaddingBottom();
-
-        // If have a horizontal wrap content we want to obtain a perfect circle radius so we must
-        // set the new height equal to the current width.
-        // For do this I must also consider the horizontal padding to remove before trimming the
-        // area and to add after trimmed.
-        if (hWrap) {
-            width = (int) ((height - hGlobalPadding) * (this.mTrimmedArea.width() / 2));
-            width += hGlobalPadding;
-        }
+        // Apply the layout to the renderer
+        this.applyLayout();
 
-        // If have a vertical wrap content we want to obtain a perfect circle radius so we must
-        // set the new width equal to the current height.
-        // For do this I must also consider the vertical padding to remove before trimming the
-        // area and to add after trimmed.
-        if (vWrap) {
-            height = (int) ((width - vGlobalPadding) * (this.mTrimmedArea.height() / 2));
-            height += vGlobalPadding;
-        }
-
-        // Check the dimensions limits
-        width = this.valueRangeLimit(width, 0, this.mMaxWidth);
-        height = this.valueRangeLimit(height, 0, this.mMaxHeight);
+        // Get suggested dimensions and measure the renderer
+        this.mRenderer.measure(
+                View.getDefaultSize(this.getSuggestedMinimumWidth(), widthMeasureSpec),
+                View.getDefaultSize(this.getSuggestedMinimumHeight(), heightMeasureSpec)
+        );
 
         // Set the finded dimensions
-        this.setMeasuredDimension(width, height);
+        this.setMeasuredDimension(this.mRenderer.getWidth(), this.mRenderer.getHeight());
+    }
+
+    // Mirror the visibility inside the renderer.
+    // The containers read it from the renderer for decide if draw the arc.
+    @Override
+    public void setVisibility(int visibility) {
+        super.setVisibility(visibility);
+        this.mRenderer.setVisible(visibility == View.VISIBLE);
     }
 
 
@@ -580,19 +312,21 @@ public class ScArc extends ScWidget {
 
         // Create a new bundle for store all the variables
         Bundle state = new Bundle();
+        ScArcRenderer renderer = this.mRenderer;
         // Save all starting from the parent state
         state.putParcelable("PARENT", superState);
-        state.putFloat("mAngleStart", this.mAngleStart);
-        state.putFloat("mAngleSweep", this.mAngleSweep);
-        state.putFloat("mAngleDraw", this.mAngleDraw);
-        state.putFloat("mStrokeSize", this.mStrokeSize);
-        state.putInt("mStrokeColor", this.mStrokeColor);
-        state.putInt("mStrokeType", this.mStrokeType.ordinal());
-        state.putInt("mMaxWidth", this.mMaxWidth);
-        state.putInt("mMaxHeight", this.mMaxHeight);
-        state.putInt("mFillingArea", this.mFillingArea.ordinal());
-        state.putInt("mFillingMode", this.mFillingMode.ordinal());
-        state.putInt("mFillingColors", this.mFillingColors.ordinal());
+        state.putFloat("mAngleStart", renderer.mAngleStart);
+        state.putFloat("mAngleSweep", renderer.mAngleSweep);
+        state.putFloat("mAngleDraw", renderer.mAngleDraw);
+        state.putFloat("mStrokeSize", renderer.mStrokeSize);
+        state.putInt("mStrokeColor", renderer.mStrokeColor);
+        state.putInt("mStrokeType", renderer.mStrokeType.ordinal());
+        state.putInt("mMaxWidth", renderer.mMaxWidth);
+        state.putInt("mMaxHeight", renderer.mMaxHeight);
+        state.putInt("mFillingArea", renderer.mFillingArea.ordinal());
+        state.putInt("mFillingMode", renderer.mFillingMode.ordinal());
+        state.putInt("mFillingColors", renderer.mFillingColors.ordinal());
+        state.putBoolean("mSolidFillingBitmap", renderer.mSolidFillingBitmap);
 
         // Return the new state
         return state;
@@ -609,17 +343,22 @@ public class ScArc extends ScWidget {
         super.onRestoreInstanceState(superState);
 
         // Now can restore all the saved variables values
-        this.mAngleStart = savedState.getFloat("mAngleStart");
-        this.mAngleSweep = savedState.getFloat("mAngleSweep");
-        this.mAngleDraw = savedState.getFloat("mAngleDraw");
-        this.mStrokeSize = savedState.getFloat("mStrokeSize");
-        this.mStrokeColor = savedState.getInt("mStrokeColor");
-        this.mStrokeType = StrokeTypes.values()[savedState.getInt("mStrokeType")];
-        this.mMaxWidth = savedState.getInt("mMaxWidth");
-        this.mMaxHeight = savedState.getInt("mMaxHeight");
-        this.mFillingArea = FillingArea.values()[savedState.getInt("mFillingArea")];
-        this.mFillingMode = FillingMode.values()[savedState.getInt("mFillingMode")];
-        this.mFillingColors = FillingColors.values()[savedState.getInt("mFillingColors")];
+        ScArcRenderer renderer = this.mRenderer;
+        renderer.mAngleStart = savedState.getFloat("mAngleStart");
+        renderer.mAngleSweep = savedState.getFloat("mAngleSweep");
+        renderer.mAngleDraw = savedState.getFloat("mAngleDraw");
+        renderer.mStrokeSize = savedState.getFloat("mStrokeSize");
+        renderer.mStrokeColor = savedState.getInt("mStrokeColor");
+        renderer.mStrokeType = StrokeTypes.values()[savedState.getInt("mStrokeType")];
+        renderer.mMaxWidth = savedState.getInt("mMaxWidth");
+        renderer.mMaxHeight = savedState.getInt("mMaxHeight");
+        renderer.mFillingArea = FillingArea.values()[savedState.getInt("mFillingArea")];
+        renderer.mFillingMode = FillingMode.values()[savedState.getInt("mFillingMode")];
+        renderer.mFillingColors = FillingColors.values()[savedState.getInt("mFillingColors")];
+        renderer.mSolidFillingBitmap = savedState.getBoolean("mSolidFillingBitmap");
+
+        // Apply the restored settings
+        renderer.settingsChanged();
     }
 
 
@@ -646,17 +385,98 @@ public class ScArc extends ScWidget {
     // This angle is intended to be a global angle and if not subdue to any restriction.
     @SuppressWarnings("unused")
     public static Point getPointFromAngle(float degrees, RectF area) {
+        return ScArc.getPointFromAngle(degrees, area, new Point());
+    }
+
+    // Find a point on the circumference inscribed in the passed area rectangle writing the
+    // result inside the passed point that will be returned.
+    @SuppressWarnings("unused")
+    public static Point getPointFromAngle(float degrees, RectF area, Point out) {
         // Find the default arc radius
         float xRadius = area.width() / 2;
         float yRadius = area.height() / 2;
 
         // Convert the radius in radiant and find the coordinates in the space
         double rad = Math.toRadians(degrees);
-        int x = Math.round(xRadius * (float) Math.cos(rad) + area.centerX());
-        int y = Math.round(yRadius * (float) Math.sin(rad) + area.centerY());
+        out.x = Math.round(xRadius * (float) Math.cos(rad) + area.centerX());
+        out.y = Math.round(yRadius * (float) Math.sin(rad) + area.centerY());
+
+        // Return the point
+        return out;
+    }
+
+    // Find the bounds of an arc with radius 1 and centered on the origin.
+    // The bounds are given by the two end points of the arc and by the points where the arc
+    // cross the axis (0°, 90°, 180° and 270°) inside the sweep angle.
+    // The result is memoized for each couple of start and sweep angles.
+    @SuppressWarnings("unused")
+    public static void calcArcBounds(float startAngle, float sweepAngle, RectF out) {
+        // Find the cache slot
+        int startBits = Float.floatToIntBits(startAngle);
+        int sweepBits = Float.floatToIntBits(sweepAngle);
+        int slot = ((startBits * 31 + sweepBits) & 0x7fffffff) % ScArc.TRIMMED_AREA_CACHE_SIZE;
+
+        synchronized (ScArc.sTrimmedAreaValid) {
+            // Check if already calculated
+            if (ScArc.sTrimmedAreaValid[slot] &&
+                    ScArc.sTrimmedAreaKeys[slot * 2] == startBits &&
+                    ScArc.sTrimmedAreaKeys[slot * 2 + 1] == sweepBits) {
+                // Get the values from the cache
+                out.left = ScArc.sTrimmedAreaValues[slot * 4];
+                out.top = ScArc.sTrimmedAreaValues[slot * 4 + 1];
+                out.right = ScArc.sTrimmedAreaValues[slot * 4 + 2];
+                out.bottom = ScArc.sTrimmedAreaValues[slot * 4 + 3];
+                return;
+            }
+        }
+
+        // Sort the angles to find the min and the max
+        double minAngle = Math.min(startAngle, startAngle + sweepAngle);
+        double maxAngle = Math.max(startAngle, startAngle + sweepAngle);
+
+        // Find the end points
+        float startCos = (float) Math.cos(Math.toRadians(minAngle));
+        float startSin = (float) Math.sin(Math.toRadians(minAngle));
+        float endCos = (float) Math.cos(Math.toRadians(maxAngle));
+        float endSin = (float) Math.sin(Math.toRadians(maxAngle));
+
+        // The area contain the end points
+        out.left = Math.min(startCos, endCos);
+        out.top = Math.min(startSin, endSin);
+        out.right = Math.max(startCos, endCos);
+        out.bottom = Math.max(startSin, endSin);
+
+        // Cycle all the axis crossing inside the angles.
+        // Each of these is an extreme of the circle so expand the area to the limit.
+        for (double angle = Math.ceil(minAngle / 90.0) * 90.0; angle <= maxAngle; angle += 90.0) {
+            // Find the axis
+            int axis = ((int) Math.round(angle / 90.0) % 4 + 4) % 4;
+            switch (axis) {
+                case 0:
+                    out.right = 1.0f;
+                    break;
+                case 1:
+                    out.bottom = 1.0f;
+                    break;
+                case 2:
+                    out.left = -1.0f;
+                    break;
+                case 3:
+                    out.top = -1.0f;
+                    break;
+            }
+        }
 
-        // Create the point and return it
-        return new Point(x, y);
+        // Store inside the cache
+        synchronized (ScArc.sTrimmedAreaValid) {
+            ScArc.sTrimmedAreaKeys[slot * 2] = startBits;
+            ScArc.sTrimmedAreaKeys[slot * 2 + 1] = sweepBits;
+            ScArc.sTrimmedAreaValues[slot * 4] = out.left;
+            ScArc.sTrimmedAreaValues[slot * 4 + 1] = out.top;
+            ScArc.sTrimmedAreaValues[slot * 4 + 2] = out.right;
+            ScArc.sTrimmedAreaValues[slot * 4 + 3] = out.bottom;
+            ScArc.sTrimmedAreaValid[slot] = true;
+        }
     }
 
     // The area filling types.
@@ -694,35 +514,67 @@ public class ScArc extends ScWidget {
     }
 
 
+
+
     /**
      * Public methods
      */
 
+    // Get the renderer that hold the settings and draw the arc
+    @SuppressWarnings("unused")
+    public ScArcRenderer getRenderer() {
+        return this.mRenderer;
+    }
+
     // Get the arc painter
     @SuppressWarnings("unused")
     public Paint getPainter() {
-        return this.mStrokePaint;
+        return this.mRenderer.getPainter();
+    }
+
+    // Get the number of changes applied to the arc since its creation.
+    // Note that the direct changes on the painter are not counted.
+    @SuppressWarnings("unused")
+    public int getChangesCount() {
+        return this.mRenderer.getChangesCount();
+    }
+
+    // Get the current geometry snapshot calculated on the measured dimensions.
+    // Must be called on the UI thread. The returned snapshot never change and can be passed to
+    // any thread but note that it will be replaced with a new one when the component dimensions
+    // or settings change.
+    @SuppressWarnings("unused")
+    public ScArcGeometry getGeometry() {
+        this.applyLayout();
+        return this.mRenderer.getGeometry();
+    }
+
+    // Find the bounds on the component of the arc sector between the passed angles.
+    // The angles must be relative to the start angle defined by the component settings.
+    // The bounds consider the stroke size and the caps, when the arc is stretched the bounds
+    // cannot be calculated and will be the whole component area.
+    @SuppressWarnings("unused")
+    public RectF getSectorBounds(float fromAngle, float toAngle, RectF out) {
+        return this.mRenderer.getSectorBounds(fromAngle, toAngle, out);
     }
 
     // Calc point position from relative angle in degrees.
     // Note that the angle must be relative to the start angle defined by the component settings
     // and not intended as a global angle.
+    // The result will be written inside the passed point that will be returned.
     @SuppressWarnings("unused")
-    public Point getPointFromAngle(float degrees, float radiusAdjust) {
-        // Get the drawing area
-        RectF canvasArea = this.calcCanvasArea(this.getMeasuredWidth(), this.getMeasuredHeight());
-        RectF drawingArea = this.calcDrawingArea(canvasArea);
-        // Adjust the area by the passed value and the half stroke size
-        RectF adjustedArea = ScArc.inflateRect(drawingArea, radiusAdjust + this.mStrokeSize / 2);
+    public Point getPointFromAngle(float degrees, float radiusAdjust, Point out) {
+        return this.mRenderer.getPointFromAngle(degrees, radiusAdjust, out);
+    }
 
-        // Create the point by the angle relative at the start angle defined in the component
-        // settings and return it.
-        return ScArc.getPointFromAngle(degrees + this.mAngleStart, adjustedArea);
+    @SuppressWarnings("unused")
+    public Point getPointFromAngle(float degrees, float radiusAdjust) {
+        return this.mRenderer.getPointFromAngle(degrees, radiusAdjust, new Point());
     }
 
     @SuppressWarnings("unused")
     public Point getPointFromAngle(float degrees) {
-        return this.getPointFromAngle(degrees, 0.0f);
+        return this.mRenderer.getPointFromAngle(degrees, 0.0f, new Point());
     }
 
     // Find the angle from position on the component.
@@ -730,37 +582,48 @@ public class ScArc extends ScWidget {
     // this limits.
     @SuppressWarnings("unused")
     public float getAngleFromPoint(float x, float y) {
-        // Get the drawing area
-        RectF canvasArea = this.calcCanvasArea(this.getMeasuredWidth(), this.getMeasuredHeight());
-        RectF drawingArea = this.calcDrawingArea(canvasArea);
-
-        // Get angle from position
-        double angle = Math.atan2(
-                (y - drawingArea.centerY()) / drawingArea.height(),
-                (x - drawingArea.centerX()) / drawingArea.width()
-        );
+        return this.mRenderer.getAngleFromPoint(x, y);
+    }
+
+    // Map a series of angles to the points on the arc.
+    // The angles must be relative to the start angle defined by the component settings and the
+    // points will be written inside the output array as x, y couples keeping the float precision.
+    // The geometry is read once for all the angles and no new object will be created.
+    // Return the number of mapped points.
+    @SuppressWarnings("unused")
+    public int mapAnglesToPoints(float[] anglesIn, int count, float[] xyOut, float radiusAdjust) {
+        return this.mRenderer.mapAnglesToPoints(anglesIn, count, xyOut, radiusAdjust);
+    }
+
+    @SuppressWarnings("unused")
+    public int mapAnglesToPoints(float[] anglesIn, float[] xyOut, float radiusAdjust) {
+        return this.mRenderer.mapAnglesToPoints(
+                anglesIn, anglesIn == null ? 0 : anglesIn.length, xyOut, radiusAdjust);
+    }
 
-        // Normalize the degrees angle by the start angle defined by component settings.
-        float degrees = (float) Math.toDegrees(angle) - this.mAngleStart;
-        // Check the angle limit and return the checked value
-        return this.angleRangeLimit(degrees, 0, this.mAngleSweep);
+    // Map a series of points, passed as x, y couples, to the angles on the arc.
+    // The angles written inside the output array are relative to the start angle defined by the
+    // component settings and limited like in the getAngleFromPoint method.
+    // Return the number of mapped angles.
+    @SuppressWarnings("unused")
+    public int mapPointsToAngles(float[] xyIn, int count, float[] anglesOut) {
+        return this.mRenderer.mapPointsToAngles(xyIn, count, anglesOut);
+    }
+
+    @SuppressWarnings("unused")
+    public int mapPointsToAngles(float[] xyIn, float[] anglesOut) {
+        return this.mRenderer.mapPointsToAngles(xyIn, xyIn == null ? 0 : xyIn.length / 2, anglesOut);
     }
 
     // Check if a point belongs to the arc
     @SuppressWarnings("unused")
     public boolean belongsToArc(float x, float y, float precision) {
-        // Find the angle from the passed point and get the point on the arc
-        float angle = this.getAngleFromPoint(x, y);
-        Point pointOnArc = this.getPointFromAngle(angle);
-
-        // Find the delta distance between the points and check if is inside a circle build on
-        // the precision radius.
-        return ScArc.pointInsideCircle(x - pointOnArc.x, y - pointOnArc.y, precision);
+        return this.mRenderer.belongsToArc(x, y, precision);
     }
 
     @SuppressWarnings("unused")
     public boolean belongsToArc(float x, float y) {
-        return this.belongsToArc(x, y, this.mStrokeSize);
+        return this.mRenderer.belongsToArc(x, y, this.mRenderer.getStrokeSize());
     }
 
     // Get the distance from center passed an angle or a point.
@@ -768,14 +631,7 @@ public class ScArc extends ScWidget {
     // calculate the distance from center.
     @SuppressWarnings("unused")
     public float getDistanceFromCenter(float x, float y) {
-        // Get the drawing area
-        RectF canvasArea = this.calcCanvasArea(this.getMeasuredWidth(), this.getMeasuredHeight());
-        RectF drawingArea = this.calcDrawingArea(canvasArea);
-
-        // Return the calculated distance
-        return (float) Math.sqrt(
-                Math.pow(x - drawingArea.centerX(), 2) + Math.pow(y - drawingArea.centerY(), 2)
-        );
+        return this.mRenderer.getDistanceFromCenter(x, y);
     }
 
     @SuppressWarnings("unused")
@@ -783,43 +639,18 @@ public class ScArc extends ScWidget {
         // Find the point on the arc
         Point point = this.getPointFromAngle(degrees);
         // Find the distance
-        return this.getDistanceFromCenter(point.x, point.y);
+        return this.mRenderer.getDistanceFromCenter(point.x, point.y);
     }
 
     // Get the current gradient color by the current draw angle
     @SuppressWarnings("unused")
     public int getCurrentGradientColor(float angle) {
-        // Check if have colors settled
-        if (this.mStrokeColors == null) return Color.TRANSPARENT;
-
-        // Limit the passed angle
-        angle = ScArc.valueRangeLimit(angle, 0, this.mAngleSweep);
-
-        // Check the limits
-        if (angle == this.mAngleSweep)
-            return this.mStrokeColors[this.mStrokeColors.length - 1];
-        if (angle == 0)
-            return this.mStrokeColors[0];
-
-        // Find the delta angle and the sector
-        float deltaAngle = this.mAngleSweep / this.mStrokeColors.length;
-        int sector = Math.round(angle / deltaAngle);
-
-        // Reduce the angle to be relative to the sector and find the fraction
-        float sectorAngle = angle - sector * deltaAngle;
-        float fraction = sectorAngle / deltaAngle;
-
-        // First color and last color
-        int firstColor = this.mStrokeColors[sector];
-        int lastColor = this.mStrokeColors[sector + 1];
-
-        // Return the color
-        return (int) new ArgbEvaluator().evaluate(fraction, firstColor, lastColor);
+        return this.mRenderer.getCurrentGradientColor(angle);
     }
 
     @SuppressWarnings("unused")
     public int getCurrentGradientColor() {
-        return this.getCurrentGradientColor(this.mAngleDraw);
+        return this.mRenderer.getCurrentGradientColor(this.mRenderer.getAngleDraw());
     }
 
 
@@ -830,17 +661,15 @@ public class ScArc extends ScWidget {
     // Start angle
     @SuppressWarnings("unused")
     public float getAngleStart() {
-        return this.mAngleStart;
+        return this.mRenderer.getAngleStart();
     }
 
     @SuppressWarnings("unused")
     public void setAngleStart(float value) {
         // Check if value is changed
-        if (this.mAngleStart != value) {
-            // Store the new value
-            this.mAngleStart = value;
-            // Check and refresh the component
-            this.checkValues();
+        if (this.mRenderer.getAngleStart() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setAngleStart(value);
             this.requestLayout();
         }
     }
@@ -848,18 +677,15 @@ public class ScArc extends ScWidget {
     // Sweep angle
     @SuppressWarnings("unused")
     public float getAngleSweep() {
-        return this.mAngleSweep;
+        return this.mRenderer.getAngleSweep();
     }
 
     @SuppressWarnings("unused")
     public void setAngleSweep(float value) {
         // Check if value is changed
-        if (this.mAngleSweep != value) {
-            // Store the new value
-            this.mAngleDraw = this.mAngleSweep == this.mAngleDraw ? value : this.mAngleDraw;
-            this.mAngleSweep = value;
-            // Check and refresh
-            this.checkValues();
+        if (this.mRenderer.getAngleSweep() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setAngleSweep(value);
             this.requestLayout();
         }
     }
@@ -867,36 +693,45 @@ public class ScArc extends ScWidget {
     // Draw angle
     @SuppressWarnings("unused")
     public float getAngleDraw() {
-        return this.mAngleDraw;
+        return this.mRenderer.getAngleDraw();
     }
 
     @SuppressWarnings("unused")
     public void setAngleDraw(float value) {
         // Check if value is changed
-        if (this.mAngleDraw != value) {
-            // Store the new value
-            this.mAngleDraw = value;
-            // Check and refresh
-            this.checkValues();
-            this.invalidate();
+        float previous = this.mRenderer.getAngleDraw();
+        if (previous != value) {
+            // Store the new value and refresh only the changed sector
+            this.mRenderer.setAngleDraw(value);
+            this.invalidateAngleDraw(previous);
         }
     }
 
+    // Invalidate threshold.
+    // The min distance in pixels that the arc tip must move for refresh the component when the
+    // draw angle change. The settled value is always drawn. Zero for refresh on any change.
+    @SuppressWarnings("unused")
+    public float getInvalidateThreshold() {
+        return this.mInvalidateThreshold;
+    }
+
+    @SuppressWarnings("unused")
+    public void setInvalidateThreshold(float value) {
+        this.mInvalidateThreshold = Math.max(value, 0.0f);
+    }
+
     // Stroke size
     @SuppressWarnings("unused")
     public float getStrokeSize() {
-        return this.mStrokeSize;
+        return this.mRenderer.getStrokeSize();
     }
 
     @SuppressWarnings("unused")
     public void setStrokeSize(float value) {
         // Check if value is changed
-        if (this.mStrokeSize != value) {
-            // Store the new value and check it
-            this.mStrokeSize = value;
-            this.checkValues();
-            // Fix the painter and refresh the component
-            this.mStrokePaint.setStrokeWidth(this.mStrokeSize);
+        if (this.mRenderer.getStrokeSize() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setStrokeSize(value);
             this.requestLayout();
         }
     }
@@ -904,18 +739,15 @@ public class ScArc extends ScWidget {
     // Stroke color
     @SuppressWarnings("unused")
     public int getStrokeColor() {
-        return this.mStrokeColor;
+        return this.mRenderer.getStrokeColor();
     }
 
     @SuppressWarnings("unused")
     public void setStrokeColor(int value) {
         // Check if value is changed
-        if (this.mStrokeColor != value) {
-            // Store the new value and reset the other
-            this.mStrokeColor = value;
-            this.mStrokeColors = null;
-            // Fix the painter and refresh the component
-            this.mStrokePaint.setColor(this.mStrokeColor);
+        if (this.mRenderer.getStrokeColor() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setStrokeColor(value);
             this.invalidate();
         }
     }
@@ -923,28 +755,28 @@ public class ScArc extends ScWidget {
     // Create a gradient color and apply it to the stroke
     @SuppressWarnings("unused")
     public int[] getStrokesColors() {
-        return this.mStrokeColors;
+        return this.mRenderer.getStrokesColors();
     }
 
     @SuppressWarnings("unused")
     public void setStrokeColors(int... values) {
         // Save the new value and refresh
-        this.mStrokeColors = values;
+        this.mRenderer.setStrokeColors(values);
         this.invalidate();
     }
 
     // Stroke type
     @SuppressWarnings("unused")
     public StrokeTypes getStrokeType() {
-        return this.mStrokeType;
+        return this.mRenderer.getStrokeType();
     }
 
     @SuppressWarnings("unused")
     public void setStrokeType(StrokeTypes value) {
         // Check if value is changed
-        if (this.mStrokeType != value) {
+        if (this.mRenderer.getStrokeType() != value) {
             // Store the new value and refresh the component
-            this.mStrokeType = value;
+            this.mRenderer.setStrokeType(value);
             this.invalidate();
         }
     }
@@ -952,17 +784,15 @@ public class ScArc extends ScWidget {
     // Max width
     @SuppressWarnings("unused")
     public int getMaxWidth() {
-        return this.mMaxWidth;
+        return this.mRenderer.getMaxWidth();
     }
 
     @SuppressWarnings("unused")
     public void setMaxWidth(int value) {
         // Check if value is changed
-        if (this.mMaxWidth != value) {
-            // Store the new value
-            this.mMaxWidth = value;
-            // Check and refresh the component
-            this.checkValues();
+        if (this.mRenderer.getMaxWidth() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setMaxWidth(value);
             this.requestLayout();
         }
     }
@@ -970,17 +800,15 @@ public class ScArc extends ScWidget {
     // Max height
     @SuppressWarnings("unused")
     public int getMaxHeight() {
-        return this.mMaxHeight;
+        return this.mRenderer.getMaxHeight();
     }
 
     @SuppressWarnings("unused")
     public void setMaxHeight(int value) {
         // Check if value is changed
-        if (this.mMaxHeight != value) {
-            // Store the new value
-            this.mMaxHeight = value;
-            // Check and refresh the component
-            this.checkValues();
+        if (this.mRenderer.getMaxHeight() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setMaxHeight(value);
             this.requestLayout();
         }
     }
@@ -988,15 +816,15 @@ public class ScArc extends ScWidget {
     // Area filling type
     @SuppressWarnings("unused")
     public FillingArea getFillingArea() {
-        return this.mFillingArea;
+        return this.mRenderer.getFillingArea();
     }
 
     @SuppressWarnings("unused")
     public void setFillingArea(FillingArea value) {
         // Check if value is changed
-        if (this.mFillingArea != value) {
+        if (this.mRenderer.getFillingArea() != value) {
             // Store the new value and refresh the component
-            this.mFillingArea = value;
+            this.mRenderer.setFillingArea(value);
             this.invalidate();
         }
     }
@@ -1004,15 +832,15 @@ public class ScArc extends ScWidget {
     // Area filling mode
     @SuppressWarnings("unused")
     public FillingMode getFillingMode() {
-        return this.mFillingMode;
+        return this.mRenderer.getFillingMode();
     }
 
     @SuppressWarnings("unused")
     public void setFillingMode(FillingMode value) {
         // Check if value is changed
-        if (this.mFillingMode != value) {
+        if (this.mRenderer.getFillingMode() != value) {
             // Store the new value and refresh the component
-            this.mFillingMode = value;
+            this.mRenderer.setFillingMode(value);
             this.invalidate();
         }
     }
@@ -1020,17 +848,51 @@ public class ScArc extends ScWidget {
     // Colors filling mode
     @SuppressWarnings("unused")
     public FillingColors getFillingColors() {
-        return this.mFillingColors;
+        return this.mRenderer.getFillingColors();
     }
 
     @SuppressWarnings("unused")
     public void setFillingColors(FillingColors value) {
         // Check if value is changed
-        if (this.mFillingColors != value) {
+        if (this.mRenderer.getFillingColors() != value) {
+            // Store the new value and refresh the component
+            this.mRenderer.setFillingColors(value);
+            this.invalidate();
+        }
+    }
+
+    // Solid colors filling engine.
+    // By default the SOLID colors filling use a hard stops gradient that not need any bitmap.
+    // Set to true for use the legacy engine that draw the colored pies on a bitmap.
+    @SuppressWarnings("unused")
+    public boolean getSolidFillingBitmap() {
+        return this.mRenderer.getSolidFillingBitmap();
+    }
+
+    @SuppressWarnings("unused")
+    public void setSolidFillingBitmap(boolean value) {
+        // Check if value is changed
+        if (this.mRenderer.getSolidFillingBitmap() != value) {
             // Store the new value and refresh the component
-            this.mFillingColors = value;
+            this.mRenderer.setSolidFillingBitmap(value);
             this.invalidate();
         }
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Frame callback
+     */
+
+    // Wait on each frame that the draw angle settle.
+    // Private so the refresh cannot be stepped from outside the component.
+    private class SettleFrame implements ScFrameScheduler.FrameCallback {
+
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            return ScArc.this.doSettleFrame(frameTimeNanos);
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Draw an arc as a drawable.
+ * <p/>
+ * The arc is drawn by an ScArcRenderer inside the drawable bounds and the draw angle is driven
+ * by the level: 0 draw nothing, 10000 draw the whole sweep angle.
+ * Can be used wherever a drawable is accepted without adding any view.
+ * v1.0.0
+ */
+public class ScArcDrawable extends Drawable {
+
+    /**
+     * Constants
+     */
+
+    public static final int MAX_LEVEL = 10000;
+
+
+    /**
+     * Private variables
+     */
+
+    private final ScArcRenderer mRenderer;
+
+    private int mAlpha = 255;
+    private int mIntrinsicWidth = -1;
+    private int mIntrinsicHeight = -1;
+
+
+    /**
+     * Constructors
+     */
+
+    public ScArcDrawable(Context context) {
+        this(new ScArcRenderer(context));
+    }
+
+    public ScArcDrawable(ScArcRenderer renderer) {
+        this.mRenderer = renderer;
+        this.mRenderer.setAngleDraw(0.0f);
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Find the draw angle by the level
+    private float levelToAngle(int level) {
+        return this.mRenderer.getAngleSweep() * level / ScArcDrawable.MAX_LEVEL;
+    }
+
+
+    /**
+     * Overrides
+     */
+
+    // Draw the renderer inside the bounds.
+    // If the alpha is not opaque the arc is drawn inside a layer.
+    @Override
+    public void draw(Canvas canvas) {
+        // Check for empty values
+        Rect bounds = this.getBounds();
+        if (bounds.isEmpty() || this.mAlpha == 0) return;
+
+        // Save the canvas status
+        int count = this.mAlpha < 255 ?
+                canvas.saveLayerAlpha(
+                        bounds.left, bounds.top, bounds.right, bounds.bottom,
+                        this.mAlpha, Canvas.ALL_SAVE_FLAG) :
+                canvas.save();
+
+        // Apply the level to the current sweep angle and draw
+        this.mRenderer.setAngleDraw(this.levelToAngle(this.getLevel()));
+        canvas.translate(bounds.left, bounds.top);
+        this.mRenderer.draw(canvas, bounds.width(), bounds.height());
+
+        // Restore
+        canvas.restoreToCount(count);
+    }
+
+    // Measure the renderer on the new bounds.
+    // Needed for the geometry queries, like finding a point from an angle.
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        this.mRenderer.measure(bounds.width(), bounds.height());
+    }
+
+    // Apply the level to the draw angle
+    @Override
+    protected boolean onLevelChange(int level) {
+        // Check if value is changed
+        float angle = this.levelToAngle(level);
+        if (this.mRenderer.getAngleDraw() == angle) return false;
+
+        // Store the new value and ask to be drawn again
+        this.mRenderer.setAngleDraw(angle);
+        return true;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        // Check if value is changed
+        if (this.mAlpha != alpha) {
+            this.mAlpha = alpha;
+            this.invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return this.mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        this.mRenderer.getPainter().setColorFilter(colorFilter);
+        this.invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return this.mIntrinsicWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return this.mIntrinsicHeight;
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Get the renderer.
+    // After changing its settings call invalidateSelf for refresh the drawable.
+    @SuppressWarnings("unused")
+    public ScArcRenderer getRenderer() {
+        return this.mRenderer;
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Intrinsic size.
+    // By default the drawable have no intrinsic size and fill its bounds.
+    @SuppressWarnings("unused")
+    public void setIntrinsicSize(int width, int height) {
+        this.mIntrinsicWidth = width;
+        this.mIntrinsicHeight = height;
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.sccomponents.widgets;
+
+import android.graphics.RectF;
+
+/**
+ * Immutable snapshot of the arc geometry.
+ * <p/>
+ * Hold all the areas needed to draw the arc and to find the points on it: the canvas area, the
+ * virtual drawing area of the complete circle, the area inset by the half stroke size and the
+ * trimmed area.
+ * The snapshot is calculated once when the dimensions, the padding or the angles change and
+ * never change after the creation. It must be obtained on the UI thread but then it can be
+ * passed to and read from any thread: the areas are private and the getters return copies.
+ * v1.0.0
+ */
+@SuppressWarnings("unused")
+public final class ScArcGeometry {
+
+    /**
+     * Private variables
+     */
+
+    // Source values
+    private final int mWidth;
+    private final int mHeight;
+    private final int mPaddingLeft;
+    private final int mPaddingTop;
+    private final int mPaddingRight;
+    private final int mPaddingBottom;
+    private final boolean mHorizontalWrap;
+    private final boolean mVerticalWrap;
+    private final float mStrokeSize;
+
+    // Calculated values
+    private final float mCenterX;
+    private final float mCenterY;
+    private final float mRadiusX;
+    private final float mRadiusY;
+
+    // Areas.
+    // These are never changed after the creation.
+    private final RectF mTrimmedArea;
+    private final RectF mCanvasArea;
+    private final RectF mDrawingArea;
+    private final RectF mStrokeArea;
+    private final RectF mOriginArea;
+    private final RectF mOriginStrokeArea;
+
+
+    /**
+     * Constructors
+     */
+
+    ScArcGeometry(
+            int width, int height,
+            int paddingLeft, int paddingTop, int paddingRight, int paddingBottom,
+            boolean hWrap, boolean vWrap,
+            ScArc.FillingArea fillingArea, RectF trimmedArea, float strokeSize) {
+        // Hold the source values
+        this.mWidth = width;
+        this.mHeight = height;
+        this.mPaddingLeft = paddingLeft;
+        this.mPaddingTop = paddingTop;
+        this.mPaddingRight = paddingRight;
+        this.mPaddingBottom = paddingBottom;
+        this.mHorizontalWrap = hWrap;
+        this.mVerticalWrap = vWrap;
+        this.mStrokeSize = strokeSize;
+
+        // Areas
+        this.mTrimmedArea = trimmedArea == null ? new RectF() : new RectF(trimmedArea);
+        this.mCanvasArea = new RectF(
+                paddingLeft, paddingTop, width - paddingRight, height - paddingBottom);
+        this.mDrawingArea = this.calcDrawingArea(fillingArea);
+        this.mStrokeArea = ScWidget.inflateRect(this.mDrawingArea, strokeSize / 2);
+        this.mOriginArea = ScWidget.resetRectToOrigin(this.mCanvasArea);
+        this.mOriginStrokeArea = ScWidget.inflateRect(this.mOriginArea, strokeSize / 2);
+
+        // Center and radius
+        this.mCenterX = this.mDrawingArea.centerX();
+        this.mCenterY = this.mDrawingArea.centerY();
+        this.mRadiusX = this.mDrawingArea.width() / 2;
+        this.mRadiusY = this.mDrawingArea.height() / 2;
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Calc complete circle drawing area.
+    // This methods calc the virtual drawing area not taking into consideration the many adjustments
+    // like the stroke size or the area padding.
+    private RectF calcDrawingArea(ScArc.FillingArea fillingArea) {
+        // Check for empty values
+        if (this.mTrimmedArea.isEmpty()) return new RectF();
+
+        // Default working area calculated consider the padding and the stroke size
+        RectF newArea = new RectF(this.mCanvasArea);
+
+        // If fill the area expand the area to have the full filling working space with the arc.
+        // In the wrapping case the horizontal filling it is executed in anyway while the component
+        // dimension will be elaborated before inside the component measuring.
+        if (this.mHorizontalWrap ||
+                fillingArea == ScArc.FillingArea.BOTH || fillingArea == ScArc.FillingArea.HORIZONTAL) {
+            // Find the multiplier based on the trimmed area and apply the proportion to the
+            // horizontal dimensions.
+            float hMultiplier = newArea.width() / this.mTrimmedArea.width();
+            float left = this.mTrimmedArea.left * hMultiplier;
+
+            // Apply the new values to the area and modify the horizontal offset
+            newArea.left = -hMultiplier;
+            newArea.right = hMultiplier;
+            newArea.offset(-left + this.mPaddingLeft, 0);
+        }
+
+        // If fill the area expand the area to have the full filling working space with the arc
+        // In the wrapping case the vertical filling it is executed in anyway while the component
+        // dimension will be elaborated before inside the component measuring.
+        if (this.mVerticalWrap ||
+                fillingArea == ScArc.FillingArea.BOTH || fillingArea == ScArc.FillingArea.VERTICAL) {
+            // Find the multiplier based on the trimmed area and apply the proportion to the
+            // vertical dimensions.
+            float vMultiplier = newArea.height() / this.mTrimmedArea.height();
+            float top = this.mTrimmedArea.top * vMultiplier;
+
+            // Apply the new values to the area and modify the vertical offset
+            newArea.top = -vMultiplier;
+            newArea.bottom = vMultiplier;
+            newArea.offset(0, -top + this.mPaddingTop);
+        }
+
+        // Return the calculated area
+        return newArea;
+    }
+
+
+    /**
+     * Package methods
+     */
+
+    // Check if the geometry was built with the passed layout values
+    boolean matches(
+            int width, int height,
+            int paddingLeft, int paddingTop, int paddingRight, int paddingBottom,
+            boolean hWrap, boolean vWrap) {
+        return this.mWidth == width && this.mHeight == height &&
+                this.mPaddingLeft == paddingLeft && this.mPaddingTop == paddingTop &&
+                this.mPaddingRight == paddingRight && this.mPaddingBottom == paddingBottom &&
+                this.mHorizontalWrap == hWrap && this.mVerticalWrap == vWrap;
+    }
+
+    // Get the held areas without copy them for not allocate inside the drawing.
+    // The returned areas must be considered read only.
+    RectF peekCanvasArea() {
+        return this.mCanvasArea;
+    }
+
+    RectF peekDrawingArea() {
+        return this.mDrawingArea;
+    }
+
+    RectF peekOriginArea() {
+        return this.mOriginArea;
+    }
+
+    // Get the precalculated stroke area relative to one of the geometry areas.
+    // Return null if the passed area not belong to this geometry.
+    RectF getStrokeAreaOf(RectF area) {
+        if (area == this.mDrawingArea) return this.mStrokeArea;
+        if (area == this.mOriginArea) return this.mOriginStrokeArea;
+        return null;
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Dimensions
+    public int getWidth() {
+        return this.mWidth;
+    }
+
+    public int getHeight() {
+        return this.mHeight;
+    }
+
+    // The stroke size used to calculate the stroke area
+    public float getStrokeSize() {
+        return this.mStrokeSize;
+    }
+
+    // Center of the drawing area
+    public float getCenterX() {
+        return this.mCenterX;
+    }
+
+    public float getCenterY() {
+        return this.mCenterY;
+    }
+
+    // Radius of the complete circle drawing area
+    public float getRadiusX() {
+        return this.mRadiusX;
+    }
+
+    public float getRadiusY() {
+        return this.mRadiusY;
+    }
+
+    // Radius of the stroke center line
+    public float getStrokeRadiusX() {
+        return this.mRadiusX - this.mStrokeSize / 2;
+    }
+
+    public float getStrokeRadiusY() {
+        return this.mRadiusY - this.mStrokeSize / 2;
+    }
+
+    // Get a copy of the areas.
+    // The copy is needed for hold the snapshot immutable.
+    public RectF getTrimmedArea() {
+        return new RectF(this.mTrimmedArea);
+    }
+
+    public RectF getCanvasArea() {
+        return new RectF(this.mCanvasArea);
+    }
+
+    public RectF getDrawingArea() {
+        return new RectF(this.mDrawingArea);
+    }
+
+    public RectF getStrokeArea() {
+        return new RectF(this.mStrokeArea);
+    }
+
+}
@@ -0,0 +1,1222 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Point;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.graphics.SweepGradient;
+
+import java.util.Arrays;
+
+/**
+ * Draw an arc on a canvas without being a view.
+ * <p/>
+ * Hold all the arc settings, the painters and the geometry and contain all the drawing and the
+ * measuring logic of the ScArc component. The containers, like the ScGauge, compose the
+ * renderers directly and measure and draw them on its own canvas without the cost of a view
+ * for each arc. The ScArc view is a thin wrapper around this class.
+ * v1.0.0
+ */
+public class ScArcRenderer {
+
+    /**
+     * Private attributes
+     */
+
+    protected float mAngleStart;
+    protected float mAngleSweep;
+    protected float mAngleDraw;
+
+    protected float mStrokeSize;
+    protected int mStrokeColor;
+    protected ScArc.StrokeTypes mStrokeType;
+
+    protected int mMaxWidth;
+    protected int mMaxHeight;
+
+    protected ScArc.FillingArea mFillingArea;
+    protected ScArc.FillingMode mFillingMode;
+    protected ScArc.FillingColors mFillingColors;
+    protected boolean mSolidFillingBitmap;
+
+
+    /**
+     * Private variables
+     */
+
+    private int[] mStrokeColors;
+    private final RectF mTrimmedArea = new RectF();
+    private final RectF mScratchArea = new RectF();
+    private volatile ScArcGeometry mGeometry;
+    private volatile ScArcGeometry mMeasuredGeometry;
+
+    private Paint mStrokePaint;
+    private Paint mPiePaint;
+
+    private Shader mShader;
+    private ScShaderCache.Key mShaderKey;
+
+    private int mChangesCount;
+    private float mDrawOffset;
+    private boolean mVisible = true;
+
+    // Layout
+    private int mWidth;
+    private int mHeight;
+    private int mPaddingLeft;
+    private int mPaddingTop;
+    private int mPaddingRight;
+    private int mPaddingBottom;
+    private boolean mHorizontalWrap;
+    private boolean mVerticalWrap;
+
+
+    /**
+     * Constructors
+     */
+
+    public ScArcRenderer(Context context) {
+        // Default values.
+        // Only the display density is read from the context, no attributes will be parsed.
+        float density = context.getResources().getDisplayMetrics().density;
+
+        this.mAngleStart = ScArc.DEFAULT_ANGLE_START;
+        this.mAngleSweep = ScArc.DEFAULT_ANGLE_SWEEP;
+        this.mAngleDraw = this.mAngleSweep;
+
+        this.mStrokeSize = ScArc.DEFAULT_STROKE_SIZE * density;
+        this.mStrokeColor = ScArc.DEFAULT_STROKE_COLOR;
+        this.mStrokeType = ScArc.StrokeTypes.LINE;
+
+        this.mMaxWidth = Integer.MAX_VALUE;
+        this.mMaxHeight = Integer.MAX_VALUE;
+
+        this.mFillingArea = ScArc.FillingArea.BOTH;
+        this.mFillingMode = ScArc.FillingMode.DRAW;
+        this.mFillingColors = ScArc.FillingColors.GRADIENT;
+
+        //--------------------------------------------------
+        // PAINTS
+
+        this.mStrokePaint = new Paint();
+        this.mStrokePaint.setColor(this.mStrokeColor);
+        this.mStrokePaint.setAntiAlias(true);
+        this.mStrokePaint.setStrokeWidth(this.mStrokeSize);
+        this.mStrokePaint.setStyle(Paint.Style.STROKE);
+        this.mStrokePaint.setStrokeCap(Paint.Cap.BUTT);
+
+        this.mPiePaint = new Paint();
+        this.mPiePaint.setAntiAlias(true);
+        this.mPiePaint.setStyle(Paint.Style.FILL);
+
+        //--------------------------------------------------
+        // INTERNAL
+
+        this.updateTrimmedArea();
+        ScShaderCache.register(context);
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Limit an angle in degrees within a range.
+    // When press on the arc space the system return always an positive angle but the ScArc accept
+    // also negative value for the start and end angles.
+    // So in case of negative setting the normal range limit method not work proper and we must
+    // implement a specific method that consider to return all kind of angle value, positive and
+    // negative.
+    private float angleRangeLimit(float angle, float startAngle, float endAngle) {
+        // Find the opposite of the same angle
+        float positive = ScArc.normalizeAngle(angle + ScArc.DEFAULT_ANGLE_MAX);
+        float negative = positive - ScArc.DEFAULT_ANGLE_MAX;
+
+        // Try both case of angle is positive and is negative.
+        float firstCase = ScArc.valueRangeLimit(positive, startAngle, endAngle);
+        float secondCase = ScArc.valueRangeLimit(negative, startAngle, endAngle);
+
+        // If the first case is equal to the positive angle than the correct angle is the
+        // positive one
+        if (firstCase == positive) {
+            return positive;
+
+        } else {
+            // If the second case is equal to the negative angle than the correct angle is the
+            // negative one
+            if (secondCase == negative) {
+                return negative;
+
+            } else {
+                // The angle if over the limit.
+                // Try to find the nearest limit and return it.
+                if (Math.abs(firstCase - positive) < Math.abs(secondCase - negative))
+                    return firstCase;
+                else
+                    return secondCase;
+            }
+        }
+    }
+
+    // Check all input values if over the limits
+    private void checkValues() {
+        // Size
+        if (this.mStrokeSize < 0.0f) this.mStrokeSize = 0.0f;
+
+        // Angle
+        if (Math.abs(this.mAngleSweep) > ScArc.DEFAULT_ANGLE_MAX)
+            this.mAngleSweep = ScArc.normalizeAngle(this.mAngleSweep);
+        if (Math.abs(this.mAngleDraw) > ScArc.DEFAULT_ANGLE_MAX)
+            this.mAngleDraw = ScArc.normalizeAngle(this.mAngleDraw);
+
+        // Dimension
+        if (this.mMaxWidth < 0) this.mMaxWidth = 0;
+        if (this.mMaxHeight < 0) this.mMaxHeight = 0;
+
+        // Check the draw angle limits
+        this.mAngleDraw = ScArc.valueRangeLimit(this.mAngleDraw, 0, this.mAngleSweep);
+    }
+
+    // Create a bitmap shader.
+    // If the colors filling mode is SOLID we cannot use a gradient but we must separate colors
+    // each other.
+    // For do it we will use a trick creating a bitmap and filling it with a colored pies. After
+    // that create a bitmap shader that will going to apply to the Painter.
+    // This is the legacy SOLID engine and it is used only if explicitly requested because the
+    // bitmap cost width * height * 4 bytes for each shader.
+    private BitmapShader createBitmapShader(RectF area) {
+        // Create a temporary bitmap and get its canvas
+        Bitmap bitmap = Bitmap.createBitmap((int) area.width(), (int) area.height(), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        // Get the delta angle from the colors count.
+        float deltaAngle = this.mAngleSweep / this.mStrokeColors.length;
+
+        // Fix a visual filling issue when use a stroke cap type different from BUTT
+        if (this.mAngleSweep < 360.0f) {
+            // Calc the starting half circle and get the colors
+            float startAngle = this.mAngleStart - (360.0f - this.mAngleSweep) / 2;
+            int firstColor = this.mStrokeColors[0];
+            int lastColor = this.mStrokeColors[this.mStrokeColors.length - 1];
+
+            // Set the painter with the first color and draw half circle
+            this.mPiePaint.setColor(deltaAngle < 0 ? lastColor : firstColor);
+            canvas.drawArc(area, startAngle, 180.0f, true, this.mPiePaint);
+
+            // Set the painter with the last color and draw the second half circle
+            this.mPiePaint.setColor(deltaAngle < 0 ? firstColor : lastColor);
+            canvas.drawArc(area, startAngle + 180.0f, 180.0f, true, this.mPiePaint);
+        }
+
+        // Draw all pie sector on the circle
+        for (int index = 0; index < this.mStrokeColors.length; index++) {
+            // Calculate the start and the end angle
+            float currentAngle = index * deltaAngle + this.mAngleStart;
+            // Set the painter color and draw
+            this.mPiePaint.setColor(this.mStrokeColors[index]);
+            canvas.drawArc(area, currentAngle, deltaAngle, true, this.mPiePaint);
+        }
+
+        // Create the filter from the temporary bitmap
+        return new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    }
+
+    // Create a sweep gradient shader with hard stops.
+    // If the colors filling mode is SOLID each color must cover its sector without blending
+    // with the next one. Duplicating the position of each sector boundary the gradient switch
+    // the color without transition, so we have the same result of the bitmap shader without
+    // creating any bitmap.
+    private SweepGradient createSolidSweepGradient(RectF area) {
+        // Get the colors count and the sector size as gradient fraction
+        int count = this.mStrokeColors.length;
+        float sweep = Math.abs(this.mAngleSweep);
+        float deltaFraction = (sweep / 360.0f) / count;
+
+        // If the sweep angle is negative the gradient will start from the end angle, so the
+        // colors must be read in the reversed order.
+        boolean inverted = this.mAngleSweep < 0;
+        // Fix a visual filling issue when use a stroke cap type different from BUTT.
+        // Like the bitmap shader the empty sector is filled half with the last and half with
+        // the first color.
+        boolean toClose = sweep < 360.0f;
+
+        // Create the holders
+        int len = count * 2 + (toClose ? 3 : 0);
+        int[] colors = new int[len];
+        float[] positions = new float[len];
+
+        // Fill the holders duplicating each color on the start and the end of its sector
+        for (int index = 0; index < count; index++) {
+            // Get the color by the direction
+            int color = this.mStrokeColors[inverted ? count - 1 - index : index];
+
+            // Start and end of sector
+            colors[index * 2] = color;
+            colors[index * 2 + 1] = color;
+            positions[index * 2] = index * deltaFraction;
+            positions[index * 2 + 1] = (index + 1) * deltaFraction;
+        }
+
+        // Close the circle if needed
+        if (toClose) {
+            // Find the middle of the empty sector
+            float end = positions[count * 2 - 1];
+            float middle = end + (1.0f - end) / 2;
+
+            // The last color until the middle and the first color until the end
+            colors[len - 3] = colors[count * 2 - 1];
+            colors[len - 2] = colors[0];
+            colors[len - 1] = colors[0];
+            positions[len - 3] = middle;
+            positions[len - 2] = middle;
+            positions[len - 1] = 1.0f;
+
+        } else {
+            // Avoid the rounding issue on the last position
+            positions[len - 1] = 1.0f;
+        }
+
+        // Create the matrix and rotate it.
+        // If inverted the gradient start from the end angle.
+        Matrix matrix = new Matrix();
+        matrix.preRotate(
+                inverted ? this.mAngleStart + this.mAngleSweep : this.mAngleStart,
+                area.centerX(), area.centerY()
+        );
+
+        // Create the gradient and apply the matrix
+        SweepGradient gradient = new SweepGradient(
+                area.centerX(), area.centerY(), colors, positions);
+        gradient.setLocalMatrix(matrix);
+
+        // Return the gradient
+        return gradient;
+    }
+
+    // Create a sweep gradient shader.
+    // Since the sweep angle can be minor of 360° we must create an array storing the colors
+    // position respect to the arc (sectors).
+    private SweepGradient createSweepGradient(RectF area) {
+        // Create a copy of colors because not want lost the original values
+        int[] colors = Arrays.copyOf(this.mStrokeColors, this.mStrokeColors.length);
+        // Create a positions holder and get the delta angle from the colors count.
+        float[] positions = new float[colors.length];
+        float deltaAngle = Math.abs(this.mAngleSweep / (colors.length - 1));
+
+        // Fill the positions holder
+        for (int index = 0; index < colors.length; index++) {
+            positions[index] = index * (deltaAngle / 360.0f);
+        }
+
+        // Fix a visual filling issue when use a stroke cap type different from BUTT
+        float toClose = 1 - positions[positions.length - 1];
+        if (toClose > 0) {
+            // Hold the new length
+            int len = positions.length + 2;
+
+            // Resize the positions the array and insert the missed values
+            positions = Arrays.copyOf(positions, len);
+            positions[len - 2] = 1.0f - (toClose / 3) * 2;
+            positions[len - 1] = 1.0f - (toClose / 3) * 1;
+
+            // Resize then colors array and insert the last and first color
+            colors = Arrays.copyOf(colors, len);
+            colors[len - 2] = colors[len - 3];
+            colors[len - 1] = colors[0];
+
+            // If the delta angle is negative I must invert the last two colors
+            if (deltaAngle < 0) {
+                ScArc.swapArrayPosition(colors, len - 2, len - 1);
+            }
+        }
+
+        // Create the matrix and rotate it
+        Matrix matrix = new Matrix();
+        matrix.preRotate(this.mAngleStart, area.centerX(), area.centerY());
+
+        // Create the gradient and apply the matrix
+        SweepGradient gradient = new SweepGradient(
+                area.centerX(), area.centerY(), colors, positions);
+        gradient.setLocalMatrix(matrix);
+
+        // Return the gradient
+        return gradient;
+    }
+
+    // Create the right paint shader by the case
+    private Shader createPaintShader(RectF area) {
+        // Select the draw colors method by the case
+        switch (this.mFillingColors) {
+            // Solid filling
+            case SOLID:
+                return this.mSolidFillingBitmap ?
+                        this.createBitmapShader(area) : this.createSolidSweepGradient(area);
+
+            // Gradient filling
+            case GRADIENT:
+                return this.createSweepGradient(area);
+
+            // Else
+            default:
+                return null;
+        }
+    }
+
+    // Get the right paint shader by the case.
+    // The shader will be rebuilt only if one of the source values is changed from the last call.
+    // The shaders are shared between all the arcs through the process-wide cache so the arcs
+    // with the same settings will use the same shader instance.
+    private Shader getPaintShader(RectF area) {
+        // Check no values inside the array
+        if (this.mStrokeColors.length == 0)
+            return null;
+
+        // If have only one value set directly to the painter and return null
+        if (this.mStrokeColors.length == 1) {
+            this.mStrokePaint.setColor(this.mStrokeColors[0]);
+            return null;
+        }
+
+        // Check if the last shader is still valid.
+        // The legacy SOLID engine must have a different key from the hard stops one.
+        int mode = this.mFillingColors.ordinal() +
+                (this.mSolidFillingBitmap ? ScArc.FillingColors.values().length : 0);
+        if (this.mShaderKey != null && this.mShaderKey.matches(
+                this.mStrokeColors, mode, this.mAngleStart, this.mAngleSweep, area)) {
+            return this.mShader;
+        }
+
+        // Try to find the shader inside the cache
+        ScShaderCache.Key key = new ScShaderCache.Key(
+                this.mStrokeColors, mode, this.mAngleStart, this.mAngleSweep, area);
+        Shader shader = ScShaderCache.get(key);
+
+        // If not exists create a new one and store it inside the cache
+        if (shader == null) {
+            shader = this.createPaintShader(area);
+            ScShaderCache.put(key, shader);
+        }
+
+        // Hold the current shader and return it
+        this.mShaderKey = key;
+        this.mShader = shader;
+        return shader;
+    }
+
+
+    /**
+     * Area methods
+     */
+
+    // Calc the trimmed area.
+    // This is only an image of the arc dimensions inside the space, not contains the real arc
+    // dimensions but only a proportional representation.
+    // This method essentially hold the left/top padding and the arc width/height.
+    // The geometry that depend on it will be reset only if the area changed.
+    private void updateTrimmedArea() {
+        // Check for sweep angle.
+        // If 0 is an empty rectangle else find the image of the trimmed area used to draw
+        // this arc.
+        if (this.mAngleSweep == 0.0f)
+            this.mScratchArea.setEmpty();
+        else
+            ScArc.calcArcBounds(this.mAngleStart, this.mAngleSweep, this.mScratchArea);
+
+        // Check if changed
+        if (!this.mScratchArea.equals(this.mTrimmedArea)) {
+            this.mTrimmedArea.set(this.mScratchArea);
+            this.resetGeometry();
+        }
+    }
+
+    // Get the geometry snapshot for the passed dimensions.
+    // The current snapshot will be returned if still valid, else a new one will be calculated.
+    // It is valid if the dimensions, the padding and the layout wrapping are the same and it was
+    // not reset by a property change.
+    private ScArcGeometry obtainGeometry(ScArcGeometry current, ScArcGeometry other, int width, int height) {
+        // Layout
+        int left = this.mPaddingLeft;
+        int top = this.mPaddingTop;
+        int right = this.mPaddingRight;
+        int bottom = this.mPaddingBottom;
+        boolean hWrap = this.mHorizontalWrap;
+        boolean vWrap = this.mVerticalWrap;
+
+        // Check if the current geometry or the other one are still valid.
+        // Usually the drawing and the measured dimensions are the same so the two geometries
+        // are the same object.
+        if (current != null && current.matches(width, height, left, top, right, bottom, hWrap, vWrap))
+            return current;
+        if (other != null && other.matches(width, height, left, top, right, bottom, hWrap, vWrap))
+            return other;
+
+        // Calculate the new geometry
+        return new ScArcGeometry(width, height, left, top, right, bottom, hWrap, vWrap,
+                this.mFillingArea, this.mTrimmedArea, this.mStrokeSize);
+    }
+
+    // Reset the geometry snapshots.
+    // Must be called every time a value used to calculate the geometry changes.
+    private void resetGeometry() {
+        this.mGeometry = null;
+        this.mMeasuredGeometry = null;
+    }
+
+    // Draw arc on the canvas using the passed area reference
+    // This is an important method can be override for future inherit class implementation.
+    protected void internalDraw(Canvas canvas, RectF area) {
+        // Check for null values
+        if (this.mStrokeSize > 0 || this.mStrokeType == ScArc.StrokeTypes.FILLED_ARC) {
+            // Consider the stroke size.
+            // Use the precalculated area if the passed one belong to the current geometry.
+            RectF strokeArea = this.mGeometry != null ? this.mGeometry.getStrokeAreaOf(area) : null;
+            if (strokeArea == null)
+                strokeArea = ScArc.inflateRect(area, this.mStrokeSize / 2, false, this.mScratchArea);
+
+            // Find the sweep starting from the draw offset.
+            // If the offset is over the draw angle nothing to draw.
+            float sweep = this.mAngleDraw - this.mDrawOffset;
+            if (sweep == 0.0f || (sweep > 0) != (this.mAngleDraw > 0)) return;
+
+            // Draw
+            canvas.drawArc(
+                    strokeArea,
+                    this.mAngleStart + this.mDrawOffset,
+                    sweep,
+                    this.mStrokeType != ScArc.StrokeTypes.LINE,
+                    this.mStrokePaint);
+        }
+    }
+
+    // Get the bounds of all the drawing space.
+    // Use the geometry dimensions because the renderers drawn inside a container are never
+    // laid out.
+    protected RectF getDrawingBounds(RectF out) {
+        ScArcGeometry geometry = this.mGeometry != null ? this.mGeometry : this.getGeometry();
+        out.set(0, 0, geometry.getWidth(), geometry.getHeight());
+        return out;
+    }
+
+    // Get the radial thickness of the drawing measured from the drawing area border to the
+    // center.
+    // Used to find the bounds of the arc sectors.
+    protected float getDrawingThickness() {
+        return this.mStrokeType == ScArc.StrokeTypes.LINE ? this.mStrokeSize : Float.MAX_VALUE;
+    }
+
+    // Count a change of the settings
+    protected void changed() {
+        this.mChangesCount++;
+    }
+
+
+    /**
+     * Package methods
+     */
+
+    // Apply the settings written directly on the attributes, like after the xml attributes
+    // reading or the instance state restoring.
+    void settingsChanged() {
+        this.checkValues();
+        this.mStrokePaint.setColor(this.mStrokeColor);
+        this.mStrokePaint.setStrokeWidth(this.mStrokeSize);
+        this.updateTrimmedArea();
+        this.resetGeometry();
+        this.changed();
+    }
+
+    // The draw offset is the angle, relative to the start angle, from where start to draw the
+    // arc. Used by the containers to not draw the sectors that will be covered by other arcs.
+    // Note that changing the offset is not counted as a change.
+    void setDrawOffset(float degrees) {
+        this.mDrawOffset = degrees;
+    }
+
+    // Check if the arc is drawn fully opaque.
+    // The painter alpha and all the stroke colors, used for the gradients too, must be opaque.
+    boolean isOpaque() {
+        if (this.mStrokePaint.getAlpha() != 255) return false;
+        for (int color : this.mStrokeColors)
+            if (Color.alpha(color) != 255) return false;
+        return true;
+    }
+
+    // Find the angle in degrees that cover the passed length in pixels along the arc.
+    // Measured on the smaller radius so the length is covered on all the arc path.
+    float getArcAngle(float length) {
+        // Find the radius using the last drawn geometry if exists
+        ScArcGeometry geometry = this.mGeometry != null ? this.mGeometry : this.getGeometry();
+        float radius = Math.min(geometry.getRadiusX(), geometry.getRadiusY());
+
+        // Calc the angle
+        return radius > 0 ? (float) Math.toDegrees(length / radius) : 0.0f;
+    }
+
+    // The size occupied by the arc across its path.
+    // Used by the containers to center the arcs one above the other.
+    float getLayoutSize() {
+        return this.getStrokeSize();
+    }
+
+    // Find the padding that center the arc inside the passed max size
+    int getCenteringPadding(float maxSize) {
+        return Math.round((maxSize - this.getLayoutSize()) / 2);
+    }
+
+    // Find the max layout size of the three arcs of a gauge.
+    // Not use the varargs for not allocate the array on each measure.
+    static float findMaxLayoutSize(
+            ScArcRenderer base, ScArcRenderer notchs, ScArcRenderer progress) {
+        return Math.max(
+                base.getLayoutSize(),
+                Math.max(notchs.getLayoutSize(), progress.getLayoutSize())
+        );
+    }
+
+    // Center the three arcs of a gauge one above the other and measure them inside the passed
+    // dimensions. The passed padding is added on all the sides.
+    static void layoutCentered(
+            ScArcRenderer base, ScArcRenderer notchs, ScArcRenderer progress,
+            int padding, int width, int height) {
+        float maxSize = ScArcRenderer.findMaxLayoutSize(base, notchs, progress);
+        ScArcRenderer.layoutCentered(base, maxSize, padding, width, height);
+        ScArcRenderer.layoutCentered(notchs, maxSize, padding, width, height);
+        ScArcRenderer.layoutCentered(progress, maxSize, padding, width, height);
+    }
+
+    // Center a single arc inside the max size and measure it
+    private static void layoutCentered(
+            ScArcRenderer renderer, float maxSize, int padding, int width, int height) {
+        int total = padding + renderer.getCenteringPadding(maxSize);
+        renderer.setPadding(total, total, total, total);
+        renderer.measure(width, height);
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Draw the arc on the canvas.
+    // Are to consider two type of draw:
+    //      DRAW ask to render simply on an area.
+    //      STRETCH before scale and transpose the canvas and after render on it using the default
+    //      render method.
+    // Note that the visibility is not checked here but is up to the container.
+    @SuppressWarnings("unused")
+    public void draw(Canvas canvas) {
+        this.draw(canvas, canvas.getWidth(), canvas.getHeight());
+    }
+
+    // Draw the arc on the canvas using the passed dimensions instead of the canvas ones.
+    // Used when the arc must be drawn only on a part of the canvas, like by the drawables.
+    @SuppressWarnings("unused")
+    public void draw(Canvas canvas, int width, int height) {
+        // Find the canvas and drawing area
+        ScArcGeometry geometry = this.obtainGeometry(
+                this.mGeometry, this.mMeasuredGeometry, width, height);
+        this.mGeometry = geometry;
+        RectF canvasArea = geometry.peekCanvasArea();
+        RectF drawingArea = geometry.peekDrawingArea();
+
+        // Check if need to create a gradient
+        if (this.mStrokeColors != null) {
+            // Create the shader and apply it to the painter
+            this.mStrokePaint.setShader(this.getPaintShader(drawingArea));
+        }
+
+        // Define the painter style by the current stroke type
+        this.mStrokePaint.setStyle(
+                this.mStrokeType == ScArc.StrokeTypes.FILLED_ARC ?
+                        Paint.Style.FILL_AND_STROKE : Paint.Style.STROKE
+        );
+
+        // Select the drawing mode by the case
+        switch (this.mFillingMode) {
+            // Draw
+            case DRAW:
+                // Draw the arc on the calculated drawing area
+                this.internalDraw(canvas, drawingArea);
+                break;
+
+            // Stretch
+            case STRETCH:
+                // Save the current canvas status
+                canvas.save();
+
+                // Translate and scale the canvas
+                canvas.translate(drawingArea.left, drawingArea.top);
+                canvas.scale(
+                        drawingArea.width() / canvasArea.width(),
+                        drawingArea.height() / canvasArea.height()
+                );
+
+                // Draw the arc on the reset canvas
+                this.internalDraw(canvas, geometry.peekOriginArea());
+
+                // Restore the last saved canvas status
+                canvas.restore();
+                break;
+        }
+    }
+
+    // Measure the arc.
+    // The passed dimensions are the suggested ones, if wrapping the dimensions will be
+    // calculated to obtain a perfect circle radius.
+    // The result can be read by the getWidth and getHeight methods.
+    @SuppressWarnings("unused")
+    public void measure(int width, int height) {
+        // Find the horizontal and vertical global padding amount
+        float hGlobalPadding = this.mPaddingLeft + this.mPaddingRight;
+        float vGlobalPadding = this.mPaddingTop + this.mPaddingBottom;
+
+        // If have a horizontal wrap content we want to obtain a perfect circle radius so we must
+        // set the new height equal to the current width.
+        // For do this I must also consider the horizontal padding to remove before trimming the
+        // area and to add after trimmed.
+        if (this.mHorizontalWrap) {
+            width = (int) ((height - hGlobalPadding) * (this.mTrimmedArea.width() / 2));
+            width += hGlobalPadding;
+        }
+
+        // If have a vertical wrap content we want to obtain a perfect circle radius so we must
+        // set the new width equal to the current height.
+        // For do this I must also consider the vertical padding to remove before trimming the
+        // area and to add after trimmed.
+        if (this.mVerticalWrap) {
+            height = (int) ((width - vGlobalPadding) * (this.mTrimmedArea.height() / 2));
+            height += vGlobalPadding;
+        }
+
+        // Check the dimensions limits and hold the finded dimensions
+        this.mWidth = ScArc.valueRangeLimit(width, 0, this.mMaxWidth);
+        this.mHeight = ScArc.valueRangeLimit(height, 0, this.mMaxHeight);
+    }
+
+    // Measured dimensions
+    @SuppressWarnings("unused")
+    public int getWidth() {
+        return this.mWidth;
+    }
+
+    @SuppressWarnings("unused")
+    public int getHeight() {
+        return this.mHeight;
+    }
+
+    // Padding of the drawing area
+    @SuppressWarnings("unused")
+    public void setPadding(int left, int top, int right, int bottom) {
+        this.mPaddingLeft = left;
+        this.mPaddingTop = top;
+        this.mPaddingRight = right;
+        this.mPaddingBottom = bottom;
+    }
+
+    // Layout wrapping
+    @SuppressWarnings("unused")
+    public void setWrap(boolean horizontal, boolean vertical) {
+        this.mHorizontalWrap = horizontal;
+        this.mVerticalWrap = vertical;
+    }
+
+    // Visibility.
+    // Used by the containers to decide if draw the arc.
+    @SuppressWarnings("unused")
+    public boolean isVisible() {
+        return this.mVisible;
+    }
+
+    @SuppressWarnings("unused")
+    public void setVisible(boolean value) {
+        // Check if value is changed
+        if (this.mVisible != value) {
+            this.mVisible = value;
+            this.changed();
+        }
+    }
+
+    // Get the arc painter
+    @SuppressWarnings("unused")
+    public Paint getPainter() {
+        return this.mStrokePaint;
+    }
+
+    // Get the number of changes applied to the arc since its creation.
+    // Note that the direct changes on the painter are not counted.
+    @SuppressWarnings("unused")
+    public int getChangesCount() {
+        return this.mChangesCount;
+    }
+
+    // Get the current geometry snapshot calculated on the measured dimensions.
+    // Must be called on the UI thread because the snapshot can be created here from the current
+    // settings. The returned snapshot never change and can be passed to any thread but note that
+    // it will be replaced with a new one when the dimensions or settings change.
+    @SuppressWarnings("unused")
+    public ScArcGeometry getGeometry() {
+        ScArcGeometry geometry = this.obtainGeometry(
+                this.mMeasuredGeometry, this.mGeometry, this.mWidth, this.mHeight);
+        this.mMeasuredGeometry = geometry;
+        return geometry;
+    }
+
+    // Find the bounds on the canvas of the arc sector between the passed angles.
+    // The angles must be relative to the start angle defined by the settings.
+    // The bounds consider the stroke size and the caps, when the arc is stretched the bounds
+    // cannot be calculated and will be the whole drawing area.
+    @SuppressWarnings("unused")
+    public RectF getSectorBounds(float fromAngle, float toAngle, RectF out) {
+        // Check for the stretch mode
+        if (this.mFillingMode == ScArc.FillingMode.STRETCH) return this.getDrawingBounds(out);
+
+        // Check for empty values
+        if (fromAngle == toAngle) {
+            out.setEmpty();
+            return out;
+        }
+
+        // Find the bounds of the sector on the unit circle
+        ScArc.calcArcBounds(this.mAngleStart + fromAngle, toAngle - fromAngle, out);
+
+        // Scale the bounds on the outer and inner border of the drawing and take the union.
+        // Use the last drawn geometry if exists because the canvas can have different dimensions
+        // from the measured ones.
+        ScArcGeometry geometry = this.mGeometry != null ? this.mGeometry : this.getGeometry();
+        float thickness = this.getDrawingThickness();
+        float outerX = geometry.getRadiusX();
+        float outerY = geometry.getRadiusY();
+        float innerX = Math.max(0.0f, outerX - thickness);
+        float innerY = Math.max(0.0f, outerY - thickness);
+        float centerX = geometry.getCenterX();
+        float centerY = geometry.getCenterY();
+
+        out.set(
+                centerX + Math.min(out.left * outerX, out.left * innerX),
+                centerY + Math.min(out.top * outerY, out.top * innerY),
+                centerX + Math.max(out.right * outerX, out.right * innerX),
+                centerY + Math.max(out.bottom * outerY, out.bottom * innerY)
+        );
+
+        // The not butt caps go over the sector limits.
+        // One more pixel for the anti alias.
+        float margin = 1.0f;
+        if (this.mStrokePaint.getStrokeCap() != Paint.Cap.BUTT) margin += this.mStrokeSize / 2;
+        out.inset(-margin, -margin);
+
+        // Return the bounds
+        return out;
+    }
+
+    // Find the length in pixels of the arc between the passed angles.
+    // Measured on the larger outer radius so it is the max distance moved on the canvas by the
+    // arc tip. When the arc is stretched the length cannot be calculated and will be infinite.
+    @SuppressWarnings("unused")
+    public float getArcLength(float fromAngle, float toAngle) {
+        // Check for the stretch mode
+        if (this.mFillingMode == ScArc.FillingMode.STRETCH) return Float.POSITIVE_INFINITY;
+
+        // Find the radius using the last drawn geometry if exists
+        ScArcGeometry geometry = this.mGeometry != null ? this.mGeometry : this.getGeometry();
+        float radius = Math.max(geometry.getRadiusX(), geometry.getRadiusY());
+
+        // Calc the length
+        return (float) Math.toRadians(Math.abs(toAngle - fromAngle)) * radius;
+    }
+
+    // Calc point position from relative angle in degrees.
+    // Note that the angle must be relative to the start angle defined by the settings and not
+    // intended as a global angle.
+    // The result will be written inside the passed point that will be returned.
+    @SuppressWarnings("unused")
+    public Point getPointFromAngle(float degrees, float radiusAdjust, Point out) {
+        // Get the geometry and adjust the radius by the passed value and the half stroke size
+        ScArcGeometry geometry = this.getGeometry();
+        float adjust = radiusAdjust + this.mStrokeSize / 2;
+
+        // Find the point by the angle relative at the start angle defined in the settings.
+        double rad = Math.toRadians(degrees + this.mAngleStart);
+        out.x = Math.round((geometry.getRadiusX() - adjust) * (float) Math.cos(rad) + geometry.getCenterX());
+        out.y = Math.round((geometry.getRadiusY() - adjust) * (float) Math.sin(rad) + geometry.getCenterY());
+
+        // Return the point
+        return out;
+    }
+
+    // Find the angle from position on the canvas.
+    // This method consider the angles limits settings and return a relative angle value within
+    // this limits.
+    @SuppressWarnings("unused")
+    public float getAngleFromPoint(float x, float y) {
+        // Get the geometry
+        ScArcGeometry geometry = this.getGeometry();
+
+        // Get angle from position
+        double angle = Math.atan2(
+                (y - geometry.getCenterY()) / (geometry.getRadiusY() * 2),
+                (x - geometry.getCenterX()) / (geometry.getRadiusX() * 2)
+        );
+
+        // Normalize the degrees angle by the start angle defined by the settings.
+        float degrees = (float) Math.toDegrees(angle) - this.mAngleStart;
+        // Check the angle limit and return the checked value
+        return this.angleRangeLimit(degrees, 0, this.mAngleSweep);
+    }
+
+    // Map a series of angles to the points on the arc.
+    // The angles must be relative to the start angle defined by the settings and the points
+    // will be written inside the output array as x, y couples keeping the float precision.
+    // The geometry is read once for all the angles and no new object will be created.
+    // Return the number of mapped points.
+    @SuppressWarnings("unused")
+    public int mapAnglesToPoints(float[] anglesIn, int count, float[] xyOut, float radiusAdjust) {
+        // Check for empty values
+        if (anglesIn == null || xyOut == null) return 0;
+        count = Math.min(count, Math.min(anglesIn.length, xyOut.length / 2));
+
+        // Get the geometry and adjust the radius by the passed value and the half stroke size
+        ScArcGeometry geometry = this.getGeometry();
+        float adjust = radiusAdjust + this.mStrokeSize / 2;
+        float radiusX = geometry.getRadiusX() - adjust;
+        float radiusY = geometry.getRadiusY() - adjust;
+        float centerX = geometry.getCenterX();
+        float centerY = geometry.getCenterY();
+
+        // Cycle all angles
+        for (int index = 0; index < count; index++) {
+            double rad = Math.toRadians(anglesIn[index] + this.mAngleStart);
+            xyOut[index * 2] = radiusX * (float) Math.cos(rad) + centerX;
+            xyOut[index * 2 + 1] = radiusY * (float) Math.sin(rad) + centerY;
+        }
+
+        // Return the mapped count
+        return count;
+    }
+
+    // Map a series of points, passed as x, y couples, to the angles on the arc.
+    // The angles written inside the output array are relative to the start angle defined by the
+    // settings and limited like in the getAngleFromPoint method.
+    // Return the number of mapped angles.
+    @SuppressWarnings("unused")
+    public int mapPointsToAngles(float[] xyIn, int count, float[] anglesOut) {
+        // Check for empty values
+        if (xyIn == null || anglesOut == null) return 0;
+        count = Math.min(count, Math.min(xyIn.length / 2, anglesOut.length));
+
+        // Get the geometry
+        ScArcGeometry geometry = this.getGeometry();
+        float diameterX = geometry.getRadiusX() * 2;
+        float diameterY = geometry.getRadiusY() * 2;
+        float centerX = geometry.getCenterX();
+        float centerY = geometry.getCenterY();
+
+        // Cycle all points
+        for (int index = 0; index < count; index++) {
+            // Get angle from position
+            double angle = Math.atan2(
+                    (xyIn[index * 2 + 1] - centerY) / diameterY,
+                    (xyIn[index * 2] - centerX) / diameterX
+            );
+
+            // Normalize the degrees angle by the start angle and check the limits
+            float degrees = (float) Math.toDegrees(angle) - this.mAngleStart;
+            anglesOut[index] = this.angleRangeLimit(degrees, 0, this.mAngleSweep);
+        }
+
+        // Return the mapped count
+        return count;
+    }
+
+    // Check if a point belongs to the arc
+    @SuppressWarnings("unused")
+    public boolean belongsToArc(float x, float y, float precision) {
+        // Find the angle from the passed point
+        ScArcGeometry geometry = this.getGeometry();
+        float angle = this.getAngleFromPoint(x, y);
+
+        // Get the point on the arc.
+        // Calculated here without the point object for not allocate memory on the touch events.
+        double rad = Math.toRadians(angle + this.mAngleStart);
+        float adjust = this.mStrokeSize / 2;
+        int pointX = Math.round((geometry.getRadiusX() - adjust) * (float) Math.cos(rad) + geometry.getCenterX());
+        int pointY = Math.round((geometry.getRadiusY() - adjust) * (float) Math.sin(rad) + geometry.getCenterY());
+
+        // Find the delta distance between the points and check if is inside a circle build on
+        // the precision radius.
+        return ScArc.pointInsideCircle(x - pointX, y - pointY, precision);
+    }
+
+    // Get the distance of a point from the center
+    @SuppressWarnings("unused")
+    public float getDistanceFromCenter(float x, float y) {
+        // Get the geometry
+        ScArcGeometry geometry = this.getGeometry();
+
+        // Return the calculated distance
+        return (float) Math.sqrt(
+                Math.pow(x - geometry.getCenterX(), 2) + Math.pow(y - geometry.getCenterY(), 2)
+        );
+    }
+
+    // Get the current gradient color by the passed angle
+    @SuppressWarnings("unused")
+    public int getCurrentGradientColor(float angle) {
+        // Check if have colors settled
+        if (this.mStrokeColors == null) return Color.TRANSPARENT;
+
+        // Limit the passed angle
+        angle = ScArc.valueRangeLimit(angle, 0, this.mAngleSweep);
+
+        // Check the limits
+        if (angle == this.mAngleSweep)
+            return this.mStrokeColors[this.mStrokeColors.length - 1];
+        if (angle == 0)
+            return this.mStrokeColors[0];
+
+        // Find the delta angle and the sector
+        float deltaAngle = this.mAngleSweep / this.mStrokeColors.length;
+        int sector = Math.round(angle / deltaAngle);
+
+        // Reduce the angle to be relative to the sector and find the fraction
+        float sectorAngle = angle - sector * deltaAngle;
+        float fraction = sectorAngle / deltaAngle;
+
+        // First color and last color
+        int firstColor = this.mStrokeColors[sector];
+        int lastColor = this.mStrokeColors[sector + 1];
+
+        // Return the color
+        return ScArc.interpolateColor(fraction, firstColor, lastColor);
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Start angle
+    @SuppressWarnings("unused")
+    public float getAngleStart() {
+        return this.mAngleStart;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAngleStart(float value) {
+        // Check if value is changed
+        if (this.mAngleStart != value) {
+            // Store the new value
+            this.mAngleStart = value;
+            // Check and update the areas
+            this.checkValues();
+            this.updateTrimmedArea();
+            this.resetGeometry();
+            this.changed();
+        }
+    }
+
+    // Sweep angle
+    @SuppressWarnings("unused")
+    public float getAngleSweep() {
+        return this.mAngleSweep;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAngleSweep(float value) {
+        // Check if value is changed
+        if (this.mAngleSweep != value) {
+            // Store the new value
+            this.mAngleDraw = this.mAngleSweep == this.mAngleDraw ? value : this.mAngleDraw;
+            this.mAngleSweep = value;
+            // Check and update the areas
+            this.checkValues();
+            this.updateTrimmedArea();
+            this.resetGeometry();
+            this.changed();
+        }
+    }
+
+    // Draw angle
+    @SuppressWarnings("unused")
+    public float getAngleDraw() {
+        return this.mAngleDraw;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAngleDraw(float value) {
+        // Check if value is changed
+        if (this.mAngleDraw != value) {
+            // Store the new value and check it
+            this.mAngleDraw = value;
+            this.checkValues();
+            this.changed();
+        }
+    }
+
+    // Stroke size
+    @SuppressWarnings("unused")
+    public float getStrokeSize() {
+        return this.mStrokeSize;
+    }
+
+    @SuppressWarnings("unused")
+    public void setStrokeSize(float value) {
+        // Check if value is changed
+        if (this.mStrokeSize != value) {
+            // Store the new value and check it
+            this.mStrokeSize = value;
+            this.checkValues();
+            // Fix the painter
+            this.mStrokePaint.setStrokeWidth(this.mStrokeSize);
+            this.resetGeometry();
+            this.changed();
+        }
+    }
+
+    // Stroke color
+    @SuppressWarnings("unused")
+    public int getStrokeColor() {
+        return this.mStrokeColor;
+    }
+
+    @SuppressWarnings("unused")
+    public void setStrokeColor(int value) {
+        // Check if value is changed
+        if (this.mStrokeColor != value) {
+            // Store the new value and reset the other
+            this.mStrokeColor = value;
+            this.mStrokeColors = null;
+            // Fix the painter
+            this.mStrokePaint.setColor(this.mStrokeColor);
+            this.changed();
+        }
+    }
+
+    // Create a gradient color and apply it to the stroke
+    @SuppressWarnings("unused")
+    public int[] getStrokesColors() {
+        return this.mStrokeColors;
+    }
+
+    @SuppressWarnings("unused")
+    public void setStrokeColors(int... values) {
+        this.mStrokeColors = values;
+        this.changed();
+    }
+
+    // Stroke type
+    @SuppressWarnings("unused")
+    public ScArc.StrokeTypes getStrokeType() {
+        return this.mStrokeType;
+    }
+
+    @SuppressWarnings("unused")
+    public void setStrokeType(ScArc.StrokeTypes value) {
+        // Check if value is changed
+        if (this.mStrokeType != value) {
+            this.mStrokeType = value;
+            this.changed();
+        }
+    }
+
+    // Max width
+    @SuppressWarnings("unused")
+    public int getMaxWidth() {
+        return this.mMaxWidth;
+    }
+
+    @SuppressWarnings("unused")
+    public void setMaxWidth(int value) {
+        // Check if value is changed
+        if (this.mMaxWidth != value) {
+            this.mMaxWidth = value;
+            this.checkValues();
+            this.changed();
+        }
+    }
+
+    // Max height
+    @SuppressWarnings("unused")
+    public int getMaxHeight() {
+        return this.mMaxHeight;
+    }
+
+    @SuppressWarnings("unused")
+    public void setMaxHeight(int value) {
+        // Check if value is changed
+        if (this.mMaxHeight != value) {
+            this.mMaxHeight = value;
+            this.checkValues();
+            this.changed();
+        }
+    }
+
+    // Area filling type
+    @SuppressWarnings("unused")
+    public ScArc.FillingArea getFillingArea() {
+        return this.mFillingArea;
+    }
+
+    @SuppressWarnings("unused")
+    public void setFillingArea(ScArc.FillingArea value) {
+        // Check if value is changed
+        if (this.mFillingArea != value) {
+            this.mFillingArea = value;
+            this.resetGeometry();
+            this.changed();
+        }
+    }
+
+    // Area filling mode
+    @SuppressWarnings("unused")
+    public ScArc.FillingMode getFillingMode() {
+        return this.mFillingMode;
+    }
+
+    @SuppressWarnings("unused")
+    public void setFillingMode(ScArc.FillingMode value) {
+        // Check if value is changed
+        if (this.mFillingMode != value) {
+            this.mFillingMode = value;
+            this.changed();
+        }
+    }
+
+    // Colors filling mode
+    @SuppressWarnings("unused")
+    public ScArc.FillingColors getFillingColors() {
+        return this.mFillingColors;
+    }
+
+    @SuppressWarnings("unused")
+    public void setFillingColors(ScArc.FillingColors value) {
+        // Check if value is changed
+        if (this.mFillingColors != value) {
+            this.mFillingColors = value;
+            this.changed();
+        }
+    }
+
+    // Solid colors filling engine.
+    // By default the SOLID colors filling use a hard stops gradient that not need any bitmap.
+    // Set to true for use the legacy engine that draw the colored pies on a bitmap.
+    @SuppressWarnings("unused")
+    public boolean getSolidFillingBitmap() {
+        return this.mSolidFillingBitmap;
+    }
+
+    @SuppressWarnings("unused")
+    public void setSolidFillingBitmap(boolean value) {
+        // Check if value is changed
+        if (this.mSolidFillingBitmap != value) {
+            this.mSolidFillingBitmap = value;
+            this.changed();
+        }
+    }
+
+}
@@ -0,0 +1,350 @@
+package com.sccomponents.widgets;
+
+import android.annotation.TargetApi;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.Settings;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Process-wide frame scheduler shared by all the components animations.
+ * <p/>
+ * All the active animations are advanced inside a single callback per vsync and the scheduler
+ * goes idle when nothing is moving. The time source can be replaced so the animations can be
+ * driven in a deterministic way, for example stepping the frames by hand in the tests.
+ * Must be used only from the main thread.
+ * v1.0.0
+ */
+public final class ScFrameScheduler {
+
+    /**
+     * Constants
+     */
+
+    // The frame delay used when the vsync is not available
+    private static final long FALLBACK_FRAME_DELAY = 16;
+
+    // How often the system animator duration scale is read again
+    private static final long DURATION_SCALE_REFRESH = 1000000000L;
+
+
+    /**
+     * Private variables
+     */
+
+    // Created with the class so the instance is safe to get from any thread
+    private static final ScFrameScheduler sInstance = new ScFrameScheduler();
+
+    // The callbacks removed inside a frame are replaced by null and the list is compacted at
+    // the frame end, so the removal not shift the list while it is cycled.
+    private final ArrayList<FrameCallback> mCallbacks = new ArrayList<>();
+    private int mActiveCount = 0;
+    private boolean mInFrame = false;
+
+    // Read from any thread by the value filters
+    private volatile Clock mClock;
+    private boolean mAutoSchedule = true;
+    private boolean mScheduled = false;
+    private Driver mDriver;
+
+    private float mDurationScale = 1.0f;
+    private long mDurationScaleTime = Long.MIN_VALUE;
+
+
+    /**
+     * Constructors
+     */
+
+    private ScFrameScheduler() {
+        // Only by the instance getter
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Ask for the next frame.
+    // The driver is created on the first request for use the vsync only when available.
+    private void schedule() {
+        // Check if needed
+        if (this.mScheduled || !this.mAutoSchedule || this.mActiveCount == 0) return;
+        this.mScheduled = true;
+
+        // Create the driver
+        if (this.mDriver == null) {
+            this.mDriver = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ?
+                    new VsyncDriver(this) : new HandlerDriver(this);
+        }
+
+        // Post
+        this.mDriver.post();
+    }
+
+    // Advance all the active callbacks to the passed time.
+    // The callbacks added inside the frame will run from the next one and the removed ones
+    // are skipped. The finished callbacks are released in a single pass at the frame end.
+    private void runFrame(long frameTimeNanos) {
+        // Not scheduled anymore
+        this.mScheduled = false;
+        this.mInFrame = true;
+
+        try {
+            // Cycle all the callbacks present at the frame start
+            int count = this.mCallbacks.size();
+            for (int index = 0; index < count; index++) {
+                // Check if removed by a previous one
+                FrameCallback callback = this.mCallbacks.get(index);
+                if (callback == null) continue;
+
+                // Run and release if finished.
+                // The callback can have removed itself inside the frame.
+                if (!callback.doFrame(frameTimeNanos) && this.mCallbacks.get(index) == callback) {
+                    this.mCallbacks.set(index, null);
+                    this.mActiveCount--;
+                }
+            }
+
+        } finally {
+            // Compact the list keeping the order
+            this.mInFrame = false;
+            int size = this.mCallbacks.size();
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                FrameCallback callback = this.mCallbacks.get(read);
+                if (callback != null) this.mCallbacks.set(write++, callback);
+            }
+            for (int index = size - 1; index >= write; index--) this.mCallbacks.remove(index);
+        }
+
+        // Ask for the next frame if something is still moving
+        this.schedule();
+    }
+
+
+    /**
+     * Static methods
+     */
+
+    // Get the shared instance
+    @SuppressWarnings("unused")
+    public static ScFrameScheduler getInstance() {
+        return ScFrameScheduler.sInstance;
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Add a callback that will be called on each frame until it return false.
+    // Adding a callback already running have no effect.
+    @SuppressWarnings("unused")
+    public void add(FrameCallback callback) {
+        if (callback == null || this.mCallbacks.contains(callback)) return;
+        this.mCallbacks.add(callback);
+        this.mActiveCount++;
+        this.schedule();
+    }
+
+    // Remove a callback
+    @SuppressWarnings("unused")
+    public void remove(FrameCallback callback) {
+        // Find the callback
+        int index = callback != null ? this.mCallbacks.indexOf(callback) : -1;
+        if (index == -1) return;
+
+        // Inside a frame only mark it as removed
+        if (this.mInFrame) this.mCallbacks.set(index, null);
+        else this.mCallbacks.remove(index);
+        this.mActiveCount--;
+    }
+
+    // Check if a callback is running
+    @SuppressWarnings("unused")
+    public boolean isRunning(FrameCallback callback) {
+        return callback != null && this.mCallbacks.contains(callback);
+    }
+
+    // Check if nothing is moving
+    @SuppressWarnings("unused")
+    public boolean isIdle() {
+        return this.mActiveCount == 0;
+    }
+
+    // The current time in nanoseconds.
+    // The animations must take their start time from here for be aligned with the frames time.
+    // Can be called from any thread, so the samples written from the background threads share
+    // the same time base of the UI thread ones.
+    @SuppressWarnings("unused")
+    public long now() {
+        Clock clock = this.mClock;
+        return clock != null ? clock.nanoTime() : System.nanoTime();
+    }
+
+    // Run a frame now using the current time.
+    // Used for step the animations by hand when the automatic scheduling is disabled.
+    @SuppressWarnings("unused")
+    public void doFrame() {
+        this.runFrame(this.now());
+    }
+
+
+    // Get the system animator duration scale.
+    // The scale is settled by the developer options or by the accessibility remove animations
+    // option and zero means that the animations are disabled. The setting is read again at most
+    // once per second.
+    @SuppressWarnings({"unused", "deprecation"})
+    public float getDurationScale(Context context) {
+        // Check if the cached value is still valid
+        long now = this.now();
+        if (this.mDurationScaleTime != Long.MIN_VALUE &&
+                now - this.mDurationScaleTime < ScFrameScheduler.DURATION_SCALE_REFRESH)
+            return this.mDurationScale;
+
+        // Read the setting
+        ContentResolver resolver = context.getContentResolver();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            this.mDurationScale = Settings.Global.getFloat(
+                    resolver, Settings.Global.ANIMATOR_DURATION_SCALE, 1.0f);
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            this.mDurationScale = Settings.System.getFloat(
+                    resolver, Settings.System.ANIMATOR_DURATION_SCALE, 1.0f);
+        }
+        this.mDurationScaleTime = now;
+        return this.mDurationScale;
+    }
+
+    // Scale an animation duration in milliseconds by the system animator duration scale.
+    // Return the duration in nanoseconds, zero if the animations are disabled.
+    @SuppressWarnings("unused")
+    public long getScaledDuration(Context context, long duration) {
+        return (long) (Math.max(duration, 0) * this.getDurationScale(context) * 1000000L);
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Time source.
+    // Pass null for use the system one. When a clock is settled the frames time will be read
+    // from it and not from the vsync.
+    @SuppressWarnings("unused")
+    public Clock getClock() {
+        return this.mClock;
+    }
+
+    @SuppressWarnings("unused")
+    public void setClock(Clock value) {
+        this.mClock = value;
+    }
+
+    // Automatic scheduling.
+    // When disabled no frame will be requested to the system and the frames must be run by
+    // calling doFrame.
+    @SuppressWarnings("unused")
+    public boolean getAutoSchedule() {
+        return this.mAutoSchedule;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAutoSchedule(boolean value) {
+        this.mAutoSchedule = value;
+        if (value) this.schedule();
+    }
+
+
+    /**
+     * Public listener and interface
+     */
+
+    // Time source in nanoseconds
+    @SuppressWarnings("unused")
+    public interface Clock {
+
+        long nanoTime();
+
+    }
+
+    // Frame callback.
+    // Return true for be called again on the next frame.
+    @SuppressWarnings("unused")
+    public interface FrameCallback {
+
+        boolean doFrame(long frameTimeNanos);
+
+    }
+
+
+    /**
+     * Drivers
+     */
+
+    // Request the frames to the system
+    private static abstract class Driver {
+
+        protected final ScFrameScheduler mScheduler;
+
+        Driver(ScFrameScheduler scheduler) {
+            this.mScheduler = scheduler;
+        }
+
+        // Run the frame using the injected clock if settled
+        protected void run(long frameTimeNanos) {
+            Clock clock = this.mScheduler.mClock;
+            this.mScheduler.runFrame(clock != null ? clock.nanoTime() : frameTimeNanos);
+        }
+
+        abstract void post();
+
+    }
+
+    // Vsync driver.
+    // Kept in a separated class for not load the choreographer on the old devices.
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class VsyncDriver extends Driver implements Choreographer.FrameCallback {
+
+        VsyncDriver(ScFrameScheduler scheduler) {
+            super(scheduler);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            this.run(frameTimeNanos);
+        }
+
+        @Override
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+    }
+
+    // Fallback driver for the devices without the vsync callbacks
+    private static class HandlerDriver extends Driver implements Runnable {
+
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        HandlerDriver(ScFrameScheduler scheduler) {
+            super(scheduler);
+        }
+
+        @Override
+        public void run() {
+            this.run(System.nanoTime());
+        }
+
+        @Override
+        void post() {
+            this.mHandler.postDelayed(this, ScFrameScheduler.FALLBACK_FRAME_DELAY);
+        }
+
+    }
+
+}
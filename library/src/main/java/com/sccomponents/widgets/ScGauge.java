@@ -1,27 +1,34 @@
 package com.sccomponents.widgets;
 
 import android.animation.Animator;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.DecelerateInterpolator;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Create a Gauge component.
  * v1.0.3
  */
 public class ScGauge
         extends ScWidget
-        implements ValueAnimator.AnimatorUpdateListener, ScNotchs.OnDrawListener {
+        implements ScNotchs.OnDrawListener, ValueAnimator.AnimatorUpdateListener {
 
     /**
      * Constants
@@ -36,6 +43,18 @@ public class ScGauge
     public static final float DEFAULT_PROGRESS_SIZE = 1.0f;
     public static final int DEFAULT_PROGRESS_COLOR = Color.GRAY;
 
+    private static final int LAYER_SIGNATURE_SIZE = 17;
+
+    // Pixels of base arc drawn under the progress tip when the overdraw is avoided.
+    // Cover the seam left by the two antialiased edges meeting at the same angle.
+    private static final float OVERDRAW_FREE_OVERLAP = 1.0f;
+
+    // The async value slot is empty
+    static final long ASYNC_EMPTY = -1L;
+    // The async value is a degrees value or a fraction of the sweep angle
+    static final long ASYNC_DEGREES = 0L;
+    static final long ASYNC_FRACTION = 1L;
+
 
     /**
      * Private attributes
@@ -62,16 +81,67 @@ public class ScGauge
      * Private variables
      */
 
+    private ScArcRenderer mBaseRenderer;
+    private ScArcRenderer mProgressRenderer;
+    private ScArcRenderer mNotchsRenderer;
+    private final ScArcRenderer[] mRenderers = new ScArcRenderer[3];
+
     private ScArc mArcBase;
     private ScArc mArcProgress;
     private ScArc mArcNotchs;
 
     private ValueAnimator mAnimator;
+    private float mAnimatorFrom;
+    private float mAnimatorTo;
+    private long mAnimatorStart;
+    private long mAnimatorDuration;
+    private boolean mHardwareLayerOnAnimation;
+    private int mSavedLayerType = -1;
+
+    private final Rect mBaseArcPadding = new Rect();
+    private final Rect mNotchsArcPadding = new Rect();
+    private final Rect mProgressArcPadding = new Rect();
     private boolean mDrawNotchsForLast;
 
+    private boolean mLayeredRendering;
+    private boolean mOverdrawFree;
+    private final RectF mCompositionBounds = new RectF();
+    private final RectF mProgressBounds = new RectF();
+    private final Rect mDirtyRect = new Rect();
+    private boolean mLayerDirty;
+    private Bitmap mLayerBitmap;
+    private Canvas mLayerCanvas;
+    private int[] mLayerSignature;
+    private int[] mLayerCurrentSignature;
+
+    private volatile ScValueFilter mValueFilter;
+
+    private float mInvalidateThreshold = ScArc.DEFAULT_INVALIDATE_THRESHOLD;
+    private float mInvalidatedAngle = Float.NaN;
+
+    private boolean mAttached = false;
+    private boolean mSuspended = true;
+    private boolean mSuspendedChange = false;
+    private boolean mSuspendOnFocusLoss = false;
+    private boolean mShownOnce = false;
+
+    private int mUpdateDepth = 0;
+    private boolean mUpdateLayout = false;
+    private boolean mUpdateInvalidate = false;
+
+    private final AtomicLong mAsyncValue = new AtomicLong(ScGauge.ASYNC_EMPTY);
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final AsyncConsumer mAsyncConsumer = new AsyncConsumer();
+    private final AnimationFrame mAnimationFrame = new AnimationFrame();
+
     private OnDrawListener mOnDrawListener;
     private OnCustomPaddingListener mOnCustomPaddingListener;
     private OnEventListener mOnEventListener;
+    private OnValueSettledListener mOnValueSettledListener;
+    private long mEventMinInterval;
+    private float mEventMinDelta;
+    private long mEventLastTime;
+    private float mEventLastValue = Float.NaN;
 
 
     /**
@@ -98,8 +168,8 @@ public class ScGauge
      * Privates methods
      */
 
-    // Initialize a ScArc object with the defined settings of components
-    private void arcObjectSetter(ScArc arc, boolean isProgress) {
+    // Initialize a renderer with the defined settings of components
+    private void arcObjectSetter(ScArcRenderer arc, boolean isProgress) {
         // Fill the settings
         arc.setAngleStart(this.mAngleStart);
         arc.setAngleSweep(this.mAngleSweep);
@@ -112,19 +182,58 @@ public class ScGauge
         }
 
         // Check if notchs instance
-        if (arc instanceof ScNotchs) {
+        if (arc instanceof ScNotchsRenderer) {
             // Cast to notchs
-            ScNotchs notchs = (ScNotchs) arc;
+            ScNotchsRenderer notchs = (ScNotchsRenderer) arc;
 
             // Set the particular notchs properties
             notchs.setStrokeSize(isProgress ? this.mProgressSize : this.mNotchsSize);
             notchs.setStrokeColor(isProgress ? this.mProgressColor : this.mNotchsColor);
             notchs.setNotchs(this.mNotchsCount);
             notchs.setNotchsLength(this.mNotchsLength);
-            notchs.setOnDrawListener(this);
         }
     }
 
+    // Link the notchs renderers to this component for forward the draw events.
+    // Link the listener only if needed because without it the notchs are drawn in batch.
+    // The notch info passed to the listener hold the source view so, when linked, the
+    // wrappers of the renderers must exist.
+    private void linkNotchsListener() {
+        // Cycle all renderers
+        boolean linked = this.mOnDrawListener != null;
+        for (ScArcRenderer renderer : this.getRenderers()) {
+            // Check for notchs class
+            if (renderer instanceof ScNotchsRenderer) {
+                // Cast and setting
+                ((ScNotchsRenderer) renderer).setOnDrawListener(linked ? this : null);
+            }
+        }
+
+        // Create the wrappers
+        if (linked) {
+            this.getBaseArc();
+            this.getNotchsArc();
+            this.getProgressArc();
+        }
+    }
+
+    // Create the view that wrap a renderer.
+    // The view is created only when requested by the public methods.
+    private ScArc wrapRenderer(ScArcRenderer renderer) {
+        return renderer instanceof ScNotchsRenderer ?
+                new ScNotchs(this.getContext(), (ScNotchsRenderer) renderer) :
+                new ScArc(this.getContext(), renderer);
+    }
+
+    // Set the visibility of an arc.
+    // If the wrapper view exists the visibility will be applied to it.
+    private void showArc(ScArcRenderer renderer, ScArc arc, boolean visible) {
+        if (arc != null)
+            arc.setVisibility(visible ? View.VISIBLE : View.INVISIBLE);
+        else
+            renderer.setVisible(visible);
+    }
+
     // Round the degree angle to the near notch value
     private float snapToNotchs(float degrees) {
         // Calc the delta angle and the middle stroke
@@ -133,6 +242,272 @@ public class ScGauge
         return Math.round(degrees / deltaAngle) * deltaAngle;
     }
 
+    // Move the progress directly to the passed value without animation.
+    // The running animation will be stopped.
+    private void jumpToValue(float degrees) {
+        // Stop the animation
+        ScFrameScheduler.getInstance().remove(this.mAnimationFrame);
+        this.stopHardwareLayer();
+
+        // The previous samples are not valid anymore
+        ScValueFilter filter = this.mValueFilter;
+        if (filter != null) {
+            synchronized (filter) {
+                filter.reset();
+            }
+        }
+
+        // Check for snap to notchs and limit the value
+        if (this.mSnapToNotchs && this.mNotchsCount > 0)
+            degrees = this.snapToNotchs(degrees);
+        degrees = ScGauge.valueRangeLimit(degrees, 0, this.mAngleSweep);
+
+        // Apply
+        this.mAngleDraw = degrees;
+        this.mAnimatorFrom = degrees;
+        this.mAnimatorTo = degrees;
+        this.mProgressRenderer.setAngleDraw(degrees);
+        this.mInvalidatedAngle = Float.NaN;
+        this.mSuspendedChange = false;
+    }
+
+    // Move the progress to a new value in degrees animating it if needed
+    private void moveToValue(float degrees) {
+        // Check for snap to notchs the new degrees value
+        if (this.mSnapToNotchs) {
+            // Round at the closed notchs value
+            degrees = this.snapToNotchs(degrees);
+        }
+
+        // Check if value is changed
+        if (this.mAngleDraw != degrees) {
+            // Save the new value
+            this.mAngleDraw = degrees;
+            // Animate from the current drawn position
+            this.mAnimatorFrom = this.mProgressRenderer.getAngleDraw();
+            this.mAnimatorTo = ScGauge.valueRangeLimit(degrees, 0, this.mAngleSweep);
+
+            // If nobody can see the gauge the value will be applied on resume
+            if (this.mSuspended) {
+                this.mSuspendedChange = true;
+                return;
+            }
+
+            // Animate
+            this.startAnimation();
+        }
+    }
+
+    // Start the animation from the current animator values
+    private void startAnimation() {
+        // Find the duration scaled by the system animator duration scale
+        ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+        this.mAnimatorDuration = scheduler.getScaledDuration(
+                this.getContext(), this.mAnimator.getDuration());
+
+        // Without duration, or with the animations disabled by the system, move directly
+        if (this.mAnimatorDuration <= 0) {
+            scheduler.remove(this.mAnimationFrame);
+            this.applyAnimatedValue(this.mAnimatorTo, true);
+            this.notifyValueSettled(this.mAnimatorTo);
+            return;
+        }
+
+        // Start the animation
+        this.mAnimatorStart = scheduler.now();
+        this.startHardwareLayer();
+        scheduler.add(this.mAnimationFrame);
+    }
+
+    // Check if the gauge can be seen and suspend or resume the animation.
+    // The gauge is suspended when detached, not shown or, if requested, when its window have not
+    // the focus. While suspended the value changes are only stored and on resume the progress
+    // jump directly to the latest value. The first time the gauge is shown the values settled
+    // before, like inside the activity creation, are animated as usual.
+    private void updateSuspension() {
+        // The view visibility can be notified by the super constructor before the init
+        if (this.mProgressRenderer == null) return;
+
+        // Find the new status
+        boolean suspended = !this.mAttached || !this.isShown() ||
+                this.getWindowVisibility() != View.VISIBLE ||
+                (this.mSuspendOnFocusLoss && !this.hasWindowFocus());
+
+        // Check if changed
+        if (this.mSuspended == suspended) return;
+        this.mSuspended = suspended;
+
+        // Suspend
+        if (suspended) {
+            // Stop the animation leaving the final value to apply on resume
+            ScFrameScheduler scheduler = ScFrameScheduler.getInstance();
+            if (scheduler.isRunning(this.mAnimationFrame)) {
+                scheduler.remove(this.mAnimationFrame);
+                this.mSuspendedChange = true;
+            }
+            this.stopHardwareLayer();
+            return;
+        }
+
+        // Check for changes
+        boolean firstShow = !this.mShownOnce;
+        this.mShownOnce = true;
+        if (!this.mSuspendedChange) return;
+        this.mSuspendedChange = false;
+
+        // The first time animate from the initial value
+        if (firstShow) {
+            this.mAnimatorFrom = this.mProgressRenderer.getAngleDraw();
+            this.startAnimation();
+            return;
+        }
+
+        // Resume jumping to the latest value
+
+        float degrees = this.mAnimatorTo;
+        this.mAnimatorFrom = degrees;
+        this.mProgressRenderer.setAngleDraw(degrees);
+        this.mInvalidatedAngle = Float.NaN;
+        this.invalidate();
+
+        // Notify
+        this.notifyValueChange(degrees, true);
+        this.notifyValueSettled(degrees);
+    }
+
+    // Pack the value type and the value inside the async slot format.
+    // The slot hold the value type on the upper bits and the float bits on the lower ones.
+    static long packAsyncValue(long type, float value) {
+        return (type << 32) | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+    }
+
+    // Unpack the value type from the async slot format
+    static long unpackAsyncType(long packed) {
+        return packed >>> 32;
+    }
+
+    // Unpack the value from the async slot format
+    static float unpackAsyncValue(long packed) {
+        return Float.intBitsToFloat((int) packed);
+    }
+
+    // Write the value inside the async slot.
+    // Only the writer that find the slot empty schedule the consumer so, whatever the number
+    // of writes, the value will be applied once per frame.
+    private void postAsyncValue(long type, float value) {
+        long packed = ScGauge.packAsyncValue(type, value);
+        if (this.mAsyncValue.getAndSet(packed) != ScGauge.ASYNC_EMPTY) return;
+
+        // Consume on the UI thread with the next frame
+        this.mMainHandler.post(this.mAsyncConsumer);
+    }
+
+    // Filter a value and write it inside the async slot.
+    // The filter run on the calling thread before the merge so it see all the samples with their
+    // own time. The fraction values are translated in degrees for be filtered.
+    private void postFilteredValue(long type, float value, long timeNanos) {
+        // Check for the filter
+        ScValueFilter filter = this.mValueFilter;
+        if (filter != null) {
+            // Translate in degrees
+            if (type == ScGauge.ASYNC_FRACTION) {
+                value *= this.mAngleSweep;
+                type = ScGauge.ASYNC_DEGREES;
+            }
+
+            // Filter and check if the sample was dropped.
+            // The filters are not thread safe and the writers can be many.
+            synchronized (filter) {
+                value = filter.filter(value, timeNanos);
+            }
+            if (Float.isNaN(value)) return;
+        }
+
+        // Post
+        this.postAsyncValue(type, value);
+    }
+
+    // Apply the latest async value.
+    // Called on the UI thread by the frame scheduler. The value is already filtered.
+    private void consumeAsyncValue() {
+        // Get and clear the slot
+        long packed = this.mAsyncValue.getAndSet(ScGauge.ASYNC_EMPTY);
+        if (packed == ScGauge.ASYNC_EMPTY) return;
+
+        // Unpack
+        float value = ScGauge.unpackAsyncValue(packed);
+        if (ScGauge.unpackAsyncType(packed) == ScGauge.ASYNC_FRACTION) value *= this.mAngleSweep;
+
+        // Apply
+        this.moveToValue(value);
+    }
+
+    // Move the progress to an animated value.
+    // Refresh only the changed sector and notify the listener. If not settled the refresh is
+    // skipped while the progress tip moved less than the threshold pixels from the last
+    // refreshed angle.
+    private void applyAnimatedValue(float degrees, boolean settled) {
+        // Set the value and find the last refreshed angle
+        float previous = this.mProgressRenderer.getAngleDraw();
+        this.mProgressRenderer.setAngleDraw(degrees);
+        float current = this.mProgressRenderer.getAngleDraw();
+        if (Float.isNaN(this.mInvalidatedAngle)) this.mInvalidatedAngle = previous;
+
+        // Refresh only the changed sector if visible
+        if (settled || this.mProgressRenderer.getArcLength(this.mInvalidatedAngle, current) >=
+                this.mInvalidateThreshold) {
+            this.invalidateValueChange(this.mInvalidatedAngle, current);
+            this.mInvalidatedAngle = current;
+        }
+
+        // Manage the listener
+        this.notifyValueChange(degrees, false);
+    }
+
+    // Notify the value change to the listener.
+    // If not forced the event is dropped when it come too early or the value is moved less
+    // than the min delta from the last notified one.
+    private void notifyValueChange(float degrees, boolean force) {
+        // Check for empty values
+        if (this.mOnEventListener == null) return;
+
+        // Check the rate and the delta
+        long now = ScFrameScheduler.getInstance().now();
+        if (!Float.isNaN(this.mEventLastValue)) {
+            if (force) {
+                // The final value is notified only if not already done
+                if (this.mEventLastValue == degrees) return;
+            } else {
+                if (now - this.mEventLastTime < this.mEventMinInterval) return;
+                if (Math.abs(degrees - this.mEventLastValue) < this.mEventMinDelta) return;
+            }
+        }
+
+        // Notify
+        this.mEventLastTime = now;
+        this.mEventLastValue = degrees;
+        this.mOnEventListener.onValueChange(degrees);
+    }
+
+    // Notify that the progress is arrived to its final value.
+    // The last value is always delivered to the throttled listener before.
+    private void notifyValueSettled(float degrees) {
+        // Deliver the final value if was throttled
+        if (this.mEventMinInterval > 0 || this.mEventMinDelta > 0)
+            this.notifyValueChange(degrees, true);
+
+        // Settled
+        if (this.mOnValueSettledListener != null)
+            this.mOnValueSettledListener.onValueSettled(degrees);
+    }
+
+    // Read the attributes of the inherited class.
+    // Called by the constructor with the same spec used by this class so the attributes are
+    // resolved only once. Note that it is called before the class variables initialization.
+    protected void onReadAttributes(ScStyleSpec spec) {
+        // Do nothing
+    }
+
     // Init the component.
     // Retrieve all attributes with the default values if needed and create the internal using
     // objects.
@@ -140,42 +515,42 @@ public class ScGauge
         //--------------------------------------------------
         // ATTRIBUTES
 
-        // Get the attributes list
-        final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.ScComponents, defStyle, 0);
+        // Get the resolved attributes.
+        // The spec is shared with the other widgets that use the same style.
+        final ScStyleSpec spec = ScStyleSpec.obtain(context, attrs, defStyle);
 
         // Read all attributes from xml and assign the value to linked variables
-        this.mAngleStart = attrArray.getFloat(
+        this.mAngleStart = spec.getFloat(
                 R.styleable.ScComponents_scc_angle_start, ScGauge.DEFAULT_ANGLE_START);
-        this.mAngleSweep = attrArray.getFloat(
+        this.mAngleSweep = spec.getFloat(
                 R.styleable.ScComponents_scc_angle_sweep, ScGauge.DEFAULT_ANGLE_SWEEP);
 
-        this.mStrokeSize = attrArray.getDimension(
+        this.mStrokeSize = spec.getDimension(
                 R.styleable.ScComponents_scc_stroke_size, this.dipToPixel(ScGauge.DEFAULT_STROKE_SIZE));
-        this.mStrokeColor = attrArray.getColor(
+        this.mStrokeColor = spec.getColor(
                 R.styleable.ScComponents_scc_stroke_color, ScGauge.DEFAULT_STROKE_COLOR);
 
-        this.mProgressSize = attrArray.getDimension(
+        this.mProgressSize = spec.getDimension(
                 R.styleable.ScComponents_scc_progress_size, this.dipToPixel(ScGauge.DEFAULT_PROGRESS_SIZE));
-        this.mProgressColor = attrArray.getColor(
+        this.mProgressColor = spec.getColor(
                 R.styleable.ScComponents_scc_progress_color, ScGauge.DEFAULT_PROGRESS_COLOR);
 
-        this.mNotchsSize = attrArray.getDimension(
+        this.mNotchsSize = spec.getDimension(
                 R.styleable.ScComponents_scc_notchs_size, this.dipToPixel(ScGauge.DEFAULT_STROKE_SIZE));
-        this.mNotchsColor = attrArray.getColor(
+        this.mNotchsColor = spec.getColor(
                 R.styleable.ScComponents_scc_notchs_color, ScGauge.DEFAULT_STROKE_COLOR);
-        this.mNotchsCount = attrArray.getInt(
+        this.mNotchsCount = spec.getInt(
                 R.styleable.ScComponents_scc_notchs, 0);
-        this.mNotchsLength = attrArray.getDimension(
+        this.mNotchsLength = spec.getDimension(
                 R.styleable.ScComponents_scc_notchs_length, this.mStrokeSize * 2);
-        this.mSnapToNotchs = attrArray.getBoolean(
+        this.mSnapToNotchs = spec.getBoolean(
                 R.styleable.ScComponents_scc_snap_to_notchs, false);
 
-        this.mAngleDraw = attrArray.getFloat(
+        this.mAngleDraw = spec.getFloat(
                 R.styleable.ScComponents_scc_value, 0);
 
-
-        // Recycle
-        attrArray.recycle();
+        // Let the inherited class read its own attributes from the same spec
+        this.onReadAttributes(spec);
 
         // INTERNAL
         //--------------------------------------------------
@@ -189,32 +564,31 @@ public class ScGauge
         //--------------------------------------------------
         // ARCS
 
+        // The arcs are plain renderers drawn directly on this component canvas.
+        // The views that wrap them will be created only if requested.
+
         // Base arc
-        this.mArcBase = new ScArc(context);
-        this.arcObjectSetter(this.mArcBase, false);
+        this.mBaseRenderer = new ScArcRenderer(context);
+        this.arcObjectSetter(this.mBaseRenderer, false);
 
         // Notchs
-        this.mArcNotchs = new ScNotchs(context);
-        this.arcObjectSetter(this.mArcNotchs, false);
+        this.mNotchsRenderer = new ScNotchsRenderer(context);
+        this.arcObjectSetter(this.mNotchsRenderer, false);
 
         // Progress arc.
         // The last one is ALWAYS the progress one.
-        this.mArcProgress = new ScArc(context);
-        this.arcObjectSetter(this.mArcProgress, true);
+        this.mProgressRenderer = new ScArcRenderer(context);
+        this.arcObjectSetter(this.mProgressRenderer, true);
+        this.updateRenderers();
 
         //--------------------------------------------------
         // ANIMATOR
 
+        // The animator only hold the duration and the interpolator settings.
+        // The frames are driven by the shared scheduler.
         this.mAnimator = new ValueAnimator();
         this.mAnimator.setDuration(0);
         this.mAnimator.setInterpolator(new DecelerateInterpolator());
-        this.mAnimator.addUpdateListener(this);
-    }
-
-    // Get the size in relation at the type
-    private float getStrokeSize(ScArc object) {
-        return object instanceof ScNotchs ?
-                ((ScNotchs) object).getNotchsLength() : object.getStrokeSize();
     }
 
     // Find the maximum stroke size.
@@ -223,11 +597,38 @@ public class ScGauge
     // padding.
     protected float findMaxStrokeSize() {
         // Consider all the arcs
-        return ScGauge.findMaxValue(
-                this.getStrokeSize(this.mArcBase),
-                this.getStrokeSize(this.mArcNotchs),
-                this.getStrokeSize(this.mArcProgress)
-        );
+        return ScArcRenderer.findMaxLayoutSize(
+                this.mBaseRenderer, this.mNotchsRenderer, this.mProgressRenderer);
+    }
+
+    // Move the gauge to an hardware layer for the animation duration.
+    // The current layer type is saved to be restored at the end.
+    private void startHardwareLayer() {
+        // Check if enabled or already started
+        if (!this.mHardwareLayerOnAnimation || this.mSavedLayerType != -1) return;
+
+        // Save the current layer type and change it
+        this.mSavedLayerType = this.getLayerType();
+        if (this.mSavedLayerType != View.LAYER_TYPE_HARDWARE)
+            this.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    }
+
+    // Restore the original layer type
+    private void stopHardwareLayer() {
+        // Check if started
+        if (this.mSavedLayerType == -1) return;
+
+        // Restore
+        if (this.getLayerType() != this.mSavedLayerType)
+            this.setLayerType(this.mSavedLayerType, null);
+        this.mSavedLayerType = -1;
+    }
+
+    // Find the margin to add to the progress sector bounds when the value change.
+    // The inherited class that draw something over the progress, like a pointer, must override
+    // this method to be sure the refreshed area contain it.
+    protected float getValueChangeMargin() {
+        return 0.0f;
     }
 
     // Fix the arcs padding.
@@ -236,13 +637,17 @@ public class ScGauge
     // Note that if have a custom padding listener linked the procedure will be bypassed and
     // the user should setting.
     private void fixArcsPadding() {
-        // Define the padding holder
-        Rect baseArc = new Rect(
+        // Define the padding holder.
+        // The holders are reused on each measure for not allocate memory.
+        Rect baseArc = this.mBaseArcPadding;
+        baseArc.set(
                 this.getPaddingLeft(), this.getPaddingTop(),
                 this.getPaddingRight(), this.getPaddingBottom()
         );
-        Rect notchsArc = new Rect(baseArc);
-        Rect progressArc = new Rect(baseArc);
+        Rect notchsArc = this.mNotchsArcPadding;
+        notchsArc.set(baseArc);
+        Rect progressArc = this.mProgressArcPadding;
+        progressArc.set(baseArc);
 
         // If have instantiate the customer padding listener the padding will be decided by
         // the final user inside the calling function
@@ -255,9 +660,9 @@ public class ScGauge
             float maxSize = this.findMaxStrokeSize();
 
             // Calc the padding by the case for both arcs
-            int basePadding = Math.round((maxSize - this.getStrokeSize(this.mArcBase)) / 2);
-            int notchsPadding = Math.round((maxSize - this.getStrokeSize(this.mArcNotchs)) / 2);
-            int progressPadding = Math.round((maxSize - this.getStrokeSize(this.mArcProgress)) / 2);
+            int basePadding = this.mBaseRenderer.getCenteringPadding(maxSize);
+            int notchsPadding = this.mNotchsRenderer.getCenteringPadding(maxSize);
+            int progressPadding = this.mProgressRenderer.getCenteringPadding(maxSize);
 
             // Increase all points of the relating calculated padding
             baseArc.offset(basePadding, basePadding);
@@ -266,20 +671,229 @@ public class ScGauge
         }
 
         // Apply the padding to the related arc
-        this.mArcBase.setPadding(
+        this.mBaseRenderer.setPadding(
                 baseArc.left, baseArc.top, baseArc.right, baseArc.bottom
         );
-        this.mArcNotchs.setPadding(
+        this.mNotchsRenderer.setPadding(
                 notchsArc.left, notchsArc.top, notchsArc.right, notchsArc.bottom
         );
-        this.mArcProgress.setPadding(
+        this.mProgressRenderer.setPadding(
                 progressArc.left, progressArc.top, progressArc.right, progressArc.bottom
         );
     }
 
-    // Get the arcs that compose this component.
-    private ScArc[] getArcs() {
-        return new ScArc[]{this.mArcBase, this.mArcNotchs, this.mArcProgress};
+    // Update the renderers holder.
+    // Must be called every time the renderers instances change.
+    private void updateRenderers() {
+        this.mRenderers[0] = this.mBaseRenderer;
+        this.mRenderers[1] = this.mNotchsRenderer;
+        this.mRenderers[2] = this.mProgressRenderer;
+    }
+
+    // Get the renderers that compose this component.
+    // Note that the array is shared so must never be modified.
+    private ScArcRenderer[] getRenderers() {
+        return this.mRenderers;
+    }
+
+    // Draw an arc only if visible
+    private void drawArc(Canvas canvas, ScArcRenderer arc) {
+        if (arc.isVisible()) arc.draw(canvas);
+    }
+
+    // Invalidate only the area changed by moving the progress between the passed angles.
+    // If the draw listener is linked the painters can change on each frame so all the component
+    // will be refreshed.
+    private void invalidateValueChange(float fromAngle, float toAngle) {
+        // Check for the listener
+        if (this.mOnDrawListener != null) {
+            this.invalidate();
+            return;
+        }
+
+        // Find the bounds of the changed sector adding the margin
+        float margin = this.getValueChangeMargin();
+        this.mProgressRenderer.getSectorBounds(fromAngle, toAngle, this.mProgressBounds);
+        if (this.mProgressBounds.isEmpty()) return;
+        this.mProgressBounds.inset(-margin, -margin);
+
+        // Refresh
+        this.mProgressBounds.roundOut(this.mDirtyRect);
+        this.invalidate(
+                this.mDirtyRect.left, this.mDirtyRect.top,
+                this.mDirtyRect.right, this.mDirtyRect.bottom);
+    }
+
+    // Check if the progress arc cover exactly the base arc.
+    // Only in this case the base arc can be drawn only on the complementary sweep without change
+    // the gauge appearance: both must be simple arcs drawn as lines without caps over the sector
+    // limits, the progress must be opaque, colors included, and at least large as the base and
+    // the padding must be the automatic one that center the strokes.
+    private boolean canDrawOverdrawFree() {
+        // Check the arcs types
+        ScArcRenderer base = this.mBaseRenderer;
+        ScArcRenderer progress = this.mProgressRenderer;
+        if (base instanceof ScNotchsRenderer || progress instanceof ScNotchsRenderer) return false;
+
+        // Check the settings
+        return this.mOnCustomPaddingListener == null &&
+                progress.isVisible() &&
+                base.getStrokeType() == ScArc.StrokeTypes.LINE &&
+                progress.getStrokeType() == ScArc.StrokeTypes.LINE &&
+                base.getFillingMode() == ScArc.FillingMode.DRAW &&
+                progress.getFillingMode() == ScArc.FillingMode.DRAW &&
+                base.getPainter().getStrokeCap() == Paint.Cap.BUTT &&
+                progress.getPainter().getStrokeCap() == Paint.Cap.BUTT &&
+                progress.isOpaque() &&
+                progress.getStrokeSize() >= base.getStrokeSize();
+    }
+
+    // Draw the arcs without overdraw.
+    // The base arc is drawn only over the sweep not covered by the progress and all the drawing
+    // is clipped to the arcs bounds.
+    private void drawOverdrawFree(Canvas canvas) {
+        // Find the bounds of the arcs
+        this.mBaseRenderer.getSectorBounds(
+                0, this.mBaseRenderer.getAngleSweep(), this.mCompositionBounds);
+        this.mProgressRenderer.getSectorBounds(
+                0, this.mProgressRenderer.getAngleSweep(), this.mProgressBounds);
+        this.mCompositionBounds.union(this.mProgressBounds);
+
+        // Start the base arc a little before the progress end so the antialiased edges overlap,
+        // without go over the arc start.
+        float offset = this.mProgressRenderer.getAngleDraw();
+        float overlap = this.mBaseRenderer.getArcAngle(ScGauge.OVERDRAW_FREE_OVERLAP);
+        offset = offset > 0 ? Math.max(offset - overlap, 0.0f) : Math.min(offset + overlap, 0.0f);
+
+        // Clip and draw starting the base arc where the progress end
+        canvas.save();
+        canvas.clipRect(this.mCompositionBounds);
+        this.mBaseRenderer.setDrawOffset(offset);
+
+        this.drawArc(canvas, this.mBaseRenderer);
+        if (this.mDrawNotchsForLast) {
+            this.drawArc(canvas, this.mProgressRenderer);
+            this.drawArc(canvas, this.mNotchsRenderer);
+
+        } else {
+            this.drawArc(canvas, this.mNotchsRenderer);
+            this.drawArc(canvas, this.mProgressRenderer);
+        }
+
+        // Restore
+        this.mBaseRenderer.setDrawOffset(0.0f);
+        canvas.restore();
+    }
+
+
+    // Write the signature of a painter inside the holder starting from the passed position.
+    // Return the next free position.
+    private int writePaintSignature(int[] holder, int position, Paint paint) {
+        holder[position++] = paint.getColor();
+        holder[position++] = paint.getAlpha();
+        holder[position++] = Float.floatToIntBits(paint.getStrokeWidth());
+        holder[position++] = paint.getStrokeCap().ordinal();
+        holder[position++] = paint.getStyle().ordinal();
+        return position;
+    }
+
+    // Write the signature of the static layer.
+    // The signature contain all the values that can change the layer appearance: the dimensions,
+    // the changes count and the visibility of the static arcs and the painters settings.
+    private void writeLayerSignature(int[] holder, int width, int height) {
+        int position = 0;
+        holder[position++] = width;
+        holder[position++] = height;
+        holder[position++] = this.mDrawNotchsForLast ? 1 : 0;
+        holder[position++] = this.mBaseRenderer.getChangesCount();
+        holder[position++] = this.mBaseRenderer.isVisible() ? 1 : 0;
+        holder[position++] = this.mNotchsRenderer.getChangesCount();
+        holder[position++] = this.mNotchsRenderer.isVisible() ? 1 : 0;
+        position = this.writePaintSignature(holder, position, this.mBaseRenderer.getPainter());
+        this.writePaintSignature(holder, position, this.mNotchsRenderer.getPainter());
+    }
+
+    // Release the static layer
+    private void releaseStaticLayer() {
+        // Check for empty values
+        if (this.mLayerBitmap != null) {
+            this.mLayerBitmap.recycle();
+        }
+
+        // Reset
+        this.mLayerBitmap = null;
+        this.mLayerCanvas = null;
+        this.mLayerSignature = null;
+    }
+
+    // Draw the static layer.
+    // The base arc and the notchs (if not must be drawn for last) not change during the value
+    // animation so are rendered once inside a bitmap that will be drawn on the canvas.
+    // The layer will be rendered again only when its signature changes.
+    private void drawStaticLayer(Canvas canvas) {
+        // Get the dimensions
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+
+        // Find the current signature and check if the layer must be rendered again
+        if (this.mLayerCurrentSignature == null)
+            this.mLayerCurrentSignature = new int[ScGauge.LAYER_SIGNATURE_SIZE];
+        this.writeLayerSignature(this.mLayerCurrentSignature, width, height);
+
+        if (this.mLayerDirty || this.mLayerBitmap == null ||
+                !Arrays.equals(this.mLayerSignature, this.mLayerCurrentSignature)) {
+            // Create the bitmap only if the dimensions changed
+            if (this.mLayerBitmap == null ||
+                    this.mLayerBitmap.getWidth() != width || this.mLayerBitmap.getHeight() != height) {
+                // Release the old one and create the new one
+                this.releaseStaticLayer();
+                this.mLayerBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+                this.mLayerCanvas = new Canvas(this.mLayerBitmap);
+
+            } else {
+                // Clear the old rendering
+                this.mLayerBitmap.eraseColor(Color.TRANSPARENT);
+            }
+
+            // Render the static arcs
+            this.drawArc(this.mLayerCanvas, this.mBaseRenderer);
+            if (!this.mDrawNotchsForLast)
+                this.drawArc(this.mLayerCanvas, this.mNotchsRenderer);
+
+            // Swap the signatures holders
+            int[] swap = this.mLayerSignature != null ?
+                    this.mLayerSignature : new int[ScGauge.LAYER_SIGNATURE_SIZE];
+            this.mLayerSignature = this.mLayerCurrentSignature;
+            this.mLayerCurrentSignature = swap;
+            this.mLayerDirty = false;
+        }
+
+        // Draw the layer
+        canvas.drawBitmap(this.mLayerBitmap, 0, 0, null);
+    }
+
+    // On animation frame.
+    // Called by the shared scheduler on each frame until the animation end.
+    private boolean doAnimationFrame(long frameTimeNanos) {
+        // Find the animation fraction
+        long duration = this.mAnimatorDuration;
+        long elapsed = Math.max(frameTimeNanos - this.mAnimatorStart, 0);
+        float fraction = duration > 0 ? Math.min((float) elapsed / duration, 1.0f) : 1.0f;
+
+        // Apply the interpolator
+        TimeInterpolator interpolator = this.mAnimator.getInterpolator();
+        float interpolated = interpolator != null ? interpolator.getInterpolation(fraction) : fraction;
+
+        // Move the progress
+        this.applyAnimatedValue(
+                this.mAnimatorFrom + (this.mAnimatorTo - this.mAnimatorFrom) * interpolated,
+                fraction >= 1.0f);
+
+        // Check for the end of the animation
+        if (fraction < 1.0f) return true;
+        this.stopHardwareLayer();
+        this.notifyValueSettled(this.mAnimatorTo);
+        return false;
     }
 
 
@@ -287,25 +901,61 @@ public class ScGauge
      * Overrides
      */
 
+    // Request a layout pass.
+    // Inside an update transaction the request is held until the transaction end.
+    @Override
+    public void requestLayout() {
+        if (this.mUpdateDepth > 0) {
+            this.mUpdateLayout = true;
+            return;
+        }
+        super.requestLayout();
+    }
+
+    // Refresh the component.
+    // Inside an update transaction the refresh is held until the transaction end and the
+    // partial refreshes become a single full one.
+    @Override
+    public void invalidate() {
+        if (this.mUpdateDepth > 0) {
+            this.mUpdateInvalidate = true;
+            return;
+        }
+        super.invalidate();
+    }
+
+    @Override
+    public void invalidate(int left, int top, int right, int bottom) {
+        if (this.mUpdateDepth > 0) {
+            this.mUpdateInvalidate = true;
+            return;
+        }
+        super.invalidate(left, top, right, bottom);
+    }
+
     // On measure
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         // Fix arcs the padding
         this.fixArcsPadding();
 
+        // Layout wrapping
+        boolean hWrap = this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT;
+        boolean vWrap = this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT;
+
+        // The suggested dimensions of the arcs
+        int width = View.getDefaultSize(0, widthMeasureSpec);
+        int height = View.getDefaultSize(0, heightMeasureSpec);
+
         // Cycle all arcs and do the common operations like apply the parent layout and measure
         // the arc.
         // It is important to call measure for all arcs before draw in the onDraw method.
-        for (ScArc arc : this.getArcs()) {
+        for (ScArcRenderer arc : this.getRenderers()) {
             // Apply the parent layout and measure the arc
-            arc.setLayoutParams(this.getLayoutParams());
-            arc.measure(widthMeasureSpec, heightMeasureSpec);
+            arc.setWrap(hWrap, vWrap);
+            arc.measure(width, height);
         }
 
-        // Layout wrapping
-        boolean hWrap = this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT;
-        boolean vWrap = this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT;
-
         // If no have wrapping just call the super class method and finish the procedure
         if (!hWrap && !vWrap) {
             super.onMeasure(widthMeasureSpec, heightMeasureSpec);
@@ -319,13 +969,13 @@ public class ScGauge
                     vWrap ? 0 : View.getDefaultSize(this.getSuggestedMinimumHeight(), heightMeasureSpec);
 
             // Cycle all arcs and check for update the component dimensions
-            for (ScArc arc : this.getArcs()) {
+            for (ScArcRenderer arc : this.getRenderers()) {
                 // Horizontal wrap
-                if (hWrap && maxWidth < arc.getMeasuredWidth())
-                    maxWidth = arc.getMeasuredWidth();
+                if (hWrap && maxWidth < arc.getWidth())
+                    maxWidth = arc.getWidth();
                 // Vertical wrap
-                if (vWrap && maxHeight < arc.getMeasuredHeight())
-                    maxHeight = arc.getMeasuredHeight();
+                if (vWrap && maxHeight < arc.getHeight())
+                    maxHeight = arc.getHeight();
             }
 
             // Set the dimension
@@ -336,44 +986,102 @@ public class ScGauge
     // On draw
     @Override
     protected void onDraw(Canvas canvas) {
+        // If the whole component is drawn the current value is refreshed
+        if (canvas.getClipBounds(this.mDirtyRect) &&
+                this.mDirtyRect.contains(0, 0, this.getWidth(), this.getHeight()))
+            this.mInvalidatedAngle = this.mProgressRenderer.getAngleDraw();
+
         // Check the listener
         if (this.mOnDrawListener != null) {
             // Call the method
             this.mOnDrawListener.onBeforeDraw(
-                    this.mArcBase.getPainter(),
-                    this.mArcNotchs.getPainter(),
-                    this.mArcProgress.getPainter()
+                    this.mBaseRenderer.getPainter(),
+                    this.mNotchsRenderer.getPainter(),
+                    this.mProgressRenderer.getPainter()
             );
         }
 
-        // Create a copy of the arcs array
-        ScArc[] copy = this.getArcs().clone();
-        // If need to draw the notchs for last invert its position
-        if (this.mDrawNotchsForLast) ScGauge.swapArrayPosition(copy, 1, 2);
+        // Check for the layered rendering
+        if (this.mLayeredRendering && this.getWidth() > 0 && this.getHeight() > 0) {
+            // Draw the static layer
+            this.drawStaticLayer(canvas);
 
-        // Cycle all arcs for draw it
-        for (ScArc arc : copy) {
-            // Only if visible
-            if (arc.getVisibility() == View.VISIBLE) {
-                // Draw
-                arc.draw(canvas);
-            }
+            // Draw the dynamic arcs
+            this.drawArc(canvas, this.mProgressRenderer);
+            if (this.mDrawNotchsForLast)
+                this.drawArc(canvas, this.mNotchsRenderer);
+            return;
+        }
+
+        // Check for the overdraw free composition
+        if (this.mOverdrawFree && this.canDrawOverdrawFree()) {
+            this.drawOverdrawFree(canvas);
+            return;
         }
+
+        // Draw all arcs.
+        // If need to draw the notchs for last invert its position.
+        this.drawArc(canvas, this.mBaseRenderer);
+        if (this.mDrawNotchsForLast) {
+            this.drawArc(canvas, this.mProgressRenderer);
+            this.drawArc(canvas, this.mNotchsRenderer);
+
+        } else {
+            this.drawArc(canvas, this.mNotchsRenderer);
+            this.drawArc(canvas, this.mProgressRenderer);
+        }
+    }
+
+    // On attached to window
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        this.mAttached = true;
+        this.updateSuspension();
+    }
+
+    // On detached from window
+    @Override
+    protected void onDetachedFromWindow() {
+        // Release the static layer memory and restore the layer type if was changed
+        super.onDetachedFromWindow();
+        this.releaseStaticLayer();
+
+        // Suspend the animation, the progress will jump to the final value on resume
+        this.mAttached = false;
+        this.updateSuspension();
+    }
+
+    // On visibility changed of this component or of one of its parents
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        this.updateSuspension();
+    }
+
+    // On window visibility changed
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        this.updateSuspension();
     }
 
-    // On animation update
+    // On window focus changed
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        this.updateSuspension();
+    }
+
+    // On external animator update.
+    // Move the progress to the animated value when this component is used as listener of an
+    // animator created outside. The animations of the component not use it anymore.
+    @Deprecated
     @Override
     public void onAnimationUpdate(ValueAnimator animation) {
         // Get the current angle value
-        float degrees = (float) animation.getAnimatedValue();
-        // Set and refresh
-        this.mArcProgress.setAngleDraw(degrees);
-        this.invalidate();
-
-        // Manage the listener
-        if (this.mOnEventListener != null) {
-            this.mOnEventListener.onValueChange(degrees);
-        }
+        Object value = animation.getAnimatedValue();
+        if (value instanceof Float) this.applyAnimatedValue((Float) value, false);
     }
 
     // On before to draw the single notch for each notchs
@@ -445,8 +1153,11 @@ public class ScGauge
      */
 
     // Get the base arc.
+    // The arcs are drawn by its renderers and the view that wrap the renderer is created only
+    // on the first request. Note that the wrapper layout is managed by this component.
     @SuppressWarnings("unused")
     public ScArc getBaseArc() {
+        if (this.mArcBase == null) this.mArcBase = this.wrapRenderer(this.mBaseRenderer);
         return this.mArcBase;
     }
 
@@ -455,21 +1166,40 @@ public class ScGauge
     // it could be an ScArc, so you need to cast it for use as ScNotchs.
     @SuppressWarnings("unused")
     public ScArc getNotchsArc() {
+        if (this.mArcNotchs == null) this.mArcNotchs = this.wrapRenderer(this.mNotchsRenderer);
         return this.mArcNotchs;
     }
 
     // Get the progress arc.
     @SuppressWarnings("unused")
     public ScArc getProgressArc() {
+        if (this.mArcProgress == null) this.mArcProgress = this.wrapRenderer(this.mProgressRenderer);
         return this.mArcProgress;
     }
 
+    // Get the renderers of the arcs.
+    // Use the renderers instead of the arcs views for not create the wrappers.
+    @SuppressWarnings("unused")
+    public ScArcRenderer getBaseRenderer() {
+        return this.mBaseRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScArcRenderer getNotchsRenderer() {
+        return this.mNotchsRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScArcRenderer getProgressRenderer() {
+        return this.mProgressRenderer;
+    }
+
     // Set stroke cap of painter for all components inside the gauge.
     // Default value is BUTT from the ScArc settings.
     @SuppressWarnings("unused")
     public void setStrokesCap(Paint.Cap cap) {
         // Cycle all arcs and set the stroke definition by painter
-        for (ScArc arc : this.getArcs()) {
+        for (ScArcRenderer arc : this.getRenderers()) {
             arc.getPainter().setStrokeCap(cap);
         }
         // Refresh
@@ -480,7 +1210,7 @@ public class ScGauge
     @SuppressWarnings("unused")
     public void setCanvasFilling(ScArc.FillingArea area, ScArc.FillingMode mode) {
         // Cycle all arcs and set the filling
-        for (ScArc arc : this.getArcs()) {
+        for (ScArcRenderer arc : this.getRenderers()) {
             arc.setFillingArea(area);
             arc.setFillingMode(mode);
         }
@@ -493,9 +1223,9 @@ public class ScGauge
     @SuppressWarnings("unused")
     public void show(boolean baseArc, boolean notchsArc, boolean progressArc) {
         // Apply the visibility status
-        this.mArcBase.setVisibility(baseArc ? View.VISIBLE : View.INVISIBLE);
-        this.mArcNotchs.setVisibility(notchsArc ? View.VISIBLE : View.INVISIBLE);
-        this.mArcProgress.setVisibility(progressArc ? View.VISIBLE : View.INVISIBLE);
+        this.showArc(this.mBaseRenderer, this.mArcBase, baseArc);
+        this.showArc(this.mNotchsRenderer, this.mArcNotchs, notchsArc);
+        this.showArc(this.mProgressRenderer, this.mArcProgress, progressArc);
 
         // Refresh
         this.requestLayout();
@@ -505,17 +1235,22 @@ public class ScGauge
     @SuppressWarnings("unused")
     public float translateAngleToValue(float angle, float startRange, float endRange) {
         // Limit the value within the range
-        angle = ScGauge.valueRangeLimit(angle, 0.0f, this.mArcProgress.getAngleSweep());
+        angle = ScGauge.valueRangeLimit(angle, 0.0f, this.mProgressRenderer.getAngleSweep());
         // Check for the division domain
-        if (this.mArcProgress.getAngleSweep() != 0.0f) {
-            return (angle / this.mArcProgress.getAngleSweep()) * (endRange - startRange);
+        if (this.mProgressRenderer.getAngleSweep() != 0.0f) {
+            return (angle / this.mProgressRenderer.getAngleSweep()) * (endRange - startRange);
         } else {
             return 0.0f;
         }
     }
 
     // Get the value animator.
-    // Note that the initial value duration of the animation is zero equal to "no animation".
+    // The animations of all the gauges are driven by the shared ScFrameScheduler, so only the
+    // duration and the interpolator of this animator are used and it will never be started:
+    // the listeners added to it will never be called.
+    // Deprecated, use the animation duration and interpolator properties and the event
+    // listeners instead.
+    @Deprecated
     @SuppressWarnings("unused")
     public Animator getValueAnimator() {
         return this.mAnimator;
@@ -533,24 +1268,32 @@ public class ScGauge
             boolean baseArcToNotchs, boolean notchsArcToArc, boolean progressArcToNotchs) {
         // Transform the base arc to a notchs object
         if (baseArcToNotchs) {
-            // Create a new instance of the ScNotchs
-            this.mArcBase = new ScNotchs(this.getContext());
-            this.arcObjectSetter(this.mArcBase, false);
+            // Create a new instance of the notchs renderer and release the old wrapper
+            this.mBaseRenderer = new ScNotchsRenderer(this.getContext());
+            this.arcObjectSetter(this.mBaseRenderer, false);
+            this.mArcBase = null;
         }
 
         // Transform the notchs to an arc object
         if (notchsArcToArc) {
-            // Create a new instance of the ScArc
-            this.mArcNotchs = new ScArc(this.getContext());
-            this.arcObjectSetter(this.mArcNotchs, false);
+            // Create a new instance of the arc renderer and release the old wrapper
+            this.mNotchsRenderer = new ScArcRenderer(this.getContext());
+            this.arcObjectSetter(this.mNotchsRenderer, false);
+            this.mArcNotchs = null;
         }
 
         // Transform the progress arc to a notchs object
         if (progressArcToNotchs) {
-            // Create a new instance of the ScNotchs
-            this.mArcProgress = new ScNotchs(this.getContext());
-            this.arcObjectSetter(this.mArcProgress, true);
+            // Create a new instance of the notchs renderer and release the old wrapper
+            this.mProgressRenderer = new ScNotchsRenderer(this.getContext());
+            this.arcObjectSetter(this.mProgressRenderer, true);
+            this.mArcProgress = null;
         }
+
+        // The arcs are changed so update the holder and the static layer must be rendered again
+        this.updateRenderers();
+        this.linkNotchsListener();
+        this.mLayerDirty = true;
     }
 
     // Draw the notchs for the last in the drawing method.
@@ -565,6 +1308,251 @@ public class ScGauge
         }
     }
 
+    // Layered rendering.
+    // When enabled the base arc and the notchs are rendered once inside a cached layer and only
+    // the progress arc will be drawn on each frame.
+    // The layer is rendered again when the gauge dimensions, the arcs settings or their painters
+    // change. Note that the onDrawNotch listener is called only when the layer is rendered so if
+    // you change the notchs appearance by the current value you must call invalidateStaticLayer.
+    @SuppressWarnings("unused")
+    public boolean getLayeredRendering() {
+        return this.mLayeredRendering;
+    }
+
+    @SuppressWarnings("unused")
+    public void setLayeredRendering(boolean value) {
+        // Check for changed value
+        if (this.mLayeredRendering != value) {
+            // Fix the new value
+            this.mLayeredRendering = value;
+            // Release the layer if not used anymore and refresh the component
+            if (!value) this.releaseStaticLayer();
+            this.invalidate();
+        }
+    }
+
+    // Force to render again the static layer on the next draw
+    @SuppressWarnings("unused")
+    public void invalidateStaticLayer() {
+        this.mLayerDirty = true;
+        this.invalidate();
+    }
+
+    // Hardware layer on animation.
+    // When enabled the gauge is moved to an hardware layer for the value animation duration and
+    // the original layer type is restored at the end.
+    // Disabled by default: the gauge content change on every frame so the layer must be
+    // rendered again each time and this is convenient only when the gauge is also moved,
+    // scaled or faded by other animations.
+    @SuppressWarnings("unused")
+    public boolean getHardwareLayerOnAnimation() {
+        return this.mHardwareLayerOnAnimation;
+    }
+
+    @SuppressWarnings("unused")
+    public void setHardwareLayerOnAnimation(boolean value) {
+        this.mHardwareLayerOnAnimation = value;
+        if (!value) this.stopHardwareLayer();
+    }
+
+    // Suspend on focus loss.
+    // When enabled the animation is suspended also when the window lose the focus, for example
+    // when a dialog is shown. Disabled by default because the gauge is still on screen. The
+    // animation is always suspended when the gauge is detached or not shown.
+    @SuppressWarnings("unused")
+    public boolean getSuspendOnFocusLoss() {
+        return this.mSuspendOnFocusLoss;
+    }
+
+    @SuppressWarnings("unused")
+    public void setSuspendOnFocusLoss(boolean value) {
+        this.mSuspendOnFocusLoss = value;
+        this.updateSuspension();
+    }
+
+    // Overdraw free composition.
+    // When enabled the base arc is drawn only over the sweep not covered by the progress arc so
+    // each pixel of the ring is filled once per frame.
+    // The composition is applied only when the progress arc cover exactly the base arc: both
+    // must be lines with butt cap, the progress must be opaque and its stroke at least large as
+    // the base one. In all the other cases, or with the layered rendering, the arcs are drawn
+    // as usual.
+    @SuppressWarnings("unused")
+    public boolean getOverdrawFree() {
+        return this.mOverdrawFree;
+    }
+
+    @SuppressWarnings("unused")
+    public void setOverdrawFree(boolean value) {
+        // Check for changed value
+        if (this.mOverdrawFree != value) {
+            // Fix the new value and refresh the component
+            this.mOverdrawFree = value;
+            this.invalidate();
+        }
+    }
+
+    // The following class hold the full configuration of the gauge and is used for bind the
+    // component, for example when recycled inside a list.
+    // A new configuration start from the gauge defaults, with the sizes converted to pixel by
+    // the context display density. Else fill it by getConfig from a configured gauge and change
+    // only the needed values.
+    // The sizes must be passed in pixel.
+    @SuppressWarnings("unused")
+    public static class Config {
+
+        public float angleStart = ScGauge.DEFAULT_ANGLE_START;
+        public float angleSweep = ScGauge.DEFAULT_ANGLE_SWEEP;
+        public float strokeSize;
+        public int strokeColor = ScGauge.DEFAULT_STROKE_COLOR;
+        public float progressSize;
+        public int progressColor = ScGauge.DEFAULT_PROGRESS_COLOR;
+        public float notchsSize;
+        public int notchsColor = ScGauge.DEFAULT_STROKE_COLOR;
+        public int notchs = 0;
+        public float notchsLength;
+        public boolean snapToNotchs = false;
+
+        public Config(Context context) {
+            // Same defaults of the gauge created without attributes
+            float density = context.getResources().getDisplayMetrics().density;
+
+            this.strokeSize = ScGauge.DEFAULT_STROKE_SIZE * density;
+            this.progressSize = ScGauge.DEFAULT_PROGRESS_SIZE * density;
+            this.notchsSize = ScGauge.DEFAULT_STROKE_SIZE * density;
+            this.notchsLength = this.strokeSize * 2;
+        }
+
+    }
+
+    // Fill the passed configuration with the current settings
+    @SuppressWarnings("unused")
+    public Config getConfig(Config out) {
+        out.angleStart = this.mAngleStart;
+        out.angleSweep = this.mAngleSweep;
+        out.strokeSize = this.mStrokeSize;
+        out.strokeColor = this.mStrokeColor;
+        out.progressSize = this.mProgressSize;
+        out.progressColor = this.mProgressColor;
+        out.notchsSize = this.mNotchsSize;
+        out.notchsColor = this.mNotchsColor;
+        out.notchs = this.mNotchsCount;
+        out.notchsLength = this.mNotchsLength;
+        out.snapToNotchs = this.mSnapToNotchs;
+        return out;
+    }
+
+    // Start an update transaction.
+    // Until the matching endUpdate the setters only store the new settings and the layout and
+    // refresh requests are held, so changing many settings cause at most one layout pass and
+    // one refresh. The transactions can be nested.
+    @SuppressWarnings("unused")
+    public void beginUpdate() {
+        this.mUpdateDepth++;
+    }
+
+    // End an update transaction.
+    // When the outer transaction end the held layout and refresh requests are issued once.
+    @SuppressWarnings("unused")
+    public void endUpdate() {
+        // Check for the outer transaction
+        if (this.mUpdateDepth == 0 || --this.mUpdateDepth > 0) return;
+
+        // Issue the held requests
+        boolean layout = this.mUpdateLayout;
+        boolean invalidate = this.mUpdateInvalidate;
+        this.mUpdateLayout = false;
+        this.mUpdateInvalidate = false;
+
+        if (layout) this.requestLayout();
+        if (invalidate) this.invalidate();
+    }
+
+    // Check if inside an update transaction
+    @SuppressWarnings("unused")
+    public boolean isUpdating() {
+        return this.mUpdateDepth > 0;
+    }
+
+    // Bind the component to a configuration and a value in degrees.
+    // All the settings are applied in one pass and the progress jump directly to the value
+    // without animation. Only the changed settings are applied to the arcs so the caches of
+    // the unchanged ones are kept.
+    // Return true if the new configuration need a layout pass.
+    @SuppressWarnings("unused")
+    public boolean bind(Config config, float value) {
+        // Holders
+        boolean layout = false;
+
+        // Angles
+        if (this.mAngleStart != config.angleStart || this.mAngleSweep != config.angleSweep) {
+            this.mAngleStart = config.angleStart;
+            this.mAngleSweep = config.angleSweep;
+            for (ScArcRenderer arc : this.getRenderers()) {
+                arc.setAngleStart(config.angleStart);
+                arc.setAngleSweep(config.angleSweep);
+            }
+            layout = true;
+        }
+
+        // Base arc
+        if (this.mStrokeSize != config.strokeSize) {
+            this.mStrokeSize = config.strokeSize;
+            this.mBaseRenderer.setStrokeSize(config.strokeSize);
+            layout = true;
+        }
+        this.mStrokeColor = config.strokeColor;
+        this.mBaseRenderer.setStrokeColor(config.strokeColor);
+
+        // Progress arc
+        if (this.mProgressSize != config.progressSize) {
+            this.mProgressSize = config.progressSize;
+            this.mProgressRenderer.setStrokeSize(config.progressSize);
+            layout = true;
+        }
+        this.mProgressColor = config.progressColor;
+        this.mProgressRenderer.setStrokeColor(config.progressColor);
+
+        // Notchs
+        if (this.mNotchsSize != config.notchsSize) {
+            this.mNotchsSize = config.notchsSize;
+            this.mNotchsRenderer.setStrokeSize(config.notchsSize);
+            layout = true;
+        }
+        this.mNotchsColor = config.notchsColor;
+        this.mNotchsRenderer.setStrokeColor(config.notchsColor);
+
+        if (this.mNotchsCount != config.notchs || this.mNotchsLength != config.notchsLength) {
+            this.mNotchsCount = config.notchs;
+            this.mNotchsLength = config.notchsLength;
+            for (ScArcRenderer arc : this.getRenderers()) {
+                // Check for notchs class
+                if (arc instanceof ScNotchsRenderer) {
+                    ((ScNotchsRenderer) arc).setNotchs(config.notchs);
+                    ((ScNotchsRenderer) arc).setNotchsLength(config.notchsLength);
+                }
+            }
+            layout = true;
+        }
+        this.mSnapToNotchs = config.snapToNotchs;
+
+        // Value
+        this.jumpToValue(value);
+
+        // Refresh
+        if (layout) this.requestLayout();
+        this.invalidate();
+        return layout;
+    }
+
+    // Reset the component state for be reused.
+    // Stop the animation and move the progress to zero keeping the configuration.
+    @SuppressWarnings("unused")
+    public void reset() {
+        this.jumpToValue(0.0f);
+        this.invalidate();
+    }
+
 
     /**
      * Public properties
@@ -584,7 +1572,7 @@ public class ScGauge
             // Save the new value
             this.mAngleStart = value;
             // Cycle all arcs and set the start angle
-            for (ScArc arc : this.getArcs()) {
+            for (ScArcRenderer arc : this.getRenderers()) {
                 arc.setAngleStart(value);
             }
             // Refresh
@@ -606,7 +1594,7 @@ public class ScGauge
             // Save the new value
             this.mAngleSweep = value;
             // Cycle all arcs and set the start angle
-            for (ScArc arc : this.getArcs()) {
+            for (ScArcRenderer arc : this.getRenderers()) {
                 arc.setAngleSweep(value);
             }
             // Refresh
@@ -626,7 +1614,7 @@ public class ScGauge
         if (this.mStrokeSize != value) {
             // Store the new value
             this.mStrokeSize = value;
-            this.mArcBase.setStrokeSize(value);
+            this.mBaseRenderer.setStrokeSize(value);
             // Refresh the component
             this.requestLayout();
         }
@@ -644,7 +1632,7 @@ public class ScGauge
         if (this.mStrokeColor != value) {
             // Store the new value
             this.mStrokeColor = value;
-            this.mArcBase.setStrokeColor(value);
+            this.mBaseRenderer.setStrokeColor(value);
             // Refresh the component
             this.invalidate();
         }
@@ -662,7 +1650,7 @@ public class ScGauge
         if (this.mProgressSize != value) {
             // Store the new value and refresh the component
             this.mProgressSize = value;
-            this.mArcProgress.setStrokeSize(value);
+            this.mProgressRenderer.setStrokeSize(value);
             this.requestLayout();
         }
     }
@@ -679,7 +1667,7 @@ public class ScGauge
         if (this.mProgressColor != value) {
             // Store the new value and refresh the component
             this.mProgressColor = value;
-            this.mArcProgress.setStrokeColor(value);
+            this.mProgressRenderer.setStrokeColor(value);
             this.invalidate();
         }
     }
@@ -696,7 +1684,7 @@ public class ScGauge
         if (this.mNotchsSize != value) {
             // Store the new value and refresh the component
             this.mNotchsSize = value;
-            this.mArcNotchs.setStrokeSize(value);
+            this.mNotchsRenderer.setStrokeSize(value);
             this.requestLayout();
         }
     }
@@ -713,7 +1701,7 @@ public class ScGauge
         if (this.mNotchsColor != value) {
             // Store the new value and refresh the component
             this.mNotchsColor = value;
-            this.mArcNotchs.setStrokeColor(value);
+            this.mNotchsRenderer.setStrokeColor(value);
             this.invalidate();
         }
     }
@@ -731,11 +1719,11 @@ public class ScGauge
             // Fix the new value
             this.mNotchsCount = value;
             // Apply to all notchs object
-            for (ScArc arc : this.getArcs()) {
-                // Check for ScNotchs class
-                if (arc instanceof ScNotchs) {
+            for (ScArcRenderer arc : this.getRenderers()) {
+                // Check for notchs class
+                if (arc instanceof ScNotchsRenderer) {
                     // Cast and setting
-                    ((ScNotchs) arc).setNotchs(value);
+                    ((ScNotchsRenderer) arc).setNotchs(value);
                 }
             }
             // Refresh the component
@@ -756,11 +1744,11 @@ public class ScGauge
             // Fix the new value
             this.mNotchsLength = value;
             // Apply to all notchs object
-            for (ScArc arc : this.getArcs()) {
-                // Check for ScNotchs class
-                if (arc instanceof ScNotchs) {
+            for (ScArcRenderer arc : this.getRenderers()) {
+                // Check for notchs class
+                if (arc instanceof ScNotchsRenderer) {
                     // Cast and setting
-                    ((ScNotchs) arc).setNotchsLength(value);
+                    ((ScNotchsRenderer) arc).setNotchsLength(value);
                 }
             }
             // Refresh the component
@@ -778,8 +1766,64 @@ public class ScGauge
     public void setSnapToNotchs(boolean value) {
         // Fix the trigger
         this.mSnapToNotchs = value;
-        // Recall the set value method for apply the new setting
-        this.setValue(this.getValue());
+        // Move again to the current value for apply the new setting
+        this.moveToValue(this.getValue());
+    }
+
+    // Input values filter.
+    // The filter is applied to the values passed to the setValue methods before they move the
+    // progress and can drop some samples. The async values are filtered on the calling thread
+    // before being merged. Pass null for remove it.
+    @SuppressWarnings("unused")
+    public ScValueFilter getValueFilter() {
+        return this.mValueFilter;
+    }
+
+    @SuppressWarnings("unused")
+    public void setValueFilter(ScValueFilter value) {
+        if (value != null) {
+            synchronized (value) {
+                value.reset();
+            }
+        }
+        this.mValueFilter = value;
+    }
+
+    // Animation duration in milliseconds.
+    // The initial value is zero equal to "no animation". The duration is scaled by the system
+    // animator duration scale.
+    @SuppressWarnings("unused")
+    public long getAnimationDuration() {
+        return this.mAnimator.getDuration();
+    }
+
+    @SuppressWarnings("unused")
+    public void setAnimationDuration(long value) {
+        this.mAnimator.setDuration(Math.max(value, 0));
+    }
+
+    // Animation interpolator
+    @SuppressWarnings("unused")
+    public TimeInterpolator getInterpolator() {
+        return this.mAnimator.getInterpolator();
+    }
+
+    @SuppressWarnings("unused")
+    public void setInterpolator(TimeInterpolator value) {
+        this.mAnimator.setInterpolator(value != null ? value : new DecelerateInterpolator());
+    }
+
+    // Invalidate threshold.
+    // The min distance in pixels that the progress tip must move for refresh the component on
+    // each animation frame. The final value is always drawn. Zero for refresh on any frame.
+    @SuppressWarnings("unused")
+    public float getInvalidateThreshold() {
+        return this.mInvalidateThreshold;
+    }
+
+    @SuppressWarnings("unused")
+    public void setInvalidateThreshold(float value) {
+        this.mInvalidateThreshold = Math.max(value, 0.0f);
     }
 
     // Progress value in degrees
@@ -790,23 +1834,17 @@ public class ScGauge
 
     @SuppressWarnings("unused")
     public void setValue(float degrees) {
-        // Check for snap to notchs the new degrees value
-        if (this.mSnapToNotchs) {
-            // Round at the closed notchs value
-            degrees = this.snapToNotchs(degrees);
+        // Filter the new value and check if the sample was dropped
+        ScValueFilter filter = this.mValueFilter;
+        if (filter != null) {
+            synchronized (filter) {
+                degrees = filter.filter(degrees, ScFrameScheduler.getInstance().now());
+            }
+            if (Float.isNaN(degrees)) return;
         }
 
-        // Check if value is changed
-        if (this.mAngleDraw != degrees) {
-            // Save the new value
-            this.mAngleDraw = degrees;
-            // Set and start animation
-            this.mAnimator.setFloatValues(
-                    this.mAngleDraw,
-                    ScGauge.valueRangeLimit(degrees, 0, this.mAngleSweep)
-            );
-            this.mAnimator.start();
-        }
+        // Move
+        this.moveToValue(degrees);
     }
 
     // Progress value but based on a values range.
@@ -837,6 +1875,39 @@ public class ScGauge
         this.setValue(value);
     }
 
+    // Progress value in degrees written from any thread.
+    // The value is stored inside a lock-free slot and applied on the UI thread once per frame,
+    // so any number of writes between two frames cause only one animation and one refresh.
+    // If a value filter is settled it is applied on the calling thread to each sample before
+    // the merge, using the passed sample time in nanoseconds or the frame scheduler time, the
+    // same time base used by setValue.
+    @SuppressWarnings("unused")
+    public void setValueAsync(float degrees) {
+        this.setValueAsync(degrees, ScFrameScheduler.getInstance().now());
+    }
+
+    @SuppressWarnings("unused")
+    public void setValueAsync(float degrees, long timeNanos) {
+        this.postFilteredValue(ScGauge.ASYNC_DEGREES, degrees, timeNanos);
+    }
+
+    // Progress value based on a values range written from any thread.
+    // The value is translated to a fraction of the arc on the calling thread.
+    @SuppressWarnings("unused")
+    public void setValueAsync(float value, float startRange, float endRange) {
+        this.setValueAsync(value, startRange, endRange, ScFrameScheduler.getInstance().now());
+    }
+
+    @SuppressWarnings("unused")
+    public void setValueAsync(float value, float startRange, float endRange, long timeNanos) {
+        // Limit the value within the range
+        value = ScGauge.valueRangeLimit(value, startRange, endRange);
+        // Check for the division domain
+        float fraction = endRange == startRange ? 0.0f : (value - startRange) / (endRange - startRange);
+        // Post
+        this.postFilteredValue(ScGauge.ASYNC_FRACTION, fraction, timeNanos);
+    }
+
 
     /**
      * Public listener and interface
@@ -854,7 +1925,9 @@ public class ScGauge
 
     @SuppressWarnings("unused")
     public void setOnDrawListener(OnDrawListener listener) {
+        // Hold the listener and forward the notchs events only if needed
         this.mOnDrawListener = listener;
+        this.linkNotchsListener();
     }
 
     // Generic gauge event
@@ -867,7 +1940,34 @@ public class ScGauge
 
     @SuppressWarnings("unused")
     public void setOnEventListener(OnEventListener listener) {
+        this.setOnEventListener(listener, 0, 0.0f);
+    }
+
+    // Throttled event listener.
+    // The listener is called at most once every min interval milliseconds and only when the
+    // value is moved at least of the min delta degrees. The final value of an animation is
+    // always notified.
+    @SuppressWarnings("unused")
+    public void setOnEventListener(OnEventListener listener, long minInterval, float minDelta) {
         this.mOnEventListener = listener;
+        this.mEventMinInterval = Math.max(minInterval, 0) * 1000000L;
+        this.mEventMinDelta = Math.max(minDelta, 0.0f);
+        this.mEventLastValue = Float.NaN;
+    }
+
+    // Value settled event.
+    // Called once the progress arrive to the final value, at the end of the animation or
+    // directly if the animation is disabled.
+    @SuppressWarnings("unused")
+    public interface OnValueSettledListener {
+
+        void onValueSettled(float degrees);
+
+    }
+
+    @SuppressWarnings("unused")
+    public void setOnValueSettledListener(OnValueSettledListener listener) {
+        this.mOnValueSettledListener = listener;
     }
 
     // Custom padding
@@ -883,4 +1983,42 @@ public class ScGauge
         this.mOnCustomPaddingListener = listener;
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Async values
+     */
+
+    // Move the async value from the writer thread to the next frame.
+    // Posted on the main thread it join the frame scheduler that consume the value once.
+    private class AsyncConsumer implements Runnable, ScFrameScheduler.FrameCallback {
+
+        @Override
+        public void run() {
+            ScFrameScheduler.getInstance().add(this);
+        }
+
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            ScGauge.this.consumeAsyncValue();
+            return false;
+        }
+
+    }
+
+
+    /**
+     * Frame callback
+     */
+
+    // Advance the progress animation on each frame.
+    // Private so the animation cannot be stepped from outside the component.
+    private class AnimationFrame implements ScFrameScheduler.FrameCallback {
+
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            return ScGauge.this.doAnimationFrame(frameTimeNanos);
+        }
+
+    }
+
+}
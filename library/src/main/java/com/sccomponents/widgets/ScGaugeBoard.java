@@ -0,0 +1,641 @@
+package com.sccomponents.widgets;
+
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.animation.DecelerateInterpolator;
+
+import java.util.Arrays;
+
+/**
+ * Draw a grid of gauges inside a single view.
+ * <p/>
+ * All the cells share the same style, held by one base, one notchs and one progress renderer,
+ * and are drawn in a single pass. The values are held in a primitive array, one animator drive
+ * all the cells, through the shared ScFrameScheduler, and changing a value refresh only the
+ * bounds of its cell.
+ * v1.0.0
+ */
+public class ScGaugeBoard extends ScWidget {
+
+    /**
+     * Constants
+     */
+
+    public static final int DEFAULT_COUNT = 1;
+    public static final int DEFAULT_COLUMNS = 1;
+
+
+    /**
+     * Private variables
+     */
+
+    private ScArcRenderer mBaseRenderer;
+    private ScNotchsRenderer mNotchsRenderer;
+    private ScArcRenderer mProgressRenderer;
+
+    private int mCount;
+    private int mColumns;
+    private int mCellPadding;
+
+    private float[] mValues;
+    private float[] mCurrents;
+    private float[] mFroms;
+    private long[] mStartTimes;
+    private boolean[] mAnimating;
+    private int mAnimatingCount;
+
+    private long mDuration;
+    private TimeInterpolator mInterpolator;
+
+    private int mCellWidth;
+    private int mCellHeight;
+    private final Rect mCellBounds = new Rect();
+    private final Rect mClipBounds = new Rect();
+    private final CellsFrame mCellsFrame = new CellsFrame();
+
+
+    /**
+     * Constructors
+     */
+
+    public ScGaugeBoard(Context context) {
+        super(context);
+        this.init(context, null, 0);
+    }
+
+    public ScGaugeBoard(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        this.init(context, attrs, 0);
+    }
+
+    public ScGaugeBoard(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        this.init(context, attrs, defStyleAttr);
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Init the component.
+    // Retrieve the shared style attributes, the same of the ScGauge, and create the renderers.
+    private void init(Context context, AttributeSet attrs, int defStyle) {
+        //--------------------------------------------------
+        // ATTRIBUTES
+
+        // Get the resolved attributes.
+        // The spec is shared with the other widgets that use the same style.
+        final ScStyleSpec spec = ScStyleSpec.obtain(context, attrs, defStyle);
+
+        float angleStart = spec.getFloat(
+                R.styleable.ScComponents_scc_angle_start, ScGauge.DEFAULT_ANGLE_START);
+        float angleSweep = spec.getFloat(
+                R.styleable.ScComponents_scc_angle_sweep, ScGauge.DEFAULT_ANGLE_SWEEP);
+
+        float strokeSize = spec.getDimension(
+                R.styleable.ScComponents_scc_stroke_size, this.dipToPixel(ScGauge.DEFAULT_STROKE_SIZE));
+        int strokeColor = spec.getColor(
+                R.styleable.ScComponents_scc_stroke_color, ScGauge.DEFAULT_STROKE_COLOR);
+
+        float progressSize = spec.getDimension(
+                R.styleable.ScComponents_scc_progress_size, this.dipToPixel(ScGauge.DEFAULT_PROGRESS_SIZE));
+        int progressColor = spec.getColor(
+                R.styleable.ScComponents_scc_progress_color, ScGauge.DEFAULT_PROGRESS_COLOR);
+
+        float notchsSize = spec.getDimension(
+                R.styleable.ScComponents_scc_notchs_size, this.dipToPixel(ScGauge.DEFAULT_STROKE_SIZE));
+        int notchsColor = spec.getColor(
+                R.styleable.ScComponents_scc_notchs_color, ScGauge.DEFAULT_STROKE_COLOR);
+        int notchsCount = spec.getInt(
+                R.styleable.ScComponents_scc_notchs, 0);
+        float notchsLength = spec.getDimension(
+                R.styleable.ScComponents_scc_notchs_length, strokeSize * 2);
+
+        //--------------------------------------------------
+        // RENDERERS
+
+        // Base arc
+        this.mBaseRenderer = new ScArcRenderer(context);
+        this.mBaseRenderer.setAngleStart(angleStart);
+        this.mBaseRenderer.setAngleSweep(angleSweep);
+        this.mBaseRenderer.setStrokeSize(strokeSize);
+        this.mBaseRenderer.setStrokeColor(strokeColor);
+
+        // Notchs
+        this.mNotchsRenderer = new ScNotchsRenderer(context);
+        this.mNotchsRenderer.setAngleStart(angleStart);
+        this.mNotchsRenderer.setAngleSweep(angleSweep);
+        this.mNotchsRenderer.setStrokeSize(notchsSize);
+        this.mNotchsRenderer.setStrokeColor(notchsColor);
+        this.mNotchsRenderer.setNotchs(notchsCount);
+        this.mNotchsRenderer.setNotchsLength(notchsLength);
+
+        // Progress arc.
+        // The draw angle will be settled before draw each cell.
+        this.mProgressRenderer = new ScArcRenderer(context);
+        this.mProgressRenderer.setAngleStart(angleStart);
+        this.mProgressRenderer.setAngleSweep(angleSweep);
+        this.mProgressRenderer.setStrokeSize(progressSize);
+        this.mProgressRenderer.setStrokeColor(progressColor);
+
+        //--------------------------------------------------
+        // CELLS
+
+        this.mCount = ScGaugeBoard.DEFAULT_COUNT;
+        this.mColumns = ScGaugeBoard.DEFAULT_COLUMNS;
+        this.resizeValues(this.mCount);
+
+        //--------------------------------------------------
+        // ANIMATOR
+
+        // All the cells are driven by a single frame callback of the shared scheduler.
+        // It run until at least one cell is animating and each cell hold its own start time.
+        this.mInterpolator = new DecelerateInterpolator();
+    }
+
+    // Resize the values holders keeping the current values
+    private void resizeValues(int count) {
+        // Check for the first creation
+        if (this.mValues == null) {
+            this.mValues = new float[count];
+            this.mCurrents = new float[count];
+            this.mFroms = new float[count];
+            this.mStartTimes = new long[count];
+            this.mAnimating = new boolean[count];
+            return;
+        }
+
+        // Stop the animation of the removed cells
+        for (int index = count; index < this.mAnimating.length; index++)
+            if (this.mAnimating[index]) this.mAnimatingCount--;
+
+        // Resize
+        this.mValues = Arrays.copyOf(this.mValues, count);
+        this.mCurrents = Arrays.copyOf(this.mCurrents, count);
+        this.mFroms = Arrays.copyOf(this.mFroms, count);
+        this.mStartTimes = Arrays.copyOf(this.mStartTimes, count);
+        this.mAnimating = Arrays.copyOf(this.mAnimating, count);
+    }
+
+    // Find the number of rows
+    private int getRows() {
+        return (this.mCount + this.mColumns - 1) / this.mColumns;
+    }
+
+    // Update the cells dimensions by the component dimensions.
+    // The padding can change without a size change so the cells are updated before each use
+    // and not only when the size change.
+    private void updateCells() {
+        // Find the content area
+        int contentWidth = this.getWidth() - this.getPaddingLeft() - this.getPaddingRight();
+        int contentHeight = this.getHeight() - this.getPaddingTop() - this.getPaddingBottom();
+
+        // Divide by columns and rows
+        int rows = this.getRows();
+        this.mCellWidth = Math.max(contentWidth / this.mColumns, 0);
+        this.mCellHeight = rows > 0 ? Math.max(contentHeight / rows, 0) : 0;
+    }
+
+    // Layout all the renderers inside the cell dimensions.
+    // Called before each draw because the renderers settings can be changed directly.
+    private void layoutRenderers() {
+        ScArcRenderer.layoutCentered(
+                this.mBaseRenderer, this.mNotchsRenderer, this.mProgressRenderer,
+                this.mCellPadding, this.mCellWidth, this.mCellHeight);
+    }
+
+    // Find the bounds of a cell
+    private Rect findCellBounds(int index, Rect out) {
+        int left = this.getPaddingLeft() + (index % this.mColumns) * this.mCellWidth;
+        int top = this.getPaddingTop() + (index / this.mColumns) * this.mCellHeight;
+        out.set(left, top, left + this.mCellWidth, top + this.mCellHeight);
+        return out;
+    }
+
+    // Refresh only the area of a cell
+    private void invalidateCell(int index) {
+        this.updateCells();
+        Rect bounds = this.findCellBounds(index, this.mCellBounds);
+        this.invalidate(bounds.left, bounds.top, bounds.right, bounds.bottom);
+    }
+
+    // Draw a renderer only if visible.
+    // The cell dimensions are passed because the canvas is the whole board.
+    private void drawRenderer(Canvas canvas, ScArcRenderer renderer) {
+        if (renderer.isVisible()) renderer.draw(canvas, this.mCellWidth, this.mCellHeight);
+    }
+
+    // Get the animation duration in nanoseconds scaled by the system animator duration scale
+    private long getScaledDuration() {
+        return ScFrameScheduler.getInstance().getScaledDuration(this.getContext(), this.mDuration);
+    }
+
+    // Stop the animation of all the cells leaving them on the current values
+    private void stopAnimation() {
+        ScFrameScheduler.getInstance().remove(this.mCellsFrame);
+        Arrays.fill(this.mAnimating, false);
+        this.mAnimatingCount = 0;
+    }
+
+    // On animation frame.
+    // Move all the animating cells and refresh only them.
+    private boolean doCellsFrame(long frameTimeNanos) {
+        // Get the duration in nanoseconds scaled by the system setting
+        long duration = this.getScaledDuration();
+
+        // Cycle all cells
+        for (int index = 0; index < this.mCount; index++) {
+            // Check if animating
+            if (!this.mAnimating[index]) continue;
+
+            // Find the fraction and the current value
+            long elapsed = Math.max(frameTimeNanos - this.mStartTimes[index], 0);
+            float fraction = duration > 0 ? Math.min((float) elapsed / duration, 1.0f) : 1.0f;
+            float from = this.mFroms[index];
+            this.mCurrents[index] = from +
+                    (this.mValues[index] - from) * this.mInterpolator.getInterpolation(fraction);
+
+            // Check for the end of the cell animation
+            if (fraction >= 1.0f) {
+                this.mCurrents[index] = this.mValues[index];
+                this.mAnimating[index] = false;
+                this.mAnimatingCount--;
+            }
+
+            // Refresh
+            this.invalidateCell(index);
+        }
+
+        // Stop when no more cells are animating
+        if (this.mAnimatingCount > 0) return true;
+        this.mAnimatingCount = 0;
+        return false;
+    }
+
+
+    /**
+     * Package methods
+     */
+
+    // The progress value in degrees of a cell as currently drawn, animating to the value.
+    // Used by the tests to follow the cells animation.
+    float peekCurrentValue(int index) {
+        return this.mCurrents[index];
+    }
+
+
+    /**
+     * Overrides
+     */
+
+    // On measure.
+    // If the height wrap the content the cells will be square.
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // Check for the vertical wrapping
+        ViewGroup.LayoutParams params = this.getLayoutParams();
+        if (params == null || params.height != ViewGroup.LayoutParams.WRAP_CONTENT) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+
+        // Find the width and calculate the height using a square cell
+        int width = View.getDefaultSize(this.getSuggestedMinimumWidth(), widthMeasureSpec);
+        int cellSize = (width - this.getPaddingLeft() - this.getPaddingRight()) / this.mColumns;
+        int height = this.getRows() * Math.max(cellSize, 0) +
+                this.getPaddingTop() + this.getPaddingBottom();
+
+        // Set the dimension
+        this.setMeasuredDimension(width, View.resolveSize(height, heightMeasureSpec));
+    }
+
+    // Draw all the cells inside the clip area.
+    // The base and notchs renderers are the same for all cells, only the progress draw angle
+    // change from a cell to another.
+    @Override
+    protected void onDraw(Canvas canvas) {
+        // Check for empty values
+        this.updateCells();
+        if (this.mCellWidth <= 0 || this.mCellHeight <= 0) return;
+
+        // Layout the renderers and get the area to refresh
+        this.layoutRenderers();
+        canvas.getClipBounds(this.mClipBounds);
+
+        // Cycle all cells
+        for (int index = 0; index < this.mCount; index++) {
+            // Check if the cell is inside the area to refresh
+            Rect bounds = this.findCellBounds(index, this.mCellBounds);
+            if (!this.mClipBounds.intersects(bounds.left, bounds.top, bounds.right, bounds.bottom))
+                continue;
+
+            // Move on the cell and draw
+            int count = canvas.save();
+            canvas.translate(bounds.left, bounds.top);
+            this.drawRenderer(canvas, this.mBaseRenderer);
+            this.drawRenderer(canvas, this.mNotchsRenderer);
+            this.mProgressRenderer.setAngleDraw(this.mCurrents[index]);
+            this.drawRenderer(canvas, this.mProgressRenderer);
+            canvas.restoreToCount(count);
+        }
+    }
+
+    // On detached from window
+    @Override
+    protected void onDetachedFromWindow() {
+        // Move all the cells to the final values
+        super.onDetachedFromWindow();
+        this.stopAnimation();
+        System.arraycopy(this.mValues, 0, this.mCurrents, 0, this.mCount);
+    }
+
+
+    /**
+     * Instance state
+     */
+
+    // Save
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        // Call the super and get the parent state
+        Parcelable superState = super.onSaveInstanceState();
+
+        // Create a new bundle for store all the variables
+        Bundle state = new Bundle();
+        // Save all starting from the parent state
+        state.putParcelable("PARENT", superState);
+        state.putInt("mCount", this.mCount);
+        state.putInt("mColumns", this.mColumns);
+        state.putInt("mCellPadding", this.mCellPadding);
+        state.putLong("mDuration", this.mDuration);
+        state.putFloatArray("mValues", this.mValues);
+
+        // Return the new state
+        return state;
+    }
+
+    // Restore
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        // Implicit conversion in a bundle
+        Bundle savedState = (Bundle) state;
+
+        // Recover the parent class state and restore it
+        Parcelable superState = savedState.getParcelable("PARENT");
+        super.onRestoreInstanceState(superState);
+
+        // Now can restore all the saved variables values
+        this.stopAnimation();
+        this.mCount = savedState.getInt("mCount");
+        this.mColumns = savedState.getInt("mColumns");
+        this.mCellPadding = savedState.getInt("mCellPadding");
+        this.mDuration = savedState.getLong("mDuration");
+        this.resizeValues(this.mCount);
+
+        // The values are restored without animation
+        float[] values = savedState.getFloatArray("mValues");
+        if (values != null) {
+            int count = Math.min(values.length, this.mCount);
+            System.arraycopy(values, 0, this.mValues, 0, count);
+            System.arraycopy(values, 0, this.mCurrents, 0, count);
+        }
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Get the shared renderers.
+    // After changing their settings call invalidate for refresh the component.
+    @SuppressWarnings("unused")
+    public ScArcRenderer getBaseRenderer() {
+        return this.mBaseRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScNotchsRenderer getNotchsRenderer() {
+        return this.mNotchsRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScArcRenderer getProgressRenderer() {
+        return this.mProgressRenderer;
+    }
+
+    // Get the bounds of a cell on the component
+    @SuppressWarnings("unused")
+    public Rect getCellBounds(int index, Rect out) {
+        this.updateCells();
+        return this.findCellBounds(index, out);
+    }
+
+    // Find the cell index from a point on the component.
+    // Return -1 if the point not belong to any cell.
+    @SuppressWarnings("unused")
+    public int getCellFromPoint(float x, float y) {
+        // Check for empty values
+        this.updateCells();
+        if (this.mCellWidth <= 0 || this.mCellHeight <= 0) return -1;
+
+        // Find the column and the row
+        int column = (int) Math.floor((x - this.getPaddingLeft()) / this.mCellWidth);
+        int row = (int) Math.floor((y - this.getPaddingTop()) / this.mCellHeight);
+        if (column < 0 || column >= this.mColumns || row < 0) return -1;
+
+        // Check the index
+        int index = row * this.mColumns + column;
+        return index < this.mCount ? index : -1;
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Cells count
+    @SuppressWarnings("unused")
+    public int getCount() {
+        return this.mCount;
+    }
+
+    @SuppressWarnings("unused")
+    public void setCount(int value) {
+        // Check the limits
+        if (value < 0) value = 0;
+
+        // Check if value is changed
+        if (this.mCount != value) {
+            // Store the new value and refresh the component
+            this.resizeValues(value);
+            this.mCount = value;
+            this.requestLayout();
+            this.invalidate();
+        }
+    }
+
+    // Columns count
+    @SuppressWarnings("unused")
+    public int getColumns() {
+        return this.mColumns;
+    }
+
+    @SuppressWarnings("unused")
+    public void setColumns(int value) {
+        // Check the limits
+        if (value < 1) value = 1;
+
+        // Check if value is changed
+        if (this.mColumns != value) {
+            // Store the new value and refresh the component
+            this.mColumns = value;
+            this.requestLayout();
+            this.invalidate();
+        }
+    }
+
+    // Padding inside each cell.
+    // The value must be passed in pixel.
+    @SuppressWarnings("unused")
+    public int getCellPadding() {
+        return this.mCellPadding;
+    }
+
+    @SuppressWarnings("unused")
+    public void setCellPadding(int value) {
+        // Check if value is changed
+        if (this.mCellPadding != value) {
+            // Store the new value and refresh the component
+            this.mCellPadding = value;
+            this.invalidate();
+        }
+    }
+
+    // Animation duration in milliseconds.
+    // Zero for move the progress without animation.
+    @SuppressWarnings("unused")
+    public long getAnimationDuration() {
+        return this.mDuration;
+    }
+
+    @SuppressWarnings("unused")
+    public void setAnimationDuration(long value) {
+        this.mDuration = Math.max(value, 0);
+    }
+
+    // Animation interpolator
+    @SuppressWarnings("unused")
+    public TimeInterpolator getInterpolator() {
+        return this.mInterpolator;
+    }
+
+    @SuppressWarnings("unused")
+    public void setInterpolator(TimeInterpolator value) {
+        this.mInterpolator = value != null ? value : new DecelerateInterpolator();
+    }
+
+    // Progress value in degrees of a cell
+    @SuppressWarnings("unused")
+    public float getValue(int index) {
+        return this.mValues[index];
+    }
+
+    @SuppressWarnings("unused")
+    public void setValue(int index, float degrees) {
+        // Check the limits and if value is changed
+        degrees = ScWidget.valueRangeLimit(degrees, 0, this.mProgressRenderer.getAngleSweep());
+        if (this.mValues[index] == degrees) return;
+
+        // Save the new value
+        this.mValues[index] = degrees;
+
+        // Check if need to animate.
+        // The animations can be disabled also by the system animator duration scale.
+        if (this.getScaledDuration() <= 0) {
+            // Move the progress directly
+            if (this.mAnimating[index]) {
+                this.mAnimating[index] = false;
+                this.mAnimatingCount--;
+            }
+            this.mCurrents[index] = degrees;
+            this.invalidateCell(index);
+            return;
+        }
+
+        // Start the cell animation from the current position
+        this.mFroms[index] = this.mCurrents[index];
+        this.mStartTimes[index] = ScFrameScheduler.getInstance().now();
+        if (!this.mAnimating[index]) {
+            this.mAnimating[index] = true;
+            this.mAnimatingCount++;
+        }
+
+        // Join the scheduler if not already running
+        ScFrameScheduler.getInstance().add(this.mCellsFrame);
+    }
+
+    // Progress value of a cell but based on a values range.
+    // Translate the reference value to the angle in degrees and call the base methods.
+    @SuppressWarnings("unused")
+    public float getValue(int index, float startRange, float endRange) {
+        // Return the translated value
+        float sweep = this.mProgressRenderer.getAngleSweep();
+        return sweep == 0 ? startRange :
+                startRange + (endRange - startRange) * (this.mValues[index] / sweep);
+    }
+
+    @SuppressWarnings("unused")
+    public void setValue(int index, float value, float startRange, float endRange) {
+        // Limit the value within the range
+        value = ScWidget.valueRangeLimit(value, startRange, endRange);
+        // Check for the division domain
+        if (endRange == startRange) {
+            value = 0;
+
+        } else {
+            // Convert the value in the relative angle respect the arc length
+            value = ((value - startRange) / (endRange - startRange)) *
+                    this.mProgressRenderer.getAngleSweep();
+        }
+        // Call the base method
+        this.setValue(index, value);
+    }
+
+    // Set the values in degrees of many cells starting from the first one.
+    // Only the changed cells will be refreshed.
+    @SuppressWarnings("unused")
+    public void setValues(float... degrees) {
+        // Check for empty values
+        if (degrees == null) return;
+
+        // Cycle all values
+        int count = Math.min(degrees.length, this.mCount);
+        for (int index = 0; index < count; index++)
+            this.setValue(index, degrees[index]);
+    }
+
+
+    /**
+     * Frame callback
+     */
+
+    // Advance the cells animation on each frame.
+    // Private so the animation cannot be stepped from outside the component.
+    private class CellsFrame implements ScFrameScheduler.FrameCallback {
+
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            return ScGaugeBoard.this.doCellsFrame(frameTimeNanos);
+        }
+
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Draw a gauge as a drawable.
+ * <p/>
+ * The drawable compose the same three renderers of the ScGauge, base, notchs and progress,
+ * inside its bounds. The progress draw angle is driven by the level: 0 draw nothing, 10000 draw
+ * the whole sweep angle.
+ * Can be used wherever a drawable is accepted without adding any view.
+ * v1.0.0
+ */
+public class ScGaugeDrawable extends Drawable {
+
+    /**
+     * Private variables
+     */
+
+    private final ScArcRenderer mBaseRenderer;
+    private final ScNotchsRenderer mNotchsRenderer;
+    private final ScArcRenderer mProgressRenderer;
+
+    private boolean mDrawNotchsForLast = false;
+    private int mAlpha = 255;
+    private int mIntrinsicWidth = -1;
+    private int mIntrinsicHeight = -1;
+
+
+    /**
+     * Constructors
+     */
+
+    public ScGaugeDrawable(Context context) {
+        // Get the density for convert the default sizes
+        float density = context.getResources().getDisplayMetrics().density;
+
+        // Base arc
+        this.mBaseRenderer = new ScArcRenderer(context);
+        this.mBaseRenderer.setStrokeSize(ScGauge.DEFAULT_STROKE_SIZE * density);
+        this.mBaseRenderer.setStrokeColor(ScGauge.DEFAULT_STROKE_COLOR);
+
+        // Notchs
+        this.mNotchsRenderer = new ScNotchsRenderer(context);
+        this.mNotchsRenderer.setStrokeSize(ScGauge.DEFAULT_STROKE_SIZE * density);
+        this.mNotchsRenderer.setStrokeColor(ScGauge.DEFAULT_STROKE_COLOR);
+        this.mNotchsRenderer.setNotchs(0);
+        this.mNotchsRenderer.setNotchsLength(this.mBaseRenderer.getStrokeSize() * 2);
+
+        // Progress arc
+        this.mProgressRenderer = new ScArcRenderer(context);
+        this.mProgressRenderer.setStrokeSize(ScGauge.DEFAULT_PROGRESS_SIZE * density);
+        this.mProgressRenderer.setStrokeColor(ScGauge.DEFAULT_PROGRESS_COLOR);
+        this.mProgressRenderer.setAngleDraw(0.0f);
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Layout all the renderers inside the passed dimensions.
+    // Called before each draw because the stroke sizes can be changed directly on the renderers.
+    private void applyLayout(int width, int height) {
+        ScArcRenderer.layoutCentered(
+                this.mBaseRenderer, this.mNotchsRenderer, this.mProgressRenderer, 0, width, height);
+    }
+
+    // Find the progress draw angle by the level
+    private float levelToAngle(int level) {
+        return this.mProgressRenderer.getAngleSweep() * level / ScArcDrawable.MAX_LEVEL;
+    }
+
+    // Draw a renderer only if visible
+    private void drawRenderer(Canvas canvas, ScArcRenderer renderer, int width, int height) {
+        if (renderer.isVisible()) renderer.draw(canvas, width, height);
+    }
+
+
+    /**
+     * Overrides
+     */
+
+    // Draw the renderers inside the bounds.
+    // If the alpha is not opaque the gauge is drawn inside a layer.
+    @Override
+    public void draw(Canvas canvas) {
+        // Check for empty values
+        Rect bounds = this.getBounds();
+        if (bounds.isEmpty() || this.mAlpha == 0) return;
+
+        // Save the canvas status
+        int count = this.mAlpha < 255 ?
+                canvas.saveLayerAlpha(
+                        bounds.left, bounds.top, bounds.right, bounds.bottom,
+                        this.mAlpha, Canvas.ALL_SAVE_FLAG) :
+                canvas.save();
+
+        // Apply the level and the layout
+        int width = bounds.width();
+        int height = bounds.height();
+        this.mProgressRenderer.setAngleDraw(this.levelToAngle(this.getLevel()));
+        this.applyLayout(width, height);
+
+        // Draw
+        canvas.translate(bounds.left, bounds.top);
+        this.drawRenderer(canvas, this.mBaseRenderer, width, height);
+        if (!this.mDrawNotchsForLast)
+            this.drawRenderer(canvas, this.mNotchsRenderer, width, height);
+        this.drawRenderer(canvas, this.mProgressRenderer, width, height);
+        if (this.mDrawNotchsForLast)
+            this.drawRenderer(canvas, this.mNotchsRenderer, width, height);
+
+        // Restore
+        canvas.restoreToCount(count);
+    }
+
+    // Layout the renderers on the new bounds.
+    // Needed for the geometry queries, like finding a point from an angle.
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        this.applyLayout(bounds.width(), bounds.height());
+    }
+
+    // Apply the level to the progress draw angle
+    @Override
+    protected boolean onLevelChange(int level) {
+        // Check if value is changed
+        float angle = this.levelToAngle(level);
+        if (this.mProgressRenderer.getAngleDraw() == angle) return false;
+
+        // Store the new value and ask to be drawn again
+        this.mProgressRenderer.setAngleDraw(angle);
+        return true;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        // Check if value is changed
+        if (this.mAlpha != alpha) {
+            this.mAlpha = alpha;
+            this.invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return this.mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        this.mBaseRenderer.getPainter().setColorFilter(colorFilter);
+        this.mNotchsRenderer.getPainter().setColorFilter(colorFilter);
+        this.mProgressRenderer.getPainter().setColorFilter(colorFilter);
+        this.invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return this.mIntrinsicWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return this.mIntrinsicHeight;
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Get the renderers.
+    // After changing their settings call invalidateSelf for refresh the drawable.
+    @SuppressWarnings("unused")
+    public ScArcRenderer getBaseRenderer() {
+        return this.mBaseRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScNotchsRenderer getNotchsRenderer() {
+        return this.mNotchsRenderer;
+    }
+
+    @SuppressWarnings("unused")
+    public ScArcRenderer getProgressRenderer() {
+        return this.mProgressRenderer;
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Angles.
+    // Applied to all the renderers.
+    @SuppressWarnings("unused")
+    public float getAngleStart() {
+        return this.mBaseRenderer.getAngleStart();
+    }
+
+    @SuppressWarnings("unused")
+    public void setAngleStart(float value) {
+        this.mBaseRenderer.setAngleStart(value);
+        this.mNotchsRenderer.setAngleStart(value);
+        this.mProgressRenderer.setAngleStart(value);
+        this.invalidateSelf();
+    }
+
+    @SuppressWarnings("unused")
+    public float getAngleSweep() {
+        return this.mBaseRenderer.getAngleSweep();
+    }
+
+    @SuppressWarnings("unused")
+    public void setAngleSweep(float value) {
+        this.mBaseRenderer.setAngleSweep(value);
+        this.mNotchsRenderer.setAngleSweep(value);
+        this.mProgressRenderer.setAngleSweep(value);
+        this.invalidateSelf();
+    }
+
+    // Draw notchs for last
+    @SuppressWarnings("unused")
+    public boolean getDrawNotchsForLast() {
+        return this.mDrawNotchsForLast;
+    }
+
+    @SuppressWarnings("unused")
+    public void setDrawNotchsForLast(boolean value) {
+        // Check if value is changed
+        if (this.mDrawNotchsForLast != value) {
+            this.mDrawNotchsForLast = value;
+            this.invalidateSelf();
+        }
+    }
+
+    // Intrinsic size.
+    // By default the drawable have no intrinsic size and fill its bounds.
+    @SuppressWarnings("unused")
+    public void setIntrinsicSize(int width, int height) {
+        this.mIntrinsicWidth = width;
+        this.mIntrinsicHeight = height;
+    }
+
+}
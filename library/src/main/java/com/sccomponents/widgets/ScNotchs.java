@@ -1,54 +1,42 @@
 package com.sccomponents.widgets;
 
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Point;
-import android.graphics.RectF;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 
 /**
- * Create a series of notchs that follow an arc path
- * v1.0.3
+ * Create a series of notchs that follow an arc path.
+ * <p/>
+ * All the drawing logic live inside an ScNotchsRenderer.
+ * v1.1.0
  */
 public class ScNotchs extends ScArc {
 
-    /**
-     * Private attributes
-     */
-
-    protected int mNotchsCount;
-    protected float mNotchsLength;
-
-
-    /**
-     * Private variables
-     */
-
-    private OnDrawListener mOnDrawListener = null;
-
-
     /**
      * Constructors
      */
 
     public ScNotchs(Context context) {
         super(context);
-        this.init(context, null, 0);
+        this.init();
     }
 
     public ScNotchs(Context context, AttributeSet attrs) {
         super(context, attrs);
-        this.init(context, attrs, 0);
+        this.init();
     }
 
     public ScNotchs(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        this.init(context, attrs, defStyleAttr);
+        this.init();
+    }
+
+    // Wrap a renderer owned by a container
+    ScNotchs(Context context, ScNotchsRenderer renderer) {
+        super(context, renderer);
+        renderer.setSource(this);
     }
 
 
@@ -56,86 +44,26 @@ public class ScNotchs extends ScArc {
      * Privates methods
      */
 
-    // Check the values limits
-    private void checkValues() {
-        // Notchs
-        if (this.mNotchsCount < 0) this.mNotchsCount = 0;
-        if (this.mNotchsLength < 0) this.mNotchsLength = 0;
-    }
-
-    // Set the painter type
-    private void setPainterType() {
-        // Set the stroke type
-        switch (this.mStrokeType) {
-            case LINE:
-            case CLOSED_ARC:
-                this.getPainter().setStyle(Paint.Style.STROKE);
-                break;
-
-            case FILLED_ARC:
-                this.getPainter().setStyle(Paint.Style.FILL_AND_STROKE);
-                break;
-        }
-    }
-
-    // Init the component.
-    // Retrieve all attributes with the default values if needed and create the internal using
-    // objects.
-    private void init(Context context, AttributeSet attrs, int defStyle) {
-        //--------------------------------------------------
-        // ATTRIBUTES
-
-        // Get the attributes list
-        final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.ScComponents, defStyle, 0);
-
-        this.mNotchsCount = attrArray.getInt(
-                R.styleable.ScComponents_scc_notchs, 0);
-        this.mNotchsLength = attrArray.getDimension(
-                R.styleable.ScComponents_scc_notchs_length, this.getStrokeSize() * 2);
-
-        // Recycle
-        attrArray.recycle();
-
-        //--------------------------------------------------
-        // INTERNAL
-
-        this.checkValues();
-        this.setPainterType();
+    // Convert the types to its ordinals for save the instance state
+    private static int[] typesToOrdinals(StrokeTypes[] types) {
+        if (types == null) return null;
+        int[] ordinals = new int[types.length];
+        for (int index = 0; index < types.length; index++)
+            ordinals[index] = types[index] == null ? -1 : types[index].ordinal();
+        return ordinals;
     }
 
-    // Draw the line
-    private void drawLine(Canvas canvas, NotchInfo info, RectF area) {
-        // Find the start area where find the start point
-        RectF startArea = ScNotchs.inflateRect(area, info.length + info.distanceFromBorder);
-        RectF endArea = ScNotchs.inflateRect(area, info.distanceFromBorder);
-
-        // Find the start and the end points on the canvas in reference to the arc
-        Point startPoint = ScNotchs.getPointFromAngle(info.angle, startArea);
-        Point endPoint = ScNotchs.getPointFromAngle(info.angle, endArea);
-
-        // Draw the line
-        canvas.drawLine(
-                startPoint.x, startPoint.y,
-                endPoint.x, endPoint.y,
-                this.getPainter()
-        );
+    private static StrokeTypes[] ordinalsToTypes(int[] ordinals) {
+        if (ordinals == null) return null;
+        StrokeTypes[] types = new StrokeTypes[ordinals.length];
+        for (int index = 0; index < ordinals.length; index++)
+            types[index] = ordinals[index] == -1 ? null : StrokeTypes.values()[ordinals[index]];
+        return types;
     }
 
-    // Draw the circle
-    private void drawCircle(Canvas canvas, NotchInfo info, RectF area) {
-        // Find the start area where find the start point
-        float padding = info.size / 2 + info.length + info.distanceFromBorder;
-        RectF startArea = ScNotchs.inflateRect(area, padding);
-
-        // Find the point on the arc starting by the angle
-        Point startPoint = ScNotchs.getPointFromAngle(info.angle, startArea);
-
-        // Draw the circle
-        canvas.drawCircle(
-                startPoint.x, startPoint.y,
-                info.length,
-                this.getPainter()
-        );
+    // Init the component
+    private void init() {
+        this.getRenderer().setSource(this);
     }
 
 
@@ -143,60 +71,26 @@ public class ScNotchs extends ScArc {
      * Overrides
      */
 
-    // Draw the notchs on the canvas
-    // TODO: when scaled have notchs visual issue
+    // Read the notchs attributes from the same spec of the base class
     @Override
-    protected void internalDraw(Canvas canvas, RectF area) {
-        // Draw only if the notch length and count is more of zero.
-        if (this.mNotchsCount <= 0) return;
-
-        // Calc the delta angle and the real notchs count
-        int count = this.mNotchsCount + (this.getAngleSweep() >= ScNotchs.DEFAULT_ANGLE_MAX ? 0 : 1);
-        float deltaAngle = this.getAngleSweep() / this.mNotchsCount;
-
-        // Cycle all notchs
-        for (int index = 0; index < count; index++) {
-            // Find current the angle and length
-            float currentAngle = index * deltaAngle;
-            // If the current angle is outside the draw limit stop to draw
-            if (!ScNotchs.withinRange(currentAngle, 0, this.getAngleDraw())) break;
-
-            // Create the notch info to pass to the listener.
-            // Note that adjust the current angle to a global angle.
-            NotchInfo info = new NotchInfo();
-            info.source = this;
-            info.angle = currentAngle + this.mAngleStart;
-            info.color = this.mStrokeColor;
-            info.index = index;
-            info.length = this.mNotchsLength;
-            info.size = this.mStrokeSize;
-            info.type = this.mStrokeType;
-
-            // Check if the listener is linked
-            if (this.mOnDrawListener != null) {
-                // Call the method
-                this.mOnDrawListener.onDrawNotch(info);
-
-                // Apply the info to the painter
-                this.getPainter().setStrokeWidth(info.size);
-                this.getPainter().setColor(info.color);
-            }
-
-            // Draw only if visible
-            if (info.visible) {
-                // Draw the line by the case
-                switch (info.type) {
-                    case LINE:
-                        this.drawLine(canvas, info, area);
-                        break;
-
-                    case CLOSED_ARC:
-                    case FILLED_ARC:
-                        this.drawCircle(canvas, info, area);
-                        break;
-                }
-            }
-        }
+    protected void onReadAttributes(ScStyleSpec spec) {
+        ScNotchsRenderer renderer = this.getRenderer();
+        renderer.setNotchs(spec.getInt(
+                R.styleable.ScComponents_scc_notchs, 0));
+        renderer.setNotchsLength(spec.getDimension(
+                R.styleable.ScComponents_scc_notchs_length, renderer.getStrokeSize() * 2));
+    }
+
+    // Create the notchs renderer
+    @Override
+    protected ScArcRenderer createRenderer(Context context) {
+        return new ScNotchsRenderer(context);
+    }
+
+    // Get the notchs renderer
+    @Override
+    public ScNotchsRenderer getRenderer() {
+        return (ScNotchsRenderer) super.getRenderer();
     }
 
 
@@ -212,10 +106,16 @@ public class ScNotchs extends ScArc {
 
         // Create a new bundle for store all the variables
         Bundle state = new Bundle();
+        ScNotchsRenderer renderer = this.getRenderer();
         // Save all starting from the parent state
         state.putParcelable("PARENT", superState);
-        state.putInt("mNotchsCount", this.mNotchsCount);
-        state.putFloat("mNotchsLength", this.mNotchsLength);
+        state.putInt("mNotchsCount", renderer.getNotchs());
+        state.putFloat("mNotchsLength", renderer.getNotchsLength());
+        state.putIntArray("mStyleColors", renderer.getNotchsColors());
+        state.putFloatArray("mStyleSizes", renderer.getNotchsSizes());
+        state.putFloatArray("mStyleLengths", renderer.getNotchsLengths());
+        state.putBooleanArray("mStyleVisibility", renderer.getNotchsVisibility());
+        state.putIntArray("mStyleTypes", ScNotchs.typesToOrdinals(renderer.getNotchsTypes()));
 
         // Return the new state
         return state;
@@ -232,8 +132,14 @@ public class ScNotchs extends ScArc {
         super.onRestoreInstanceState(superState);
 
         // Now can restore all the saved variables values
-        this.mNotchsCount = savedState.getInt("mNotchsCount");
-        this.mNotchsLength = savedState.getFloat("mNotchsLength");
+        ScNotchsRenderer renderer = this.getRenderer();
+        renderer.setNotchs(savedState.getInt("mNotchsCount"));
+        renderer.setNotchsLength(savedState.getFloat("mNotchsLength"));
+        renderer.setNotchsColors(savedState.getIntArray("mStyleColors"));
+        renderer.setNotchsSizes(savedState.getFloatArray("mStyleSizes"));
+        renderer.setNotchsLengths(savedState.getFloatArray("mStyleLengths"));
+        renderer.setNotchsVisibility(savedState.getBooleanArray("mStyleVisibility"));
+        renderer.setNotchsTypes(ScNotchs.ordinalsToTypes(savedState.getIntArray("mStyleTypes")));
     }
 
 
@@ -245,7 +151,7 @@ public class ScNotchs extends ScArc {
     // as you can see in the following code.
     // Changing the values of properties inside this you will manage the single notch rendering.
     @SuppressWarnings("unused")
-    public class NotchInfo {
+    public static class NotchInfo {
 
         public ScNotchs source = null;
         public float angle = 0.0f;
@@ -267,17 +173,15 @@ public class ScNotchs extends ScArc {
     // Notchs count
     @SuppressWarnings("unused")
     public int getNotchs() {
-        return this.mNotchsCount;
+        return this.getRenderer().getNotchs();
     }
 
     @SuppressWarnings("unused")
     public void setNotchs(int value) {
         // Check if value is changed
-        if (this.mNotchsCount != value) {
-            // Store the new value
-            this.mNotchsCount = value;
-            // Check and refresh the component
-            this.checkValues();
+        if (this.getRenderer().getNotchs() != value) {
+            // Store the new value and refresh the component
+            this.getRenderer().setNotchs(value);
             this.requestLayout();
         }
     }
@@ -285,21 +189,87 @@ public class ScNotchs extends ScArc {
     // Progress size
     @SuppressWarnings("unused")
     public float getNotchsLength() {
-        return this.mNotchsLength;
+        return this.getRenderer().getNotchsLength();
     }
 
     @SuppressWarnings("unused")
     public void setNotchsLength(float value) {
         // Check if value is changed
-        if (this.mNotchsLength != value) {
-            // Store the new value
-            this.mNotchsLength = value;
-            // Check and refresh the component
-            this.checkValues();
+        if (this.getRenderer().getNotchsLength() != value) {
+            // Store the new value and refresh the component
+            this.getRenderer().setNotchsLength(value);
             this.requestLayout();
         }
     }
 
+    // Per notch style tables.
+    // Each table hold the value of the notch with the same index. When a table is null, or
+    // shorter than the notchs count, the default value will be used for the missed notchs.
+    // The tables are evaluated only when changed and the notchs with the same style are drawn
+    // together with a single call.
+    // Note that the passed arrays are copied so must be settled again after any change.
+    @SuppressWarnings("unused")
+    public int[] getNotchsColors() {
+        return this.getRenderer().getNotchsColors();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsColors(int... values) {
+        this.getRenderer().setNotchsColors(values);
+        this.invalidate();
+    }
+
+    @SuppressWarnings("unused")
+    public float[] getNotchsSizes() {
+        return this.getRenderer().getNotchsSizes();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsSizes(float... values) {
+        this.getRenderer().setNotchsSizes(values);
+        this.invalidate();
+    }
+
+    @SuppressWarnings("unused")
+    public float[] getNotchsLengths() {
+        return this.getRenderer().getNotchsLengths();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsLengths(float... values) {
+        this.getRenderer().setNotchsLengths(values);
+        this.invalidate();
+    }
+
+    @SuppressWarnings("unused")
+    public boolean[] getNotchsVisibility() {
+        return this.getRenderer().getNotchsVisibility();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsVisibility(boolean... values) {
+        this.getRenderer().setNotchsVisibility(values);
+        this.invalidate();
+    }
+
+    @SuppressWarnings("unused")
+    public StrokeTypes[] getNotchsTypes() {
+        return this.getRenderer().getNotchsTypes();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsTypes(StrokeTypes... values) {
+        this.getRenderer().setNotchsTypes(values);
+        this.invalidate();
+    }
+
+    // Remove all the style tables
+    @SuppressWarnings("unused")
+    public void clearNotchsStyles() {
+        this.getRenderer().clearNotchsStyles();
+        this.invalidate();
+    }
+
 
     /**
      * Deprecated
@@ -318,13 +288,13 @@ public class ScNotchs extends ScArc {
     @SuppressWarnings("unused")
     @Deprecated
     public NotchsTypes getNotchsType() {
-        return NotchsTypes.values()[this.mStrokeType.ordinal()];
+        return NotchsTypes.values()[this.getStrokeType().ordinal()];
     }
 
     @SuppressWarnings("unused")
     @Deprecated
     public void setNotchsType(NotchsTypes value) {
-        this.mStrokeType = StrokeTypes.values()[value.ordinal()];
+        this.getRenderer().mStrokeType = StrokeTypes.values()[value.ordinal()];
     }
 
 
@@ -342,7 +312,7 @@ public class ScNotchs extends ScArc {
 
     @SuppressWarnings("unused")
     public void setOnDrawListener(OnDrawListener listener) {
-        this.mOnDrawListener = listener;
+        this.getRenderer().setOnDrawListener(listener);
     }
 
 }
@@ -0,0 +1,742 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Point;
+import android.graphics.RectF;
+
+/**
+ * Draw a series of notchs that follow an arc path without being a view.
+ * <p/>
+ * Contain all the drawing logic of the ScNotchs component that is a thin wrapper around this
+ * class.
+ * v1.0.0
+ */
+public class ScNotchsRenderer extends ScArcRenderer {
+
+    /**
+     * Private attributes
+     */
+
+    protected int mNotchsCount;
+    protected float mNotchsLength;
+
+
+    /**
+     * Private variables
+     */
+
+    private ScNotchs.OnDrawListener mOnDrawListener = null;
+    private ScNotchs mSource = null;
+
+    private float[] mPoints = null;
+    private boolean mPointsValid = false;
+    private int mPointsCount;
+    private float mPointsAngleStart;
+    private float mPointsAngleSweep;
+    private float mPointsLength;
+    private float mPointsSize;
+    private ScArc.StrokeTypes mPointsType;
+    private int mPointsColor;
+    private final RectF mPointsArea = new RectF();
+    private boolean mPointsStyled;
+
+    // Per notch style tables
+    private int[] mStyleColors;
+    private float[] mStyleSizes;
+    private float[] mStyleLengths;
+    private boolean[] mStyleVisibility;
+    private ScArc.StrokeTypes[] mStyleTypes;
+
+    // Notchs grouped by identical style.
+    // Each group hold its painter settings and the range of the entries inside the grouped
+    // indices and points holders.
+    private int mGroupsCount;
+    private int[] mGroupsColor;
+    private float[] mGroupsSize;
+    private float[] mGroupsLength;
+    private ScArc.StrokeTypes[] mGroupsType;
+    private int[] mGroupsStart;
+    private int[] mGroupsEnd;
+    private int[] mGroupsOffset;
+    private int[] mGroupedIndices;
+    private int[] mGroupedPositions;
+
+    // Reused on every draw to not allocate memory inside the draw cycle
+    private ScNotchs.NotchInfo mNotchInfo;
+    private final RectF mScratchStartArea = new RectF();
+    private final RectF mScratchEndArea = new RectF();
+    private final Point mScratchStartPoint = new Point();
+    private final Point mScratchEndPoint = new Point();
+
+
+    /**
+     * Constructors
+     */
+
+    public ScNotchsRenderer(Context context) {
+        super(context);
+        this.mNotchsLength = this.getStrokeSize() * 2;
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Check the values limits
+    private void checkValues() {
+        // Notchs
+        if (this.mNotchsCount < 0) this.mNotchsCount = 0;
+        if (this.mNotchsLength < 0) this.mNotchsLength = 0;
+    }
+
+    // Draw the line
+    private void drawLine(Canvas canvas, ScNotchs.NotchInfo info, RectF area) {
+        // Find the start area where find the start point
+        RectF startArea = ScArc.inflateRect(
+                area, info.length + info.distanceFromBorder, false, this.mScratchStartArea);
+        RectF endArea = ScArc.inflateRect(
+                area, info.distanceFromBorder, false, this.mScratchEndArea);
+
+        // Find the start and the end points on the canvas in reference to the arc
+        Point startPoint = ScArc.getPointFromAngle(info.angle, startArea, this.mScratchStartPoint);
+        Point endPoint = ScArc.getPointFromAngle(info.angle, endArea, this.mScratchEndPoint);
+
+        // Draw the line
+        canvas.drawLine(
+                startPoint.x, startPoint.y,
+                endPoint.x, endPoint.y,
+                this.getPainter()
+        );
+    }
+
+    // Draw the circle
+    private void drawCircle(Canvas canvas, ScNotchs.NotchInfo info, RectF area) {
+        // Find the start area where find the start point
+        float padding = info.size / 2 + info.length + info.distanceFromBorder;
+        RectF startArea = ScArc.inflateRect(area, padding, false, this.mScratchStartArea);
+
+        // Find the point on the arc starting by the angle
+        Point startPoint = ScArc.getPointFromAngle(info.angle, startArea, this.mScratchStartPoint);
+
+        // Draw the circle
+        canvas.drawCircle(
+                startPoint.x, startPoint.y,
+                info.length,
+                this.getPainter()
+        );
+    }
+
+
+    // Check if the precalculated points are still valid for the passed values
+    private boolean pointsMatch(RectF area, int count) {
+        return this.mPointsValid &&
+                this.mPointsCount == count &&
+                this.mPointsAngleStart == this.mAngleStart &&
+                this.mPointsAngleSweep == this.getAngleSweep() &&
+                this.mPointsLength == this.mNotchsLength &&
+                this.mPointsSize == this.mStrokeSize &&
+                this.mPointsType == this.mStrokeType &&
+                this.mPointsStyled == this.hasStyles() &&
+                (!this.mPointsStyled || this.mPointsColor == this.mStrokeColor) &&
+                this.mPointsArea.left == area.left &&
+                this.mPointsArea.top == area.top &&
+                this.mPointsArea.right == area.right &&
+                this.mPointsArea.bottom == area.bottom;
+    }
+
+    // Precalculate the notchs points.
+    // For the lines type each notch hold the start and the end point (4 values), for the
+    // circles each notch hold only the center (2 values).
+    // The points will be calculated again only when the notchs settings or the area change.
+    private void calcPoints(RectF area, int count, float deltaAngle) {
+        // Check if the points are still valid
+        if (this.pointsMatch(area, count)) return;
+
+        // Check the holder dimension
+        if (this.mPoints == null || this.mPoints.length < count * 4)
+            this.mPoints = new float[count * 4];
+
+        // Find the center and the radius of the area
+        float centerX = area.centerX();
+        float centerY = area.centerY();
+        float radiusX = area.width() / 2;
+        float radiusY = area.height() / 2;
+
+        // The circle is drawn inside the area
+        float padding = this.mStrokeSize / 2 + this.mNotchsLength;
+
+        // Cycle all notchs
+        boolean styled = this.hasStyles();
+        if (styled) this.calcGroups(count);
+        for (int index = 0; index < count; index++) {
+            // Find the global angle
+            double angle = Math.toRadians(index * deltaAngle + this.mAngleStart);
+            float cos = (float) Math.cos(angle);
+            float sin = (float) Math.sin(angle);
+
+            // If styled the points of each notch are calculated by its own style
+            if (styled) {
+                this.calcStyledPoint(index, cos, sin, centerX, centerY, radiusX, radiusY);
+                continue;
+            }
+
+            // Select the type
+            if (this.mStrokeType == ScArc.StrokeTypes.LINE) {
+                // The line start inside the area and end on the border
+                this.mPoints[index * 4] = (radiusX - this.mNotchsLength) * cos + centerX;
+                this.mPoints[index * 4 + 1] = (radiusY - this.mNotchsLength) * sin + centerY;
+                this.mPoints[index * 4 + 2] = radiusX * cos + centerX;
+                this.mPoints[index * 4 + 3] = radiusY * sin + centerY;
+
+            } else {
+                // The circle center
+                this.mPoints[index * 2] = (radiusX - padding) * cos + centerX;
+                this.mPoints[index * 2 + 1] = (radiusY - padding) * sin + centerY;
+            }
+        }
+
+        // Hold the values used for calculate the points
+        this.mPointsValid = true;
+        this.mPointsCount = count;
+        this.mPointsAngleStart = this.mAngleStart;
+        this.mPointsAngleSweep = this.getAngleSweep();
+        this.mPointsLength = this.mNotchsLength;
+        this.mPointsSize = this.mStrokeSize;
+        this.mPointsType = this.mStrokeType;
+        this.mPointsStyled = styled;
+        this.mPointsColor = this.mStrokeColor;
+        this.mPointsArea.set(area);
+    }
+
+    // Check if at least one style table is defined
+    private boolean hasStyles() {
+        return this.mStyleColors != null || this.mStyleSizes != null ||
+                this.mStyleLengths != null || this.mStyleVisibility != null ||
+                this.mStyleTypes != null;
+    }
+
+    // Get the style values of a notch by its index.
+    // If the table is not defined or too short the default value will be returned.
+    private int getStyleColor(int index) {
+        return this.mStyleColors != null && index < this.mStyleColors.length ?
+                this.mStyleColors[index] : this.mStrokeColor;
+    }
+
+    private float getStyleSize(int index) {
+        return this.mStyleSizes != null && index < this.mStyleSizes.length ?
+                this.mStyleSizes[index] : this.mStrokeSize;
+    }
+
+    private float getStyleLength(int index) {
+        return this.mStyleLengths != null && index < this.mStyleLengths.length ?
+                this.mStyleLengths[index] : this.mNotchsLength;
+    }
+
+    private boolean getStyleVisibility(int index) {
+        return this.mStyleVisibility == null || index >= this.mStyleVisibility.length ||
+                this.mStyleVisibility[index];
+    }
+
+    private ScArc.StrokeTypes getStyleType(int index) {
+        return this.mStyleTypes != null && index < this.mStyleTypes.length &&
+                this.mStyleTypes[index] != null ? this.mStyleTypes[index] : this.mStrokeType;
+    }
+
+    // Find the group with the passed style.
+    // Return -1 if not exists.
+    private int findGroup(int color, float size, float length, ScArc.StrokeTypes type) {
+        for (int group = 0; group < this.mGroupsCount; group++) {
+            if (this.mGroupsColor[group] == color && this.mGroupsSize[group] == size &&
+                    this.mGroupsLength[group] == length && this.mGroupsType[group] == type)
+                return group;
+        }
+        return -1;
+    }
+
+    // Group the visible notchs by identical style.
+    // The notchs are ordered by group and, inside the group, by index so the notchs inside the
+    // draw angle are always the first of each group.
+    private void calcGroups(int count) {
+        // Check the holders dimension
+        if (this.mGroupedIndices == null || this.mGroupedIndices.length < count) {
+            this.mGroupsColor = new int[count];
+            this.mGroupsSize = new float[count];
+            this.mGroupsLength = new float[count];
+            this.mGroupsType = new ScArc.StrokeTypes[count];
+            this.mGroupsStart = new int[count];
+            this.mGroupsEnd = new int[count];
+            this.mGroupsOffset = new int[count];
+            this.mGroupedIndices = new int[count];
+            this.mGroupedPositions = new int[count];
+        }
+
+        // Find the groups and count the notchs of each one.
+        // Here the end holder is used as counter.
+        this.mGroupsCount = 0;
+        for (int index = 0; index < count; index++) {
+            // Check the visibility
+            if (!this.getStyleVisibility(index)) {
+                this.mGroupedPositions[index] = -1;
+                continue;
+            }
+
+            // Find the group or create a new one
+            int color = this.getStyleColor(index);
+            float size = this.getStyleSize(index);
+            float length = this.getStyleLength(index);
+            ScArc.StrokeTypes type = this.getStyleType(index);
+
+            int group = this.findGroup(color, size, length, type);
+            if (group == -1) {
+                group = this.mGroupsCount++;
+                this.mGroupsColor[group] = color;
+                this.mGroupsSize[group] = size;
+                this.mGroupsLength[group] = length;
+                this.mGroupsType[group] = type;
+                this.mGroupsEnd[group] = 0;
+            }
+
+            // Hold the group of the notch and increase the counter
+            this.mGroupedPositions[index] = group;
+            this.mGroupsEnd[group]++;
+        }
+
+        // Find the start position of each group and its offset inside the points holder.
+        // The lines use 4 values for each notch, the circles only 2.
+        int position = 0;
+        int offset = 0;
+        for (int group = 0; group < this.mGroupsCount; group++) {
+            int size = this.mGroupsEnd[group];
+            this.mGroupsStart[group] = position;
+            this.mGroupsEnd[group] = position;
+            this.mGroupsOffset[group] = offset;
+            position += size;
+            offset += size * (this.mGroupsType[group] == ScArc.StrokeTypes.LINE ? 4 : 2);
+        }
+
+        // Place the notchs inside its group.
+        // Now the end holder is used as the next free position.
+        for (int index = 0; index < count; index++) {
+            int group = this.mGroupedPositions[index];
+            if (group == -1) continue;
+
+            int groupPosition = this.mGroupsEnd[group]++;
+            this.mGroupedPositions[index] = groupPosition;
+            this.mGroupedIndices[groupPosition] = index;
+        }
+    }
+
+    // Find the group of a grouped position
+    private int findGroupByPosition(int position) {
+        for (int group = 0; group < this.mGroupsCount; group++) {
+            if (position < this.mGroupsEnd[group]) return group;
+        }
+        return -1;
+    }
+
+    // Calc the points of a styled notch and write it on its grouped position
+    private void calcStyledPoint(
+            int index, float cos, float sin, float centerX, float centerY, float radiusX, float radiusY) {
+        // Check if visible
+        int position = this.mGroupedPositions[index];
+        if (position == -1) return;
+
+        // Find the offset inside the points holder
+        int group = this.findGroupByPosition(position);
+        float length = this.mGroupsLength[group];
+        boolean isLine = this.mGroupsType[group] == ScArc.StrokeTypes.LINE;
+        int offset = this.mGroupsOffset[group] +
+                (position - this.mGroupsStart[group]) * (isLine ? 4 : 2);
+
+        if (isLine) {
+            // The line start inside the area and end on the border
+            this.mPoints[offset] = (radiusX - length) * cos + centerX;
+            this.mPoints[offset + 1] = (radiusY - length) * sin + centerY;
+            this.mPoints[offset + 2] = radiusX * cos + centerX;
+            this.mPoints[offset + 3] = radiusY * sin + centerY;
+
+        } else {
+            // The circle center
+            float padding = this.mGroupsSize[group] / 2 + length;
+            this.mPoints[offset] = (radiusX - padding) * cos + centerX;
+            this.mPoints[offset + 1] = (radiusY - padding) * sin + centerY;
+        }
+    }
+
+    // Find how many notchs are inside the draw angle.
+    // The notchs angles grow with the index so the first notch outside the draw angle is found
+    // directly by the division and fixed only for the rounding issues.
+    private int findVisibleCount(int count, float deltaAngle) {
+        // Check for empty values
+        if (deltaAngle == 0.0f)
+            return ScArc.withinRange(0.0f, 0.0f, this.getAngleDraw()) ? count : 0;
+
+        // Find the count
+        int visible = (int) Math.floor(this.getAngleDraw() / deltaAngle) + 1;
+        visible = ScArc.valueRangeLimit(visible, 0, count);
+
+        // Fix the rounding issues
+        while (visible < count && ScArc.withinRange(visible * deltaAngle, 0, this.getAngleDraw()))
+            visible++;
+        while (visible > 0 && !ScArc.withinRange((visible - 1) * deltaAngle, 0, this.getAngleDraw()))
+            visible--;
+
+        // Return
+        return visible;
+    }
+
+    // Draw all the notchs with the same painter settings.
+    // The points are precalculated so the draw is only one call for the lines and for the
+    // filled circles.
+    private void drawBatch(Canvas canvas, RectF area, int count, float deltaAngle) {
+        // Update the points and find the notchs to draw
+        this.calcPoints(area, count, deltaAngle);
+        int visible = this.findVisibleCount(count, deltaAngle);
+        if (visible == 0) return;
+
+        // Check if styled
+        if (this.mPointsStyled) {
+            this.drawGroups(canvas, visible);
+            return;
+        }
+
+        // Draw by the case
+        Paint painter = this.getPainter();
+        switch (this.mStrokeType) {
+            case LINE:
+                // All lines at once
+                canvas.drawLines(this.mPoints, 0, visible * 4, painter);
+                break;
+
+            case CLOSED_ARC:
+                // The empty circles cannot be batched but the centers are precalculated
+                for (int index = 0; index < visible; index++) {
+                    canvas.drawCircle(
+                            this.mPoints[index * 2], this.mPoints[index * 2 + 1],
+                            this.mNotchsLength,
+                            painter
+                    );
+                }
+                break;
+
+            case FILLED_ARC:
+                // A round point with the size of the filled circle.
+                // The stroke width and the cap of the painter will be restored after the draw.
+                float strokeWidth = painter.getStrokeWidth();
+                Paint.Cap cap = painter.getStrokeCap();
+
+                painter.setStrokeWidth(this.mNotchsLength * 2 + this.mStrokeSize);
+                painter.setStrokeCap(Paint.Cap.ROUND);
+                canvas.drawPoints(this.mPoints, 0, visible * 2, painter);
+
+                painter.setStrokeWidth(strokeWidth);
+                painter.setStrokeCap(cap);
+                break;
+        }
+    }
+
+
+    // Draw the notchs grouped by style.
+    // The painter is changed only one time for each group and restored at the end.
+    private void drawGroups(Canvas canvas, int visible) {
+        // Hold the painter settings
+        Paint painter = this.getPainter();
+        int color = painter.getColor();
+        float strokeWidth = painter.getStrokeWidth();
+        Paint.Cap cap = painter.getStrokeCap();
+        Paint.Style style = painter.getStyle();
+
+        // Cycle all groups
+        for (int group = 0; group < this.mGroupsCount; group++) {
+            // Find how many notchs of the group are inside the draw angle
+            int start = this.mGroupsStart[group];
+            int end = start;
+            while (end < this.mGroupsEnd[group] && this.mGroupedIndices[end] < visible) end++;
+
+            int drawCount = end - start;
+            if (drawCount == 0) continue;
+
+            // Apply the group settings
+            int offset = this.mGroupsOffset[group];
+            float length = this.mGroupsLength[group];
+            painter.setColor(this.mGroupsColor[group]);
+            painter.setStrokeWidth(this.mGroupsSize[group]);
+            painter.setStrokeCap(cap);
+
+            // Draw by the case
+            switch (this.mGroupsType[group]) {
+                case LINE:
+                    // All lines at once
+                    painter.setStyle(Paint.Style.STROKE);
+                    canvas.drawLines(this.mPoints, offset, drawCount * 4, painter);
+                    break;
+
+                case CLOSED_ARC:
+                    // The empty circles cannot be batched
+                    painter.setStyle(Paint.Style.STROKE);
+                    for (int index = 0; index < drawCount; index++) {
+                        canvas.drawCircle(
+                                this.mPoints[offset + index * 2],
+                                this.mPoints[offset + index * 2 + 1],
+                                length,
+                                painter
+                        );
+                    }
+                    break;
+
+                case FILLED_ARC:
+                    // A round point with the size of the filled circle
+                    painter.setStrokeWidth(length * 2 + this.mGroupsSize[group]);
+                    painter.setStrokeCap(Paint.Cap.ROUND);
+                    canvas.drawPoints(this.mPoints, offset, drawCount * 2, painter);
+                    break;
+            }
+        }
+
+        // Restore the painter
+        painter.setColor(color);
+        painter.setStrokeWidth(strokeWidth);
+        painter.setStrokeCap(cap);
+        painter.setStyle(style);
+    }
+
+    // Reset the points when a style table change
+    private void styleChanged() {
+        this.mPointsValid = false;
+        this.changed();
+    }
+
+
+    /**
+     * Overrides
+     */
+
+    // The notchs occupy their length across the arc
+    @Override
+    float getLayoutSize() {
+        return this.getNotchsLength();
+    }
+
+    // Draw the notchs on the canvas
+    // TODO: when scaled have notchs visual issue
+    @Override
+    protected void internalDraw(Canvas canvas, RectF area) {
+        // Draw only if the notch length and count is more of zero.
+        if (this.mNotchsCount <= 0) return;
+
+        // Calc the delta angle and the real notchs count
+        int count = this.mNotchsCount + (this.getAngleSweep() >= ScArc.DEFAULT_ANGLE_MAX ? 0 : 1);
+        float deltaAngle = this.getAngleSweep() / this.mNotchsCount;
+
+        // If no need to call the listener for each notch draw all notchs in one batch
+        if (this.mOnDrawListener == null) {
+            this.drawBatch(canvas, area, count, deltaAngle);
+            return;
+        }
+
+        // Cycle all notchs
+        for (int index = 0; index < count; index++) {
+            // Find current the angle and length
+            float currentAngle = index * deltaAngle;
+            // If the current angle is outside the draw limit stop to draw
+            if (!ScArc.withinRange(currentAngle, 0, this.getAngleDraw())) break;
+
+            // Reset the notch info to pass to the listener.
+            // The same instance is reused for all notchs so all the values must be written.
+            // Note that adjust the current angle to a global angle.
+            if (this.mNotchInfo == null) this.mNotchInfo = new ScNotchs.NotchInfo();
+            ScNotchs.NotchInfo info = this.mNotchInfo;
+            info.source = this.mSource;
+            info.angle = currentAngle + this.mAngleStart;
+            info.color = this.getStyleColor(index);
+            info.index = index;
+            info.length = this.getStyleLength(index);
+            info.size = this.getStyleSize(index);
+            info.type = this.getStyleType(index);
+            info.distanceFromBorder = 0.0f;
+            info.visible = this.getStyleVisibility(index);
+
+            // Check if the listener is linked
+            if (this.mOnDrawListener != null) {
+                // Call the method
+                this.mOnDrawListener.onDrawNotch(info);
+
+                // Apply the info to the painter
+                this.getPainter().setStrokeWidth(info.size);
+                this.getPainter().setColor(info.color);
+            }
+
+            // Draw only if visible
+            if (info.visible) {
+                // Draw the line by the case
+                switch (info.type) {
+                    case LINE:
+                        this.drawLine(canvas, info, area);
+                        break;
+
+                    case CLOSED_ARC:
+                    case FILLED_ARC:
+                        this.drawCircle(canvas, info, area);
+                        break;
+                }
+            }
+        }
+    }
+
+
+    // The notchs are drawn inside the area border.
+    // The circles are inside the border of its size plus the length and its radius is the
+    // length so the thickness is the double of the length plus the size.
+    @Override
+    protected float getDrawingThickness() {
+        return this.mNotchsLength * 2 + this.mStrokeSize;
+    }
+
+    // Find the bounds of the notchs sector.
+    // If the notchs are customized by the listener or by the style tables its position cannot be
+    // known before the draw so the bounds will be the whole component.
+    @Override
+    public RectF getSectorBounds(float fromAngle, float toAngle, RectF out) {
+        // Check for customizations
+        if (this.mOnDrawListener != null || this.hasStyles()) return this.getDrawingBounds(out);
+
+        // The lines go over the sector limits of the half stroke size
+        super.getSectorBounds(fromAngle, toAngle, out);
+        if (!out.isEmpty()) out.inset(-this.mStrokeSize / 2, -this.mStrokeSize / 2);
+        return out;
+    }
+
+
+    /**
+     * Package methods
+     */
+
+    // The notchs view linked to the notch info passed to the listener
+    void setSource(ScNotchs source) {
+        this.mSource = source;
+    }
+
+
+    /**
+     * Public properties
+     */
+
+    // Notchs count
+    @SuppressWarnings("unused")
+    public int getNotchs() {
+        return this.mNotchsCount;
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchs(int value) {
+        // Check if value is changed
+        if (this.mNotchsCount != value) {
+            // Store the new value and check it
+            this.mNotchsCount = value;
+            this.checkValues();
+            this.changed();
+        }
+    }
+
+    // Notchs length
+    @SuppressWarnings("unused")
+    public float getNotchsLength() {
+        return this.mNotchsLength;
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsLength(float value) {
+        // Check if value is changed
+        if (this.mNotchsLength != value) {
+            // Store the new value and check it
+            this.mNotchsLength = value;
+            this.checkValues();
+            this.changed();
+        }
+    }
+
+    // Per notch style tables.
+    // Each table hold the value of the notch with the same index. When a table is null, or
+    // shorter than the notchs count, the default value will be used for the missed notchs.
+    // Note that the passed arrays are copied so must be settled again after any change.
+    @SuppressWarnings("unused")
+    public int[] getNotchsColors() {
+        return this.mStyleColors == null ? null : this.mStyleColors.clone();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsColors(int... values) {
+        this.mStyleColors = values == null ? null : values.clone();
+        this.styleChanged();
+    }
+
+    @SuppressWarnings("unused")
+    public float[] getNotchsSizes() {
+        return this.mStyleSizes == null ? null : this.mStyleSizes.clone();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsSizes(float... values) {
+        this.mStyleSizes = values == null ? null : values.clone();
+        this.styleChanged();
+    }
+
+    @SuppressWarnings("unused")
+    public float[] getNotchsLengths() {
+        return this.mStyleLengths == null ? null : this.mStyleLengths.clone();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsLengths(float... values) {
+        this.mStyleLengths = values == null ? null : values.clone();
+        this.styleChanged();
+    }
+
+    @SuppressWarnings("unused")
+    public boolean[] getNotchsVisibility() {
+        return this.mStyleVisibility == null ? null : this.mStyleVisibility.clone();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsVisibility(boolean... values) {
+        this.mStyleVisibility = values == null ? null : values.clone();
+        this.styleChanged();
+    }
+
+    @SuppressWarnings("unused")
+    public ScArc.StrokeTypes[] getNotchsTypes() {
+        return this.mStyleTypes == null ? null : this.mStyleTypes.clone();
+    }
+
+    @SuppressWarnings("unused")
+    public void setNotchsTypes(ScArc.StrokeTypes... values) {
+        this.mStyleTypes = values == null ? null : values.clone();
+        this.styleChanged();
+    }
+
+    // Remove all the style tables
+    @SuppressWarnings("unused")
+    public void clearNotchsStyles() {
+        this.mStyleColors = null;
+        this.mStyleSizes = null;
+        this.mStyleLengths = null;
+        this.mStyleVisibility = null;
+        this.mStyleTypes = null;
+        this.styleChanged();
+    }
+
+    // Draw listener.
+    // Without a listener the notchs are drawn in batch.
+    @SuppressWarnings("unused")
+    public void setOnDrawListener(ScNotchs.OnDrawListener listener) {
+        // Check if value is changed
+        if (this.mOnDrawListener != listener) {
+            this.mOnDrawListener = listener;
+            this.changed();
+        }
+    }
+
+}
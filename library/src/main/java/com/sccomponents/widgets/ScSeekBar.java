@@ -1,7 +1,6 @@
 package com.sccomponents.widgets;
 
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
@@ -46,8 +45,10 @@ public class ScSeekBar extends ScGauge {
     private Paint mHaloPaint;
 
     private boolean mArcPressed;
+    private final Point mPointerPosition = new Point();
 
     private OnDrawListener mOnDrawListener;
+    private ScGauge.OnDrawListener mForwardListener;
 
 
     /**
@@ -56,17 +57,17 @@ public class ScSeekBar extends ScGauge {
 
     public ScSeekBar(Context context) {
         super(context);
-        this.init(context, null, 0);
+        this.init();
     }
 
     public ScSeekBar(Context context, AttributeSet attrs) {
         super(context, attrs);
-        this.init(context, attrs, 0);
+        this.init();
     }
 
     public ScSeekBar(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init(context, attrs, defStyleAttr);
+        this.init();
     }
 
 
@@ -81,26 +82,9 @@ public class ScSeekBar extends ScGauge {
         if (this.mHaloSize < 0) this.mHaloSize = 0;
     }
 
-    // Init the component
-    private void init(Context context, AttributeSet attrs, int defStyle) {
-        //--------------------------------------------------
-        // ATTRIBUTES
-
-        // Get the attributes list
-        final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.ScComponents, defStyle, 0);
-
-        // Read all attributes from xml and assign the value to linked variables
-        this.mPointerRadius = attrArray.getDimension(
-                R.styleable.ScComponents_scc_pointer_radius, this.dipToPixel(ScSeekBar.DEFAULT_POINTER_RADIUS));
-        this.mPointerColor = attrArray.getColor(
-                R.styleable.ScComponents_scc_pointer_color, ScSeekBar.DEFAULT_POINTER_COLOR);
-
-        this.mHaloSize = attrArray.getDimension(
-                R.styleable.ScComponents_scc_halo_size, this.dipToPixel(ScSeekBar.DEFAULT_HALO_SIZE));
-
-        // Recycle
-        attrArray.recycle();
-
+    // Init the component.
+    // The attributes are read by the onReadAttributes method during the base class init.
+    private void init() {
         //--------------------------------------------------
         // INTERNAL
 
@@ -133,7 +117,8 @@ public class ScSeekBar extends ScGauge {
         // Do it because in this class some methods of the listener interface is updated.
         // Noted that the onBeforeDraw will be not forwarded because it also change the calling
         // position respect to code.
-        super.setOnDrawListener(new ScGauge.OnDrawListener() {
+        // The forwarder will be linked to the base class only when a listener is set.
+        this.mForwardListener = new ScGauge.OnDrawListener() {
             @Override
             public void onBeforeDraw(Paint baseArc, Paint notchsArc, Paint progressArc) {
                 // Do nothing
@@ -147,7 +132,7 @@ public class ScSeekBar extends ScGauge {
                     ScSeekBar.this.mOnDrawListener.onDrawNotch(info);
                 }
             }
-        });
+        };
     }
 
     // Get the real dimension of the pointer
@@ -178,9 +163,10 @@ public class ScSeekBar extends ScGauge {
         if (this.mPointerRadius <= 0) return;
         if (this.mSnapToNotchs && this.mNotchsCount == 0) return ;
 
-        // The actual pointer position
-        Point position = this.getProgressArc()
-                .getPointFromAngle(this.getProgressArc().getAngleDraw());
+        // The actual pointer position.
+        // The point holder is reused for not allocate memory on each frame.
+        ScArcRenderer progress = this.getProgressRenderer();
+        Point position = progress.getPointFromAngle(progress.getAngleDraw(), 0.0f, this.mPointerPosition);
 
         // Draw the circle and the halo
         canvas.drawCircle(position.x, position.y, this.mPointerRadius, this.mPointerPaint);
@@ -192,6 +178,26 @@ public class ScSeekBar extends ScGauge {
      * Overrides
      */
 
+    // Read the pointer attributes from the same spec of the base class
+    @Override
+    protected void onReadAttributes(ScStyleSpec spec) {
+        // Read all attributes from xml and assign the value to linked variables
+        this.mPointerRadius = spec.getDimension(
+                R.styleable.ScComponents_scc_pointer_radius, this.dipToPixel(ScSeekBar.DEFAULT_POINTER_RADIUS));
+        this.mPointerColor = spec.getColor(
+                R.styleable.ScComponents_scc_pointer_color, ScSeekBar.DEFAULT_POINTER_COLOR);
+
+        this.mHaloSize = spec.getDimension(
+                R.styleable.ScComponents_scc_halo_size, this.dipToPixel(ScSeekBar.DEFAULT_HALO_SIZE));
+    }
+
+    // The pointer and its halo are drawn over the progress end so the refreshed area must
+    // contain it when the value change.
+    @Override
+    protected float getValueChangeMargin() {
+        return this.mPointerRadius + this.mHaloSize + 1.0f;
+    }
+
     // On draw
     @Override
     protected void onDraw(Canvas canvas) {
@@ -204,9 +210,9 @@ public class ScSeekBar extends ScGauge {
             // Call the on before draw methods with the all parameters updated respect the base
             // class ScGauge.
             this.mOnDrawListener.onBeforeDraw(
-                    this.getBaseArc().getPainter(),
-                    this.getNotchsArc().getPainter(),
-                    this.getProgressArc().getPainter(),
+                    this.getBaseRenderer().getPainter(),
+                    this.getNotchsRenderer().getPainter(),
+                    this.getProgressRenderer().getPainter(),
                     this.mPointerPaint,
                     this.mHaloPaint,
                     this.mArcPressed
@@ -230,8 +236,8 @@ public class ScSeekBar extends ScGauge {
         // Get the angle from touch position and check if the point belong to the arc.
         // Note that the touch precision level is defined by the size of the pointer draw on the
         // the component.
-        float angle = this.getBaseArc().getAngleFromPoint(x, y);
-        boolean belong = this.getBaseArc().belongsToArc(x, y, this.getPointerSize());
+        float angle = this.getBaseRenderer().getAngleFromPoint(x, y);
+        boolean belong = this.getBaseRenderer().belongsToArc(x, y, this.getPointerSize());
 
         // Select case by action type
         switch (event.getAction()) {
@@ -302,6 +308,82 @@ public class ScSeekBar extends ScGauge {
     }
 
 
+    /**
+     * Public methods
+     */
+
+    // The gauge configuration plus the pointer settings.
+    // The sizes must be passed in pixel.
+    @SuppressWarnings("unused")
+    public static class Config extends ScGauge.Config {
+
+        public float pointerRadius;
+        public int pointerColor = ScSeekBar.DEFAULT_POINTER_COLOR;
+        public float haloSize;
+
+        public Config(Context context) {
+            // Same defaults of the seek bar created without attributes
+            super(context);
+            float density = context.getResources().getDisplayMetrics().density;
+
+            this.pointerRadius = ScSeekBar.DEFAULT_POINTER_RADIUS * density;
+            this.haloSize = ScSeekBar.DEFAULT_HALO_SIZE * density;
+        }
+
+    }
+
+    // Fill the passed configuration with the current settings.
+    // If the configuration is the seek bar one the pointer settings will be filled too.
+    @Override
+    public ScGauge.Config getConfig(ScGauge.Config out) {
+        super.getConfig(out);
+        if (out instanceof Config) {
+            Config config = (Config) out;
+            config.pointerRadius = this.mPointerRadius;
+            config.pointerColor = this.mPointerColor;
+            config.haloSize = this.mHaloSize;
+        }
+        return out;
+    }
+
+    // Bind the component to a configuration and a value in degrees.
+    // If the configuration is the seek bar one the pointer settings will be applied too.
+    @Override
+    public boolean bind(ScGauge.Config config, float value) {
+        // Holders
+        boolean layout = false;
+        this.mArcPressed = false;
+
+        // Pointer settings
+        if (config instanceof Config) {
+            Config seek = (Config) config;
+            if (this.mPointerRadius != seek.pointerRadius || this.mHaloSize != seek.haloSize) {
+                this.mPointerRadius = seek.pointerRadius;
+                this.mHaloSize = seek.haloSize;
+                this.checkValues();
+                this.mHaloPaint.setStrokeWidth(this.mHaloSize);
+                layout = true;
+            }
+            this.mPointerColor = seek.pointerColor;
+            this.mPointerPaint.setColor(seek.pointerColor);
+            this.mHaloPaint.setColor(seek.pointerColor);
+        }
+
+        // Apply the gauge configuration
+        boolean parentLayout = super.bind(config, value);
+        if (layout && !parentLayout) this.requestLayout();
+        return layout || parentLayout;
+    }
+
+    // Reset the component state for be reused.
+    // Release the pointer pressed status too.
+    @Override
+    public void reset() {
+        this.mArcPressed = false;
+        super.reset();
+    }
+
+
     /**
      * Public properties
      */
@@ -367,7 +449,9 @@ public class ScSeekBar extends ScGauge {
 
     @SuppressWarnings("unused")
     public void setOnDrawListener(OnDrawListener listener) {
+        // Hold the listener and link the forwarder to the base class only if needed
         this.mOnDrawListener = listener;
+        super.setOnDrawListener(listener != null ? this.mForwardListener : null);
     }
 
 }
\ No newline at end of file
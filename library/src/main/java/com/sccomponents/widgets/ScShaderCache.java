@@ -0,0 +1,221 @@
+package com.sccomponents.widgets;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.RectF;
+import android.graphics.Shader;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the shaders used to fill the arcs.
+ * <p/>
+ * The shaders are content-addressed: two arcs with the same colors, filling mode, angles and
+ * drawing area will share the same shader instance also if they live in different views.
+ * The cache is bounded (LRU) and will be released when the system ask to trim the memory.
+ * v1.0.0
+ */
+public final class ScShaderCache {
+
+    /**
+     * Constants
+     */
+
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+
+    /**
+     * Private variables
+     */
+
+    private static int sMaxSize = ScShaderCache.DEFAULT_MAX_SIZE;
+    private static boolean sRegistered = false;
+
+    // Access ordered map used as LRU
+    private static final LinkedHashMap<Key, Shader> sCache =
+            new LinkedHashMap<Key, Shader>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Shader> eldest) {
+                    return this.size() > ScShaderCache.sMaxSize;
+                }
+            };
+
+
+    /**
+     * Constructors
+     */
+
+    private ScShaderCache() {
+        // Only static
+    }
+
+
+    /**
+     * Static methods
+     */
+
+    // Register the cache to the application memory callbacks.
+    // Only the first call will register the listener, the next calls will be ignored.
+    @SuppressWarnings("unused")
+    public static synchronized void register(Context context) {
+        // Check if already registered
+        if (ScShaderCache.sRegistered || context == null) return;
+        ScShaderCache.sRegistered = true;
+
+        // Listen the memory events from the application context
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                ScShaderCache.trimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+                // Do nothing
+            }
+
+            @Override
+            public void onLowMemory() {
+                ScShaderCache.clear();
+            }
+        });
+    }
+
+    // Get a shader from the cache.
+    // Return null if the key is not present.
+    @SuppressWarnings("unused")
+    public static synchronized Shader get(Key key) {
+        return ScShaderCache.sCache.get(key);
+    }
+
+    // Put a shader inside the cache
+    @SuppressWarnings("unused")
+    public static synchronized void put(Key key, Shader shader) {
+        // Check for empty values
+        if (key == null || shader == null) return;
+        ScShaderCache.sCache.put(key, shader);
+    }
+
+    // Release all the cached shaders
+    @SuppressWarnings("unused")
+    public static synchronized void clear() {
+        ScShaderCache.sCache.clear();
+    }
+
+    // Manage the system trim memory request.
+    // All the shaders will be released as the cache can be rebuilt on the next draw.
+    @SuppressWarnings("unused")
+    public static void trimMemory(int level) {
+        ScShaderCache.clear();
+    }
+
+    // Max size
+    @SuppressWarnings("unused")
+    public static synchronized int getMaxSize() {
+        return ScShaderCache.sMaxSize;
+    }
+
+    @SuppressWarnings("unused")
+    public static synchronized void setMaxSize(int value) {
+        // Check the limits
+        ScShaderCache.sMaxSize = value < 0 ? 0 : value;
+
+        // Remove the eldest entries until the cache fit the new size
+        while (ScShaderCache.sCache.size() > ScShaderCache.sMaxSize) {
+            Key eldest = ScShaderCache.sCache.keySet().iterator().next();
+            ScShaderCache.sCache.remove(eldest);
+        }
+    }
+
+    // Get the current cache size
+    @SuppressWarnings("unused")
+    public static synchronized int size() {
+        return ScShaderCache.sCache.size();
+    }
+
+
+    /**
+     * Key
+     */
+
+    // The key hold a copy of all the values used to build a shader.
+    // Being immutable can be used as map key and compared with the current values of the arc
+    // without creating a new instance.
+    @SuppressWarnings("unused")
+    public static final class Key {
+
+        private final int[] mColors;
+        private final int mMode;
+        private final float mAngleStart;
+        private final float mAngleSweep;
+        private final float mLeft;
+        private final float mTop;
+        private final float mRight;
+        private final float mBottom;
+        private final int mHash;
+
+        public Key(int[] colors, int mode, float angleStart, float angleSweep, RectF area) {
+            // Hold a copy of the colors because the source array can change
+            this.mColors = colors == null ? new int[0] : Arrays.copyOf(colors, colors.length);
+            this.mMode = mode;
+            this.mAngleStart = angleStart;
+            this.mAngleSweep = angleSweep;
+            this.mLeft = area.left;
+            this.mTop = area.top;
+            this.mRight = area.right;
+            this.mBottom = area.bottom;
+
+            // Pre-calculate the hash
+            int hash = Arrays.hashCode(this.mColors);
+            hash = 31 * hash + this.mMode;
+            hash = 31 * hash + Float.floatToIntBits(this.mAngleStart);
+            hash = 31 * hash + Float.floatToIntBits(this.mAngleSweep);
+            hash = 31 * hash + Float.floatToIntBits(this.mLeft);
+            hash = 31 * hash + Float.floatToIntBits(this.mTop);
+            hash = 31 * hash + Float.floatToIntBits(this.mRight);
+            hash = 31 * hash + Float.floatToIntBits(this.mBottom);
+            this.mHash = hash;
+        }
+
+        // Check if the key was built with the passed values
+        public boolean matches(int[] colors, int mode, float angleStart, float angleSweep, RectF area) {
+            return this.mMode == mode &&
+                    Float.compare(this.mAngleStart, angleStart) == 0 &&
+                    Float.compare(this.mAngleSweep, angleSweep) == 0 &&
+                    Float.compare(this.mLeft, area.left) == 0 &&
+                    Float.compare(this.mTop, area.top) == 0 &&
+                    Float.compare(this.mRight, area.right) == 0 &&
+                    Float.compare(this.mBottom, area.bottom) == 0 &&
+                    Arrays.equals(this.mColors, colors);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            // Check the instance
+            if (this == object) return true;
+            if (!(object instanceof Key)) return false;
+
+            // Compare all values
+            Key key = (Key) object;
+            return this.mHash == key.mHash &&
+                    this.mMode == key.mMode &&
+                    Float.compare(this.mAngleStart, key.mAngleStart) == 0 &&
+                    Float.compare(this.mAngleSweep, key.mAngleSweep) == 0 &&
+                    Float.compare(this.mLeft, key.mLeft) == 0 &&
+                    Float.compare(this.mTop, key.mTop) == 0 &&
+                    Float.compare(this.mRight, key.mRight) == 0 &&
+                    Float.compare(this.mBottom, key.mBottom) == 0 &&
+                    Arrays.equals(this.mColors, key.mColors);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.mHash;
+        }
+
+    }
+
+}
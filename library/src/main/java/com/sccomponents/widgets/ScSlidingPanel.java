@@ -3,6 +3,7 @@ package com.sccomponents.widgets;
 import android.animation.Animator;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.util.AttributeSet;
@@ -38,6 +39,7 @@ public class ScSlidingPanel
     private int mHandleSize = 0;
     private int mOffset = 0;
     private boolean mHideOnClose = true;
+    private boolean mHardwareLayerOnAnimation = true;
 
 
     /**
@@ -48,6 +50,7 @@ public class ScSlidingPanel
     private boolean mIsFirstTime = true;
 
     private boolean mDrag = false;
+    private int mSavedLayerType = -1;
     private float mStartX = 0;
     private float mStartY = 0;
 
@@ -140,6 +143,31 @@ public class ScSlidingPanel
         }
     }
 
+    // Move the panel to an hardware layer.
+    // While the panel is moving its content not change so rendering it once inside the layer
+    // the translation frames only need to compose the layer.
+    // The current layer type is saved to be restored at the end.
+    private void startHardwareLayer() {
+        // Check if enabled or already started
+        if (!this.mHardwareLayerOnAnimation || this.mSavedLayerType != -1) return;
+
+        // Save the current layer type and change it
+        this.mSavedLayerType = this.getLayerType();
+        if (this.mSavedLayerType != View.LAYER_TYPE_HARDWARE)
+            this.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    }
+
+    // Restore the original layer type
+    private void stopHardwareLayer() {
+        // Check if started
+        if (this.mSavedLayerType == -1) return;
+
+        // Restore
+        if (this.getLayerType() != this.mSavedLayerType)
+            this.setLayerType(this.mSavedLayerType, null);
+        this.mSavedLayerType = -1;
+    }
+
     // Animate the panel by the current status
     private void doAnimate(int duration, boolean withEvent) {
         // Find alignments
@@ -158,6 +186,13 @@ public class ScSlidingPanel
             // The duration is passed as params because need to make an open/close without animation.
             // For example when the panel start opened or closed.
             animator.setDuration(duration);
+
+            // Use the hardware layer for the animation duration.
+            // Where available the animator manage the layer by itself.
+            if (duration > 0 && this.mHardwareLayerOnAnimation) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) animator.withLayer();
+                else this.startHardwareLayer();
+            }
         }
 
         // Start alpha animation if needed
@@ -290,11 +325,13 @@ public class ScSlidingPanel
         }
     }
 
-    // Check for pending position
-    private void checkForPendingPosition() {
+    // Check for pending position.
+    // Return true if the panel was animated to its final position.
+    private boolean checkForPendingPosition() {
         // Get the current translations
         float transX = Math.abs(this.getTranslationX());
         float transY = Math.abs(this.getTranslationY());
+        boolean animated = false;
 
         // Check the x position
         if ((this.mLeftAlignment || this.mRightAlignment) && transX != 0) {
@@ -306,6 +343,7 @@ public class ScSlidingPanel
             } else {
                 this.open();
             }
+            animated = true;
         }
 
         // Check the y position
@@ -318,7 +356,11 @@ public class ScSlidingPanel
             } else {
                 this.open();
             }
+            animated = true;
         }
+
+        // Return
+        return animated;
     }
 
 
@@ -362,6 +404,9 @@ public class ScSlidingPanel
 
                 // If drag
                 if (this.mDrag) {
+                    // Use the hardware layer while dragging
+                    this.startHardwareLayer();
+
                     // Save the pointer position
                     this.mStartX = event.getX();
                     this.mStartY = event.getY();
@@ -382,9 +427,10 @@ public class ScSlidingPanel
                         ((this.mTopAlignment || this.mBottomAlignment) && this.mStartY != event.getY());
 
                 // Finish drag
+                boolean animated = false;
                 if (this.mDrag && isScrolled) {
                     // Fix the last position
-                    this.checkForPendingPosition();
+                    animated = this.checkForPendingPosition();
 
                     // Listener
                     if (this.mOnHandleDragListener != null) {
@@ -394,6 +440,8 @@ public class ScSlidingPanel
 
                 //Trigger
                 this.mDrag = false;
+                // If the panel is settling the layer will be restored at the animation end
+                if (!animated) this.stopHardwareLayer();
 
                 // Emulate onclick
                 if (this.mToggleOnTouch && !isScrolled) {
@@ -420,6 +468,14 @@ public class ScSlidingPanel
         return true;
     }
 
+    // When is detached from parent
+    @Override
+    protected void onDetachedFromWindow() {
+        // Restore the layer type if was changed
+        super.onDetachedFromWindow();
+        this.stopHardwareLayer();
+    }
+
     // Change size
     @Override
     protected void onSizeChanged(int xNew, int yNew, int xOld, int yOld) {
@@ -453,6 +509,7 @@ public class ScSlidingPanel
         state.putInt("mDuration", this.mDuration);
         state.putInt("mHandleSize", this.mHandleSize);
         state.putInt("mOffset", this.mOffset);
+        state.putBoolean("mHardwareLayerOnAnimation", this.mHardwareLayerOnAnimation);
 
         return state;
     }
@@ -473,6 +530,7 @@ public class ScSlidingPanel
         this.mDuration = savedState.getInt("mDuration");
         this.mHandleSize = savedState.getInt("mHandleSize");
         this.mOffset = savedState.getInt("mOffset");
+        this.mHardwareLayerOnAnimation = savedState.getBoolean("mHardwareLayerOnAnimation", true);
     }
 
 
@@ -487,8 +545,9 @@ public class ScSlidingPanel
 
     @Override
     public void onAnimationEnd(Animator animation) {
-        // Call super
+        // Call super and restore the layer type if was changed
         super.onAnimationEnd();
+        this.stopHardwareLayer();
 
         // Recalculate all
         this.requestLayout();
@@ -616,6 +675,21 @@ public class ScSlidingPanel
     }
 
 
+    // Hardware layer on animation.
+    // When enabled the panel is moved to an hardware layer while sliding or dragging and the
+    // original layer type is restored at the end.
+    @SuppressWarnings("unused")
+    public boolean getHardwareLayerOnAnimation() {
+        return this.mHardwareLayerOnAnimation;
+    }
+
+    @SuppressWarnings("unused")
+    public void setHardwareLayerOnAnimation(boolean value) {
+        this.mHardwareLayerOnAnimation = value;
+        if (!value) this.stopHardwareLayer();
+    }
+
+
     /**
      * Public methods
      */
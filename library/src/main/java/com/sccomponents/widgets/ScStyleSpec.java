@@ -0,0 +1,318 @@
+package com.sccomponents.widgets;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable snapshot of the resolved ScComponents attributes.
+ * <p/>
+ * Parsing the styled attributes is expensive and the many widgets of a screen often share the
+ * same style resource. The specs are cached by theme, style resource and default style so the
+ * widgets that use the same style will parse it only once.
+ * The resources configuration and the style resolved by the theme for the default style are
+ * part of the key, so the qualified resources (night mode, orientation, screen size) and the
+ * default style changed by Theme.applyStyle are resolved again when they change.
+ * When the widget define some component attribute directly inside the layout the spec is
+ * parsed as usual and not cached.
+ * v1.0.0
+ */
+public final class ScStyleSpec {
+
+    /**
+     * Constants
+     */
+
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_FLOAT = 1;
+    private static final int TYPE_DIMENSION = 2;
+    private static final int TYPE_COLOR = 3;
+    private static final int TYPE_INT = 4;
+    private static final int TYPE_BOOLEAN = 5;
+
+
+    /**
+     * Private variables
+     */
+
+    private final int mStyleRes;
+    private final int mDefStyle;
+    private final int mDefStyleRes;
+    private final float mDensity;
+    private final Configuration mConfiguration;
+
+    private final boolean[] mHas;
+    private final float[] mFloats;
+    private final int[] mInts;
+
+
+    /**
+     * Static variables
+     */
+
+    // The cached specs grouped by theme.
+    // The themes are weak referenced so the specs are released with the activity.
+    private static final WeakHashMap<Resources.Theme, ArrayList<ScStyleSpec>> sCache =
+            new WeakHashMap<>();
+
+    // The type of each attribute, indexed by the styleable index
+    private static int[] sTypes;
+
+    // Holder used to resolve the default style, guarded by the cache
+    private static final TypedValue sTypedValue = new TypedValue();
+
+
+    /**
+     * Constructors
+     */
+
+    private ScStyleSpec(TypedArray attrArray, int styleRes, int defStyle, int defStyleRes,
+                        float density, Configuration configuration) {
+        // Store the key
+        this.mStyleRes = styleRes;
+        this.mDefStyle = defStyle;
+        this.mDefStyleRes = defStyleRes;
+        this.mDensity = density;
+        this.mConfiguration = new Configuration(configuration);
+
+        // Create the holders
+        int[] types = ScStyleSpec.getTypes();
+        this.mHas = new boolean[types.length];
+        this.mFloats = new float[types.length];
+        this.mInts = new int[types.length];
+
+        // Resolve all the known attributes
+        for (int index = 0; index < types.length; index++) {
+            // Check if the attribute is defined
+            if (types[index] == ScStyleSpec.TYPE_NONE || !attrArray.hasValue(index)) continue;
+            this.mHas[index] = true;
+
+            // Read the value by type
+            switch (types[index]) {
+                case ScStyleSpec.TYPE_FLOAT:
+                    this.mFloats[index] = attrArray.getFloat(index, 0.0f);
+                    break;
+
+                case ScStyleSpec.TYPE_DIMENSION:
+                    this.mFloats[index] = attrArray.getDimension(index, 0.0f);
+                    this.mInts[index] = attrArray.getDimensionPixelSize(index, 0);
+                    break;
+
+                case ScStyleSpec.TYPE_COLOR:
+                    this.mInts[index] = attrArray.getColor(index, 0);
+                    break;
+
+                case ScStyleSpec.TYPE_INT:
+                    this.mInts[index] = attrArray.getInt(index, 0);
+                    break;
+
+                case ScStyleSpec.TYPE_BOOLEAN:
+                    this.mInts[index] = attrArray.getBoolean(index, false) ? 1 : 0;
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Get the type of the attributes held by the spec.
+    // The styleable indexes are not constants so the table is created on the first use.
+    private static int[] getTypes() {
+        // Check if already created
+        if (ScStyleSpec.sTypes != null) return ScStyleSpec.sTypes;
+
+        // Create the table
+        int[] types = new int[R.styleable.ScComponents.length];
+        types[R.styleable.ScComponents_scc_angle_start] = ScStyleSpec.TYPE_FLOAT;
+        types[R.styleable.ScComponents_scc_angle_sweep] = ScStyleSpec.TYPE_FLOAT;
+        types[R.styleable.ScComponents_scc_angle_draw] = ScStyleSpec.TYPE_FLOAT;
+        types[R.styleable.ScComponents_scc_value] = ScStyleSpec.TYPE_FLOAT;
+
+        types[R.styleable.ScComponents_scc_stroke_size] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_progress_size] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_pointer_radius] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_halo_size] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_notchs_size] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_notchs_length] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_max_width] = ScStyleSpec.TYPE_DIMENSION;
+        types[R.styleable.ScComponents_scc_max_height] = ScStyleSpec.TYPE_DIMENSION;
+
+        types[R.styleable.ScComponents_scc_stroke_color] = ScStyleSpec.TYPE_COLOR;
+        types[R.styleable.ScComponents_scc_progress_color] = ScStyleSpec.TYPE_COLOR;
+        types[R.styleable.ScComponents_scc_pointer_color] = ScStyleSpec.TYPE_COLOR;
+        types[R.styleable.ScComponents_scc_notchs_color] = ScStyleSpec.TYPE_COLOR;
+
+        types[R.styleable.ScComponents_scc_stroke_type] = ScStyleSpec.TYPE_INT;
+        types[R.styleable.ScComponents_scc_fill_area] = ScStyleSpec.TYPE_INT;
+        types[R.styleable.ScComponents_scc_fill_mode] = ScStyleSpec.TYPE_INT;
+        types[R.styleable.ScComponents_scc_fill_colors] = ScStyleSpec.TYPE_INT;
+        types[R.styleable.ScComponents_scc_notchs] = ScStyleSpec.TYPE_INT;
+
+        types[R.styleable.ScComponents_scc_snap_to_notchs] = ScStyleSpec.TYPE_BOOLEAN;
+
+        // Store and return
+        ScStyleSpec.sTypes = types;
+        return types;
+    }
+
+    // Check if the layout define directly some component attribute.
+    // In this case the values are specific of the widget and cannot be shared.
+    private static boolean hasInlineAttributes(AttributeSet attrs) {
+        // Check for empty values
+        if (attrs == null) return false;
+
+        // Cycle all the layout attributes
+        int[] styleable = R.styleable.ScComponents;
+        for (int attrIndex = 0; attrIndex < attrs.getAttributeCount(); attrIndex++) {
+            // Check if the attribute belong to the components
+            int resource = attrs.getAttributeNameResource(attrIndex);
+            for (int id : styleable)
+                if (id != 0 && id == resource) return true;
+        }
+        return false;
+    }
+
+    // Find the style resource that the theme assign to the default style attribute.
+    // Must be called holding the cache lock.
+    private static int resolveDefStyle(Resources.Theme theme, int defStyle) {
+        // Check for empty values
+        if (defStyle == 0) return 0;
+
+        // Resolve
+        TypedValue value = ScStyleSpec.sTypedValue;
+        return theme.resolveAttribute(defStyle, value, true) ? value.resourceId : 0;
+    }
+
+    // Parse the attributes and create a new spec
+    private static ScStyleSpec parse(
+            Context context, AttributeSet attrs, int defStyle, int styleRes, int defStyleRes,
+            float density, Configuration configuration) {
+        // Get the attributes list
+        final TypedArray attrArray = context.obtainStyledAttributes(attrs, R.styleable.ScComponents, defStyle, 0);
+
+        // Create the spec
+        ScStyleSpec spec = new ScStyleSpec(
+                attrArray, styleRes, defStyle, defStyleRes, density, configuration);
+
+        // Recycle
+        attrArray.recycle();
+        return spec;
+    }
+
+
+    /**
+     * Static methods
+     */
+
+    // Get the spec of the passed attributes.
+    // If the layout not define any component attribute directly the spec will be taken from the
+    // cache, or parsed and cached if it is the first time the style is used with the context
+    // theme.
+    @SuppressWarnings("unused")
+    public static ScStyleSpec obtain(Context context, AttributeSet attrs, int defStyle) {
+        // Find the key
+        int styleRes = attrs != null ? attrs.getStyleAttribute() : 0;
+        Resources resources = context.getResources();
+        float density = resources.getDisplayMetrics().density;
+        Configuration configuration = resources.getConfiguration();
+        Resources.Theme theme = context.getTheme();
+
+        // Check if can be cached
+        if (theme == null || ScStyleSpec.hasInlineAttributes(attrs))
+            return ScStyleSpec.parse(
+                    context, attrs, defStyle, styleRes, 0, density, configuration);
+
+        synchronized (ScStyleSpec.sCache) {
+            // Get the specs of the theme
+            ArrayList<ScStyleSpec> specs = ScStyleSpec.sCache.get(theme);
+            if (specs == null) {
+                specs = new ArrayList<>();
+                ScStyleSpec.sCache.put(theme, specs);
+            }
+
+            // Find the spec
+            int defStyleRes = ScStyleSpec.resolveDefStyle(theme, defStyle);
+            for (int index = 0; index < specs.size(); index++) {
+                ScStyleSpec spec = specs.get(index);
+                if (spec.mStyleRes == styleRes && spec.mDefStyle == defStyle) {
+                    // If the default style, the density or the configuration are changed the
+                    // values must be resolved again
+                    if (spec.mDefStyleRes == defStyleRes && spec.mDensity == density &&
+                            spec.mConfiguration.equals(configuration)) return spec;
+                    specs.remove(index);
+                    break;
+                }
+            }
+
+            // Parse and hold
+            ScStyleSpec spec = ScStyleSpec.parse(
+                    context, attrs, defStyle, styleRes, defStyleRes, density, configuration);
+            specs.add(spec);
+            return spec;
+        }
+    }
+
+    // Release all the cached specs.
+    // The configuration changes are detected automatically. Must be called only if a theme
+    // attribute referenced by the style is changed in place at runtime.
+    @SuppressWarnings("unused")
+    public static void clear() {
+        synchronized (ScStyleSpec.sCache) {
+            ScStyleSpec.sCache.clear();
+        }
+    }
+
+
+    /**
+     * Public methods
+     */
+
+    // Check if the attribute is defined
+    @SuppressWarnings("unused")
+    public boolean hasValue(int index) {
+        return this.mHas[index];
+    }
+
+    // Get the resolved values.
+    // The indexes are the same of the R.styleable.ScComponents attributes and the default value
+    // will be returned if the attribute is not defined.
+    @SuppressWarnings("unused")
+    public float getFloat(int index, float defValue) {
+        return this.mHas[index] ? this.mFloats[index] : defValue;
+    }
+
+    @SuppressWarnings("unused")
+    public float getDimension(int index, float defValue) {
+        return this.mHas[index] ? this.mFloats[index] : defValue;
+    }
+
+    @SuppressWarnings("unused")
+    public int getDimensionPixelSize(int index, int defValue) {
+        return this.mHas[index] ? this.mInts[index] : defValue;
+    }
+
+    @SuppressWarnings("unused")
+    public int getColor(int index, int defValue) {
+        return this.mHas[index] ? this.mInts[index] : defValue;
+    }
+
+    @SuppressWarnings("unused")
+    public int getInt(int index, int defValue) {
+        return this.mHas[index] ? this.mInts[index] : defValue;
+    }
+
+    @SuppressWarnings("unused")
+    public boolean getBoolean(int index, boolean defValue) {
+        return this.mHas[index] ? this.mInts[index] != 0 : defValue;
+    }
+
+}
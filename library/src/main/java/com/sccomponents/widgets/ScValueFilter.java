@@ -0,0 +1,234 @@
+package com.sccomponents.widgets;
+
+/**
+ * Filter the input values of a gauge before they move the progress.
+ * <p/>
+ * A filter receive each sample with its time and return the filtered value or NaN for drop the
+ * sample. The filters work on primitive ring buffers and not allocate any object per sample.
+ * The filters are not thread safe and must be fed by one thread only.
+ * v1.0.0
+ */
+public abstract class ScValueFilter {
+
+    /**
+     * Public methods
+     */
+
+    // Filter a sample.
+    // Return the filtered value or NaN if the sample must be dropped.
+    public abstract float filter(float value, long timeNanos);
+
+    // Forget all the previous samples
+    public abstract void reset();
+
+
+    /**
+     * Static methods
+     */
+
+    // Exponential moving average.
+    // The alpha is the weight of the new sample: 1 mean no filtering.
+    @SuppressWarnings("unused")
+    public static ScValueFilter ema(float alpha) {
+        return new Ema(alpha);
+    }
+
+    // Median of the last samples.
+    // Remove the isolated spikes.
+    @SuppressWarnings("unused")
+    public static ScValueFilter median(int size) {
+        return new Median(size);
+    }
+
+    // Slew rate limiting.
+    // Limit the change of the value to the passed rate per second.
+    @SuppressWarnings("unused")
+    public static ScValueFilter slewRate(float maxRatePerSecond) {
+        return new SlewRate(maxRatePerSecond);
+    }
+
+    // Decimation.
+    // Pass only one sample every the passed number of samples.
+    @SuppressWarnings("unused")
+    public static ScValueFilter decimation(int factor) {
+        return new Decimation(factor);
+    }
+
+    // Apply many filters in sequence.
+    // The chain stop when a filter drop the sample.
+    @SuppressWarnings("unused")
+    public static ScValueFilter chain(ScValueFilter... filters) {
+        return new Chain(filters);
+    }
+
+
+    /**
+     * Filters
+     */
+
+    // Exponential moving average
+    private static final class Ema extends ScValueFilter {
+
+        private final float mAlpha;
+        private float mValue;
+        private boolean mEmpty = true;
+
+        Ema(float alpha) {
+            this.mAlpha = ScWidget.valueRangeLimit(alpha, 0.0f, 1.0f);
+        }
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            // The first sample is taken as is
+            if (this.mEmpty) {
+                this.mEmpty = false;
+                this.mValue = value;
+            } else {
+                this.mValue += (value - this.mValue) * this.mAlpha;
+            }
+            return this.mValue;
+        }
+
+        @Override
+        public void reset() {
+            this.mEmpty = true;
+        }
+
+    }
+
+    // Median of N.
+    // The samples are held in a ring buffer and sorted inside a second buffer.
+    private static final class Median extends ScValueFilter {
+
+        private final float[] mRing;
+        private final float[] mSorted;
+        private int mPosition;
+        private int mCount;
+
+        Median(int size) {
+            this.mRing = new float[Math.max(size, 1)];
+            this.mSorted = new float[this.mRing.length];
+        }
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            // Store inside the ring
+            this.mRing[this.mPosition] = value;
+            this.mPosition = (this.mPosition + 1) % this.mRing.length;
+            if (this.mCount < this.mRing.length) this.mCount++;
+
+            // Copy and sort by insertion, the buffer is small
+            float[] sorted = this.mSorted;
+            for (int index = 0; index < this.mCount; index++) {
+                float current = this.mRing[index];
+                int position = index - 1;
+                while (position >= 0 && sorted[position] > current) {
+                    sorted[position + 1] = sorted[position];
+                    position--;
+                }
+                sorted[position + 1] = current;
+            }
+
+            // Return the middle
+            return sorted[this.mCount / 2];
+        }
+
+        @Override
+        public void reset() {
+            this.mPosition = 0;
+            this.mCount = 0;
+        }
+
+    }
+
+    // Slew rate limiting
+    private static final class SlewRate extends ScValueFilter {
+
+        private final float mMaxRate;
+        private float mValue;
+        private long mTime;
+        private boolean mEmpty = true;
+
+        SlewRate(float maxRatePerSecond) {
+            this.mMaxRate = Math.abs(maxRatePerSecond);
+        }
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            // The first sample is taken as is
+            if (this.mEmpty) {
+                this.mEmpty = false;
+                this.mValue = value;
+                this.mTime = timeNanos;
+                return value;
+            }
+
+            // Find the max step allowed by the elapsed time
+            float elapsed = Math.max(timeNanos - this.mTime, 0) / 1000000000.0f;
+            float maxStep = this.mMaxRate * elapsed;
+            this.mTime = timeNanos;
+
+            // Limit
+            this.mValue += ScWidget.valueRangeLimit(value - this.mValue, -maxStep, maxStep);
+            return this.mValue;
+        }
+
+        @Override
+        public void reset() {
+            this.mEmpty = true;
+        }
+
+    }
+
+    // Decimation
+    private static final class Decimation extends ScValueFilter {
+
+        private final int mFactor;
+        private int mCounter;
+
+        Decimation(int factor) {
+            this.mFactor = Math.max(factor, 1);
+        }
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            // Pass the first sample of each group
+            boolean pass = this.mCounter == 0;
+            this.mCounter = (this.mCounter + 1) % this.mFactor;
+            return pass ? value : Float.NaN;
+        }
+
+        @Override
+        public void reset() {
+            this.mCounter = 0;
+        }
+
+    }
+
+    // Chain of filters
+    private static final class Chain extends ScValueFilter {
+
+        private final ScValueFilter[] mFilters;
+
+        Chain(ScValueFilter[] filters) {
+            this.mFilters = filters != null ? filters.clone() : new ScValueFilter[0];
+        }
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            // Cycle all filters and stop if dropped
+            for (ScValueFilter filter : this.mFilters) {
+                value = filter.filter(value, timeNanos);
+                if (Float.isNaN(value)) break;
+            }
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            for (ScValueFilter filter : this.mFilters) filter.reset();
+        }
+
+    }
+
+}
@@ -9,7 +9,6 @@ import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.view.View;
-import android.view.WindowManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -45,14 +44,10 @@ public abstract class ScWidget extends View {
 
     // Get the display metric.
     // This method is used for screen measure conversion.
+    // The metrics held by the resources are resolved once per configuration and updated by the
+    // system when it change, so no query to the window manager and no allocation are needed.
     private DisplayMetrics getDisplayMetrics(Context context) {
-        // Get the window manager from the window service
-        WindowManager wm = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
-        // Create the variable holder and inject the values
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        wm.getDefaultDisplay().getMetrics(displayMetrics);
-        // Return
-        return displayMetrics;
+        return context.getResources().getDisplayMetrics();
     }
 
 
@@ -97,7 +92,9 @@ public abstract class ScWidget extends View {
         return value == ScWidget.valueRangeLimit(value, startValue, endValue);
     }
 
-    // Find the max given a series of values
+    // Find the max given a series of values.
+    // Note that the values array will be created by the call so avoid to use this inside the
+    // drawing methods.
     @SuppressWarnings("unused")
     public static float findMaxValue(float... values) {
         // Check for null values
@@ -117,15 +114,23 @@ public abstract class ScWidget extends View {
     // The method return a new inflated rectangle and can alter the origin too.
     @SuppressWarnings("unused")
     public static RectF inflateRect(RectF source, float value, boolean holdOrigin) {
-        // Create a copy of the rect
-        RectF dest = new RectF(source);
-        // Reduce the width and the height
-        dest.right -= value * 2;
-        dest.bottom -= value * 2;
+        return ScWidget.inflateRect(source, value, holdOrigin, new RectF());
+    }
+
+    // Inflate a rectangle by the passed value writing the result inside the destination.
+    // The destination can be the source itself and will be returned.
+    // The fields are written directly so the method is pure math and can be tested on the JVM.
+    @SuppressWarnings("unused")
+    public static RectF inflateRect(RectF source, float value, boolean holdOrigin, RectF dest) {
         // Translate if needed
-        if (!holdOrigin) {
-            dest.offset(value, value);
-        }
+        float offset = holdOrigin ? 0.0f : value;
+        // Reduce the width and the height
+        float right = source.right - value * 2 + offset;
+        float bottom = source.bottom - value * 2 + offset;
+        dest.left = source.left + offset;
+        dest.top = source.top + offset;
+        dest.right = right;
+        dest.bottom = bottom;
         // Return
         return dest;
     }
@@ -138,11 +143,40 @@ public abstract class ScWidget extends View {
     // Reset the rectangle to its origin
     @SuppressWarnings("unused")
     public static RectF resetRectToOrigin(RectF rect) {
-        // Create a new rect
-        RectF newRect = new RectF(rect);
+        return ScWidget.resetRectToOrigin(rect, new RectF());
+    }
+
+    // Reset the rectangle to its origin writing the result inside the destination.
+    // The destination can be the source itself and will be returned.
+    @SuppressWarnings("unused")
+    public static RectF resetRectToOrigin(RectF rect, RectF dest) {
+        // Find the dimensions
+        float width = rect.right - rect.left;
+        float height = rect.bottom - rect.top;
         // Reset to origin and return it
-        newRect.offset(-newRect.left, -newRect.top);
-        return newRect;
+        dest.left = 0.0f;
+        dest.top = 0.0f;
+        dest.right = width;
+        dest.bottom = height;
+        return dest;
+    }
+
+    // Interpolate two colors by the passed fraction.
+    // Same of the ArgbEvaluator but without create any object.
+    @SuppressWarnings("unused")
+    public static int interpolateColor(float fraction, int startColor, int endColor) {
+        // Interpolate each channel
+        int alpha = Color.alpha(startColor) +
+                (int) (fraction * (Color.alpha(endColor) - Color.alpha(startColor)));
+        int red = Color.red(startColor) +
+                (int) (fraction * (Color.red(endColor) - Color.red(startColor)));
+        int green = Color.green(startColor) +
+                (int) (fraction * (Color.green(endColor) - Color.green(startColor)));
+        int blue = Color.blue(startColor) +
+                (int) (fraction * (Color.blue(endColor) - Color.blue(startColor)));
+
+        // Compose the color
+        return Color.argb(alpha, red, green, blue);
     }
 
     // Swap two array elements position
@@ -0,0 +1,105 @@
+package com.sccomponents.widgets;
+
+import android.graphics.RectF;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JVM tests for the arc bounds math.
+ * The android.jar used by the unit tests is a stub so the rectangles are read and written by
+ * their fields only.
+ */
+public class ScArcBoundsTest {
+
+    /**
+     * Constants
+     */
+
+    private static final float DELTA = 1e-5f;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Check the rectangle fields
+    private static void assertBounds(RectF rect, float left, float top, float right, float bottom) {
+        assertEquals("left", left, rect.left, ScArcBoundsTest.DELTA);
+        assertEquals("top", top, rect.top, ScArcBoundsTest.DELTA);
+        assertEquals("right", right, rect.right, ScArcBoundsTest.DELTA);
+        assertEquals("bottom", bottom, rect.bottom, ScArcBoundsTest.DELTA);
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void fullCircle() {
+        RectF out = new RectF();
+        ScArc.calcArcBounds(0.0f, 360.0f, out);
+        ScArcBoundsTest.assertBounds(out, -1.0f, -1.0f, 1.0f, 1.0f);
+    }
+
+    @Test
+    public void firstQuadrant() {
+        RectF out = new RectF();
+        ScArc.calcArcBounds(0.0f, 90.0f, out);
+        ScArcBoundsTest.assertBounds(out, 0.0f, 0.0f, 1.0f, 1.0f);
+    }
+
+    @Test
+    public void halfCircleCrossingTheBottom() {
+        RectF out = new RectF();
+        ScArc.calcArcBounds(45.0f, 90.0f, out);
+
+        float value = (float) Math.cos(Math.toRadians(45.0));
+        ScArcBoundsTest.assertBounds(out, -value, value, value, 1.0f);
+    }
+
+    @Test
+    public void negativeSweep() {
+        // Same arc of 270° with sweep 90°
+        RectF positive = new RectF();
+        ScArc.calcArcBounds(270.0f, 90.0f, positive);
+        RectF negative = new RectF();
+        ScArc.calcArcBounds(360.0f, -90.0f, negative);
+
+        ScArcBoundsTest.assertBounds(positive, 0.0f, -1.0f, 1.0f, 0.0f);
+        ScArcBoundsTest.assertBounds(negative, 0.0f, -1.0f, 1.0f, 0.0f);
+    }
+
+    @Test
+    public void negativeStartAngle() {
+        RectF out = new RectF();
+        ScArc.calcArcBounds(-90.0f, 180.0f, out);
+        ScArcBoundsTest.assertBounds(out, 0.0f, -1.0f, 1.0f, 1.0f);
+    }
+
+    @Test
+    public void cachedResultIsTheSame() {
+        RectF first = new RectF();
+        ScArc.calcArcBounds(10.0f, 200.0f, first);
+
+        // The second call is served by the cache and must overwrite all the fields
+        RectF second = new RectF();
+        second.left = 100.0f;
+        second.top = 100.0f;
+        second.right = 100.0f;
+        second.bottom = 100.0f;
+        ScArc.calcArcBounds(10.0f, 200.0f, second);
+
+        ScArcBoundsTest.assertBounds(second, first.left, first.top, first.right, first.bottom);
+    }
+
+    @Test
+    public void normalizeAngle() {
+        assertEquals(10.0f, ScArc.normalizeAngle(370.0f), ScArcBoundsTest.DELTA);
+        assertEquals(-10.0f, ScArc.normalizeAngle(-370.0f), ScArcBoundsTest.DELTA);
+        assertEquals(90.0f, ScArc.normalizeAngle(90.0f), ScArcBoundsTest.DELTA);
+    }
+
+}
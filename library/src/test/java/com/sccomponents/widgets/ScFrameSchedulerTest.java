@@ -0,0 +1,220 @@
+package com.sccomponents.widgets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JVM tests for the frame scheduler.
+ * With the automatic scheduling disabled and an injected clock the scheduler never touch the
+ * system and the frames are run by hand.
+ */
+public class ScFrameSchedulerTest {
+
+    /**
+     * Constants
+     */
+
+    private static final long FRAME_NANOS = 16000000L;
+
+
+    /**
+     * Private variables
+     */
+
+    private ScFrameScheduler mScheduler;
+    private long mTime;
+    private final ArrayList<Step> mSteps = new ArrayList<>();
+
+
+    /**
+     * Private classes
+     */
+
+    // Record the frames times and run for the passed number of frames
+    private final class Step implements ScFrameScheduler.FrameCallback {
+
+        private final ArrayList<Long> mTimes = new ArrayList<>();
+        private int mFrames;
+        private Runnable mAction;
+
+        Step(int frames) {
+            this.mFrames = frames;
+            ScFrameSchedulerTest.this.mSteps.add(this);
+        }
+
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            this.mTimes.add(frameTimeNanos);
+            if (this.mAction != null) this.mAction.run();
+            return --this.mFrames > 0;
+        }
+
+    }
+
+
+    /**
+     * Setup
+     */
+
+    @Before
+    public void setUp() {
+        this.mScheduler = ScFrameScheduler.getInstance();
+        this.mScheduler.setAutoSchedule(false);
+        this.mScheduler.setClock(new ScFrameScheduler.Clock() {
+            @Override
+            public long nanoTime() {
+                return ScFrameSchedulerTest.this.mTime;
+            }
+        });
+        this.mTime = 1000L;
+    }
+
+    @After
+    public void tearDown() {
+        // The scheduler is shared so leave it empty
+        for (Step step : this.mSteps) this.mScheduler.remove(step);
+        this.mScheduler.setClock(null);
+        this.mScheduler.setAutoSchedule(true);
+    }
+
+
+    /**
+     * Privates methods
+     */
+
+    // Advance the clock and run a frame
+    private void frame() {
+        this.mTime += ScFrameSchedulerTest.FRAME_NANOS;
+        this.mScheduler.doFrame();
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void clockDrivenFrames() {
+        Step step = new Step(3);
+        this.mScheduler.add(step);
+        assertEquals(1000L, this.mScheduler.now());
+
+        this.frame();
+        this.frame();
+        this.frame();
+
+        long first = 1000L + ScFrameSchedulerTest.FRAME_NANOS;
+        assertEquals(3, step.mTimes.size());
+        assertEquals(first, (long) step.mTimes.get(0));
+        assertEquals(first + ScFrameSchedulerTest.FRAME_NANOS, (long) step.mTimes.get(1));
+        assertEquals(first + 2 * ScFrameSchedulerTest.FRAME_NANOS, (long) step.mTimes.get(2));
+    }
+
+    @Test
+    public void goIdleWhenFinished() {
+        Step step = new Step(2);
+        assertTrue(this.mScheduler.isIdle());
+
+        this.mScheduler.add(step);
+        // Adding twice have no effect
+        this.mScheduler.add(step);
+        assertFalse(this.mScheduler.isIdle());
+        assertTrue(this.mScheduler.isRunning(step));
+
+        this.frame();
+        assertTrue(this.mScheduler.isRunning(step));
+        this.frame();
+        assertFalse(this.mScheduler.isRunning(step));
+        assertTrue(this.mScheduler.isIdle());
+
+        // Nothing run anymore
+        this.frame();
+        assertEquals(2, step.mTimes.size());
+    }
+
+    @Test
+    public void removeInsideFrame() {
+        final Step first = new Step(10);
+        final Step second = new Step(10);
+        final Step third = new Step(10);
+
+        // The first remove the second and itself
+        first.mAction = new Runnable() {
+            @Override
+            public void run() {
+                ScFrameSchedulerTest.this.mScheduler.remove(second);
+                ScFrameSchedulerTest.this.mScheduler.remove(first);
+            }
+        };
+        this.mScheduler.add(first);
+        this.mScheduler.add(second);
+        this.mScheduler.add(third);
+
+        this.frame();
+        assertEquals(1, first.mTimes.size());
+        assertEquals(0, second.mTimes.size());
+        assertEquals(1, third.mTimes.size());
+        assertFalse(this.mScheduler.isRunning(first));
+        assertFalse(this.mScheduler.isRunning(second));
+
+        // The list is compacted and the survivor keep running
+        this.frame();
+        assertEquals(1, first.mTimes.size());
+        assertEquals(2, third.mTimes.size());
+        this.mScheduler.remove(third);
+        assertTrue(this.mScheduler.isIdle());
+    }
+
+    @Test
+    public void addInsideFrame() {
+        final Step added = new Step(1);
+        Step adder = new Step(1);
+        adder.mAction = new Runnable() {
+            @Override
+            public void run() {
+                ScFrameSchedulerTest.this.mScheduler.add(added);
+            }
+        };
+        this.mScheduler.add(adder);
+
+        // The added callback run from the next frame
+        this.frame();
+        assertEquals(1, adder.mTimes.size());
+        assertEquals(0, added.mTimes.size());
+        assertTrue(this.mScheduler.isRunning(added));
+
+        this.frame();
+        assertEquals(1, added.mTimes.size());
+        assertTrue(this.mScheduler.isIdle());
+    }
+
+    @Test
+    public void readdInsideFrame() {
+        // A finished callback that add itself again keep running
+        final Step step = new Step(1);
+        step.mAction = new Runnable() {
+            @Override
+            public void run() {
+                ScFrameSchedulerTest.this.mScheduler.remove(step);
+                ScFrameSchedulerTest.this.mScheduler.add(step);
+            }
+        };
+        this.mScheduler.add(step);
+
+        this.frame();
+        assertTrue(this.mScheduler.isRunning(step));
+        step.mAction = null;
+        step.mFrames = 1;
+        this.frame();
+        assertEquals(2, step.mTimes.size());
+        assertTrue(this.mScheduler.isIdle());
+    }
+
+}
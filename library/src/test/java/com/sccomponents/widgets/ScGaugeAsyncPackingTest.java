@@ -0,0 +1,59 @@
+package com.sccomponents.widgets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JVM tests for the async value slot format of the gauge.
+ * The value type and the float bits must survive the round trip and a packed value can never
+ * be confused with the empty slot.
+ */
+public class ScGaugeAsyncPackingTest {
+
+    /**
+     * Constants
+     */
+
+    private static final float[] VALUES = new float[]{
+            0.0f, -0.0f, 1.0f, -1.0f, 0.5f, -0.5f, 359.99f, -720.0f,
+            Float.MIN_VALUE, -Float.MIN_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE,
+            Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN,
+            Float.intBitsToFloat(0xFFFFFFFF)
+    };
+    private static final long[] TYPES = new long[]{
+            ScGauge.ASYNC_DEGREES, ScGauge.ASYNC_FRACTION
+    };
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void roundTrip() {
+        for (long type : ScGaugeAsyncPackingTest.TYPES) {
+            for (float value : ScGaugeAsyncPackingTest.VALUES) {
+                long packed = ScGauge.packAsyncValue(type, value);
+
+                assertEquals("type of " + value, type, ScGauge.unpackAsyncType(packed));
+                // Compare the bits so the sign of zero and the NaN payload are checked too
+                assertEquals("bits of " + value,
+                        Float.floatToRawIntBits(value),
+                        Float.floatToRawIntBits(ScGauge.unpackAsyncValue(packed)));
+            }
+        }
+    }
+
+    @Test
+    public void neverEmpty() {
+        for (long type : ScGaugeAsyncPackingTest.TYPES) {
+            for (float value : ScGaugeAsyncPackingTest.VALUES) {
+                long packed = ScGauge.packAsyncValue(type, value);
+                assertTrue("empty with " + value, packed != ScGauge.ASYNC_EMPTY);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.sccomponents.widgets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JVM tests for the gauge value filters.
+ */
+public class ScValueFilterTest {
+
+    /**
+     * Constants
+     */
+
+    private static final float DELTA = 1e-4f;
+    private static final long SECOND = 1000000000L;
+
+
+    /**
+     * Private classes
+     */
+
+    // Count the samples that reach the filter and pass them as is
+    private static final class Counter extends ScValueFilter {
+
+        private int mCount;
+
+        @Override
+        public float filter(float value, long timeNanos) {
+            this.mCount++;
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            this.mCount = 0;
+        }
+
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void emaFirstSamplePassAsIs() {
+        ScValueFilter filter = ScValueFilter.ema(0.5f);
+        assertEquals(80.0f, filter.filter(80.0f, 0), ScValueFilterTest.DELTA);
+        assertEquals(90.0f, filter.filter(100.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void emaConverge() {
+        ScValueFilter filter = ScValueFilter.ema(0.2f);
+        filter.filter(0.0f, 0);
+
+        // Each step reduce the distance from the target by the alpha
+        float value = 0.0f;
+        for (int index = 0; index < 100; index++) value = filter.filter(100.0f, 0);
+        assertEquals(100.0f, value, 0.01f);
+
+        // After the reset the first sample is taken as is again
+        filter.reset();
+        assertEquals(10.0f, filter.filter(10.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void medianRejectSpikeAfterTheRingWrap() {
+        ScValueFilter filter = ScValueFilter.median(3);
+        float[] samples = new float[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f};
+        for (float sample : samples) filter.filter(sample, 0);
+
+        // The ring is wrapped, the spike is rejected
+        assertEquals(5.0f, filter.filter(100.0f, 0), ScValueFilterTest.DELTA);
+        assertEquals(6.0f, filter.filter(6.0f, 0), ScValueFilterTest.DELTA);
+        assertEquals(7.0f, filter.filter(7.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void medianBeforeTheRingIsFull() {
+        ScValueFilter filter = ScValueFilter.median(5);
+        assertEquals(10.0f, filter.filter(10.0f, 0), ScValueFilterTest.DELTA);
+        // With two samples the upper middle is returned
+        assertEquals(20.0f, filter.filter(20.0f, 0), ScValueFilterTest.DELTA);
+        assertEquals(15.0f, filter.filter(15.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void slewRateLimitByTheElapsedNanos() {
+        ScValueFilter filter = ScValueFilter.slewRate(100.0f);
+        long time = 5 * ScValueFilterTest.SECOND;
+        assertEquals(0.0f, filter.filter(0.0f, time), ScValueFilterTest.DELTA);
+
+        // Half a second allow 50
+        time += ScValueFilterTest.SECOND / 2;
+        assertEquals(50.0f, filter.filter(360.0f, time), ScValueFilterTest.DELTA);
+
+        // 16 milliseconds allow 1.6 and the limit work downward too
+        time += 16000000L;
+        assertEquals(48.4f, filter.filter(0.0f, time), ScValueFilterTest.DELTA);
+
+        // A small change within the limit pass as is
+        time += ScValueFilterTest.SECOND;
+        assertEquals(60.0f, filter.filter(60.0f, time), ScValueFilterTest.DELTA);
+
+        // The time going back not allow any change
+        time -= ScValueFilterTest.SECOND;
+        assertEquals(60.0f, filter.filter(0.0f, time), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void decimationPassPattern() {
+        ScValueFilter filter = ScValueFilter.decimation(3);
+        for (int index = 0; index < 9; index++) {
+            float value = filter.filter(index, 0);
+            if (index % 3 == 0) {
+                assertEquals(index, value, ScValueFilterTest.DELTA);
+            } else {
+                assertTrue("sample " + index, Float.isNaN(value));
+            }
+        }
+
+        // The reset restart the group
+        filter.filter(100.0f, 0);
+        filter.reset();
+        assertEquals(200.0f, filter.filter(200.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+    @Test
+    public void chainStopOnNaN() {
+        Counter counter = new Counter();
+        ScValueFilter filter = ScValueFilter.chain(ScValueFilter.decimation(2), counter);
+
+        assertEquals(1.0f, filter.filter(1.0f, 0), ScValueFilterTest.DELTA);
+        assertTrue(Float.isNaN(filter.filter(2.0f, 0)));
+        assertEquals(3.0f, filter.filter(3.0f, 0), ScValueFilterTest.DELTA);
+
+        // The dropped sample never reach the next filter
+        assertEquals(2, counter.mCount);
+    }
+
+    @Test
+    public void chainApplyInSequence() {
+        ScValueFilter filter = ScValueFilter.chain(
+                ScValueFilter.median(3), ScValueFilter.ema(0.5f));
+
+        assertEquals(10.0f, filter.filter(10.0f, 0), ScValueFilterTest.DELTA);
+        // The median of 10 and 20 is 20 and the average with 10 is 15
+        assertEquals(15.0f, filter.filter(20.0f, 0), ScValueFilterTest.DELTA);
+
+        // The reset reach all the filters
+        filter.reset();
+        assertEquals(40.0f, filter.filter(40.0f, 0), ScValueFilterTest.DELTA);
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.sccomponents.widgets;
+
+import android.graphics.RectF;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JVM tests for the static helpers of the base widget.
+ * The android.jar used by the unit tests is a stub so the rectangles are read and written by
+ * their fields only.
+ */
+public class ScWidgetTest {
+
+    /**
+     * Constants
+     */
+
+    private static final float DELTA = 1e-5f;
+
+
+    /**
+     * Privates methods
+     */
+
+    // Create a rectangle without use the stubbed constructor
+    private static RectF rect(float left, float top, float right, float bottom) {
+        RectF rect = new RectF();
+        rect.left = left;
+        rect.top = top;
+        rect.right = right;
+        rect.bottom = bottom;
+        return rect;
+    }
+
+    // Check the rectangle fields
+    private static void assertRect(RectF rect, float left, float top, float right, float bottom) {
+        assertEquals("left", left, rect.left, ScWidgetTest.DELTA);
+        assertEquals("top", top, rect.top, ScWidgetTest.DELTA);
+        assertEquals("right", right, rect.right, ScWidgetTest.DELTA);
+        assertEquals("bottom", bottom, rect.bottom, ScWidgetTest.DELTA);
+    }
+
+
+    /**
+     * Tests
+     */
+
+    @Test
+    public void inflateRectMovingTheOrigin() {
+        RectF source = ScWidgetTest.rect(10.0f, 20.0f, 110.0f, 220.0f);
+        RectF dest = new RectF();
+
+        assertSame(dest, ScWidget.inflateRect(source, 5.0f, false, dest));
+        ScWidgetTest.assertRect(dest, 15.0f, 25.0f, 105.0f, 215.0f);
+        // The source is untouched
+        ScWidgetTest.assertRect(source, 10.0f, 20.0f, 110.0f, 220.0f);
+    }
+
+    @Test
+    public void inflateRectHoldingTheOrigin() {
+        RectF source = ScWidgetTest.rect(10.0f, 20.0f, 110.0f, 220.0f);
+        RectF dest = new RectF();
+
+        ScWidget.inflateRect(source, 5.0f, true, dest);
+        ScWidgetTest.assertRect(dest, 10.0f, 20.0f, 100.0f, 210.0f);
+    }
+
+    @Test
+    public void inflateRectInPlace() {
+        RectF rect = ScWidgetTest.rect(10.0f, 20.0f, 110.0f, 220.0f);
+
+        assertSame(rect, ScWidget.inflateRect(rect, 5.0f, false, rect));
+        ScWidgetTest.assertRect(rect, 15.0f, 25.0f, 105.0f, 215.0f);
+    }
+
+    @Test
+    public void resetRectToOrigin() {
+        RectF source = ScWidgetTest.rect(10.0f, 20.0f, 110.0f, 220.0f);
+        RectF dest = new RectF();
+
+        assertSame(dest, ScWidget.resetRectToOrigin(source, dest));
+        ScWidgetTest.assertRect(dest, 0.0f, 0.0f, 100.0f, 200.0f);
+    }
+
+    @Test
+    public void resetRectToOriginInPlace() {
+        RectF rect = ScWidgetTest.rect(10.0f, 20.0f, 110.0f, 220.0f);
+
+        ScWidget.resetRectToOrigin(rect, rect);
+        ScWidgetTest.assertRect(rect, 0.0f, 0.0f, 100.0f, 200.0f);
+    }
+
+    @Test
+    public void valueRangeLimit() {
+        assertEquals(5.0f, ScWidget.valueRangeLimit(5.0f, 0.0f, 10.0f), ScWidgetTest.DELTA);
+        assertEquals(0.0f, ScWidget.valueRangeLimit(-5.0f, 0.0f, 10.0f), ScWidgetTest.DELTA);
+        assertEquals(10.0f, ScWidget.valueRangeLimit(15.0f, 0.0f, 10.0f), ScWidgetTest.DELTA);
+        // The limits order is not considered
+        assertEquals(10.0f, ScWidget.valueRangeLimit(15.0f, 10.0f, 0.0f), ScWidgetTest.DELTA);
+        assertEquals(3, ScWidget.valueRangeLimit(3, 10, 0));
+    }
+
+    @Test
+    public void withinRange() {
+        assertTrue(ScWidget.withinRange(5.0f, 0.0f, 10.0f));
+        assertTrue(ScWidget.withinRange(5.0f, 10.0f, 0.0f));
+        assertTrue(ScWidget.withinRange(10.0f, 0.0f, 10.0f));
+        assertFalse(ScWidget.withinRange(-1.0f, 0.0f, 10.0f));
+    }
+
+    @Test
+    public void swapArrayPosition() {
+        int[] values = new int[]{1, 2, 3};
+        ScWidget.swapArrayPosition(values, 0, 2);
+        assertEquals(3, values[0]);
+        assertEquals(1, values[2]);
+
+        String[] names = new String[]{"a", "b"};
+        ScWidget.swapArrayPosition(names, 0, 1);
+        assertEquals("b", names[0]);
+        assertEquals("a", names[1]);
+    }
+
+}